@@ -4,25 +4,31 @@ package com.dashboard.config;
 import feign.RequestInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.http.HttpHeaders;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 
 @Configuration
 public class FeignClientConfig {
     @Bean
     public RequestInterceptor authRelayInterceptor() {
         return template -> {
-            ServletRequestAttributes attrs =
-                    (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            if (attrs != null) {
-                String auth = attrs.getRequest().getHeader(HttpHeaders.AUTHORIZATION);
-                // Add debug logging
-                System.out.println("Authorization header present: " + (auth != null));
-                if (auth != null) {
-                    template.header(HttpHeaders.AUTHORIZATION, auth);
-                }
+            String auth = RelayedAuthorization.current();
+            // Add debug logging
+            System.out.println("Authorization header present: " + (auth != null));
+            if (auth != null) {
+                template.header(HttpHeaders.AUTHORIZATION, auth);
             }
         };
     }
+
+    /**
+     * Dashboard calls fan out on the task executor, off the request thread;
+     * carry the caller's Authorization header over, as a String read when the
+     * task is submitted, so the relay above still has it. Boot applies this
+     * to applicationTaskExecutor.
+     */
+    @Bean
+    public TaskDecorator authorizationTaskDecorator() {
+        return RelayedAuthorization::carry;
+    }
 }
\ No newline at end of file
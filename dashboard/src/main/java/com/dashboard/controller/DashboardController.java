@@ -6,14 +6,19 @@ import com.dashboard.client.OperatorClient;
 import com.dashboard.client.SpacecraftServiceClient;
 import com.dashboard.client.TelemetryClient;
 import com.dashboard.dto.*;
+import com.dashboard.service.DashboardAggregator;
+import com.dashboard.service.DashboardOverviewService;
 import com.dashboard.service.DashboardService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @RestController
@@ -25,18 +30,35 @@ public class DashboardController {
     private final TelemetryClient telemetryClient;
     private final DashboardService dashboardService;
     private final OperatorClient operatorClient;
+    private final DashboardAggregator aggregator;
+    private final DashboardOverviewService overviewService;
 
     public DashboardController(
             MissionClient missionClient,
             SpacecraftServiceClient spacecraftServiceClient,
             TelemetryClient telemetryClient,
-            DashboardService dashboardService, OperatorClient operatorClient
+            DashboardService dashboardService, OperatorClient operatorClient,
+            DashboardAggregator aggregator,
+            DashboardOverviewService overviewService
     ) {
         this.missionClient = missionClient;
         this.spacecraftServiceClient = spacecraftServiceClient;
         this.telemetryClient = telemetryClient;
         this.dashboardService = dashboardService;
         this.operatorClient = operatorClient;
+        this.aggregator = aggregator;
+        this.overviewService = overviewService;
+    }
+
+    /** Every dashboard section in one response; cached per operator and caller for a few seconds. */
+    @GetMapping("/overview")
+    public DashboardOverviewDTO getOverview(
+            @RequestParam(required = false) UUID operatorId,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization
+    ) {
+        UUID effectiveOperatorId = Optional.ofNullable(operatorId)
+                .orElse(UUID.fromString("00000000-0000-0000-0000-000000000000"));
+        return overviewService.getOverview(effectiveOperatorId, authorization);
     }
 
     @GetMapping("/summary")
@@ -46,22 +68,27 @@ public class DashboardController {
         UUID effectiveOperatorId = Optional.ofNullable(operatorId)
                 .orElse(UUID.fromString("00000000-0000-0000-0000-000000000000"));
 
-        long activeMissions    = missionClient.countActiveMissions(effectiveOperatorId);
-        List<UUID> missionIds  = missionClient.getMissionIdsByOperator(effectiveOperatorId);
-        long totalSpacecraft    = spacecraftServiceClient.countByMissionIds(missionIds);
-        long activeOperators    = missionClient.countDistinctOperatorsByMissionIds(missionIds);
-        long pendingCommands    = spacecraftServiceClient.countPendingCommands(effectiveOperatorId);
+        CompletableFuture<Long> activeMissions = aggregator.call("mission.countActive",
+                () -> missionClient.countActiveMissions(effectiveOperatorId), 0L);
+        CompletableFuture<Long> pendingCommands = aggregator.call("spacecraft.countPendingCommands",
+                () -> spacecraftServiceClient.countPendingCommands(effectiveOperatorId), 0L);
+
+        // spacecraft and operator counts both need the operator's mission IDs
+        CompletableFuture<List<UUID>> missionIds = aggregator.call("mission.idsByOperator",
+                () -> missionClient.getMissionIdsByOperator(effectiveOperatorId), List.of());
+        CompletableFuture<Long> totalSpacecraft = aggregator.then(missionIds, "spacecraft.countByMissionIds",
+                spacecraftServiceClient::countByMissionIds, 0L);
+        CompletableFuture<Long> activeOperators = aggregator.then(missionIds, "mission.countDistinctOperators",
+                ids -> (long) missionClient.countDistinctOperatorsByMissionIds(ids), 0L);
 
         return dashboardService.buildSummary(
-                activeMissions,
-                totalSpacecraft,
-                activeOperators,
-                pendingCommands
+                activeMissions.join(),
+                totalSpacecraft.join(),
+                activeOperators.join(),
+                pendingCommands.join()
         );
     }
 
-    // in com/dashboard/controller/DashboardController.java
-
     @GetMapping("/missions/stats")
     public MissionStatsDTO getMissionStats(
             @RequestParam(required = false) UUID operatorId
@@ -69,41 +96,41 @@ public class DashboardController {
         UUID effectiveOperatorId = Optional.ofNullable(operatorId)
                 .orElse(UUID.fromString("00000000-0000-0000-0000-000000000000"));
 
-        long active   = missionClient.countActiveMissions(effectiveOperatorId);
-        long inactive = missionClient.countInactiveMissions(effectiveOperatorId);
-
-        List<MissionDTO> missions = missionClient.getMissionsByOperator(effectiveOperatorId);
-        List<MissionMonthlyCountDTO> raw = missionClient.getMissionsByMonth();
+        CompletableFuture<Long> active = aggregator.call("mission.countActive",
+                () -> missionClient.countActiveMissions(effectiveOperatorId), 0L);
+        CompletableFuture<Long> inactive = aggregator.call("mission.countInactive",
+                () -> missionClient.countInactiveMissions(effectiveOperatorId), 0L);
+        CompletableFuture<List<MissionMonthlyCountDTO>> raw = aggregator.call("mission.byMonth",
+                missionClient::getMissionsByMonth, List.of());
+        CompletableFuture<List<MissionDTO>> missions = aggregator.call("mission.byOperator",
+                () -> missionClient.getMissionsByOperator(effectiveOperatorId), List.of());
+
+        // collect the mission IDs for the operator and spacecraft counts
+        CompletableFuture<List<UUID>> missionIds = aggregator.map(missions, list -> list.stream()
+                .map(MissionDTO::getId)
+                .toList());
+        CompletableFuture<Integer> distinctOperators = aggregator.then(missionIds, "mission.countDistinctOperators",
+                missionClient::countDistinctOperatorsByMissionIds, 0);
+        CompletableFuture<List<UUID>> scCounts = aggregator.then(missionIds, "spacecraft.counts",
+                spacecraftServiceClient::getSpacecraftCounts, List.of());
 
-        Map<String,Long> byMonth = raw.stream()
+        Map<String,Long> byMonth = raw.join().stream()
                 .collect(Collectors.toMap(
                         mmc -> mmc.getMonth().toString(),
                         MissionMonthlyCountDTO::getCount,
                         (a,b) -> a
                 ));
 
-        // collect the mission IDs for the spacecraft count
-        List<UUID> missionIds = missions.stream()
-                .map(MissionDTO::getId)
-                .toList();
-
-        // NEW: get one aggregated operator count instead of a per-mission list
-        int distinctOperators = missionClient.countDistinctOperatorsByMissionIds(missionIds);
-
-        List<UUID> scCounts = spacecraftServiceClient.getSpacecraftCounts(missionIds);
-
         return dashboardService.buildMissionStats(
-                active,
-                inactive,
-                missions,
+                active.join(),
+                inactive.join(),
+                missions.join(),
                 byMonth,
-                distinctOperators,   // ← changed type from List<UUID> to int
-                scCounts
+                distinctOperators.join(),
+                scCounts.join()
         );
     }
 
-
-    // in DashboardController.java
     @GetMapping("/spacecraft/stats")
     public SpacecraftStatsDTO getSpacecraftStats(
             @RequestParam(required = false) UUID operatorId
@@ -111,22 +138,21 @@ public class DashboardController {
         UUID effectiveOperatorId = Optional.ofNullable(operatorId)
                 .orElse(UUID.fromString("00000000-0000-0000-0000-000000000000"));
 
-        // 1) get the mission IDs the same as before
-        OperatorDTO op = operatorClient.getOperator(effectiveOperatorId);
-
-        // 2) count by type
-        Map<String, Long> countByType = spacecraftServiceClient.countSpacecraftByType(op.getEnterpriseId());
-
-        // 3) POST telemetry count request
-        long activeCount = telemetryClient.countActiveSpacecraft(op.getEnterpriseId());
+        // every figure here is per enterprise, so resolve the operator first
+        CompletableFuture<UUID> enterpriseId = aggregator.call("operator.get",
+                () -> operatorClient.getOperator(effectiveOperatorId).getEnterpriseId(), null);
 
-        // 4) get orbit radius back from spacecraft-service (not telemetry!)
-        double avgRadius = telemetryClient.getAverageOrbitRadius(op.getEnterpriseId());
+        CompletableFuture<Map<String, Long>> countByType = aggregator.then(enterpriseId, "spacecraft.countByType",
+                spacecraftServiceClient::countSpacecraftByType, Map.of());
+        CompletableFuture<Long> activeCount = aggregator.then(enterpriseId, "telemetry.countActive",
+                telemetryClient::countActiveSpacecraft, 0L);
+        CompletableFuture<Double> avgRadius = aggregator.then(enterpriseId, "telemetry.averageOrbitRadius",
+                telemetryClient::getAverageOrbitRadius, 0.0);
 
         return dashboardService.buildSpacecraftStats(
-                countByType,
-                activeCount,
-                avgRadius
+                countByType.join(),
+                activeCount.join(),
+                avgRadius.join()
         );
     }
 
@@ -138,16 +164,20 @@ public class DashboardController {
         UUID effectiveOperatorId = Optional.ofNullable(operatorId)
                 .orElse(UUID.fromString("00000000-0000-0000-0000-000000000000"));
 
-        long success    = spacecraftServiceClient.countSuccessfulCommands(effectiveOperatorId);
-        long pending    = spacecraftServiceClient.countPendingCommands(effectiveOperatorId);
-        Map<String, Long> byType     = spacecraftServiceClient.countCommandsByType();
-        Map<UUID, Long> byOperator   = spacecraftServiceClient.countByOperator(effectiveOperatorId);
+        CompletableFuture<Long> success = aggregator.call("spacecraft.countSuccessfulCommands",
+                () -> spacecraftServiceClient.countSuccessfulCommands(effectiveOperatorId), 0L);
+        CompletableFuture<Long> pending = aggregator.call("spacecraft.countPendingCommands",
+                () -> spacecraftServiceClient.countPendingCommands(effectiveOperatorId), 0L);
+        CompletableFuture<Map<String, Long>> byType = aggregator.call("spacecraft.commandsByType",
+                spacecraftServiceClient::countCommandsByType, Map.of());
+        CompletableFuture<Map<UUID, Long>> byOperator = aggregator.call("spacecraft.commandsByOperator",
+                () -> spacecraftServiceClient.countByOperator(effectiveOperatorId), Map.of());
 
         return dashboardService.buildCommandStats(
-                success,
-                pending,
-                byType,
-                byOperator
+                success.join(),
+                pending.join(),
+                byType.join(),
+                byOperator.join()
         );
     }
 
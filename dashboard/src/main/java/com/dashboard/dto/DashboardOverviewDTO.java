@@ -0,0 +1,53 @@
+package com.dashboard.dto;
+
+/**
+ * Every dashboard section for one operator, built from a single set of
+ * downstream fetches.
+ */
+public class DashboardOverviewDTO {
+    private DashboardSummaryDTO summary;
+    private MissionStatsDTO missionStats;
+    private SpacecraftStatsDTO spacecraftStats;
+    private CommandStatsDTO commandStats;
+    private TelemetrySummaryDTO telemetrySummary;
+
+    public DashboardSummaryDTO getSummary() {
+        return summary;
+    }
+
+    public void setSummary(DashboardSummaryDTO summary) {
+        this.summary = summary;
+    }
+
+    public MissionStatsDTO getMissionStats() {
+        return missionStats;
+    }
+
+    public void setMissionStats(MissionStatsDTO missionStats) {
+        this.missionStats = missionStats;
+    }
+
+    public SpacecraftStatsDTO getSpacecraftStats() {
+        return spacecraftStats;
+    }
+
+    public void setSpacecraftStats(SpacecraftStatsDTO spacecraftStats) {
+        this.spacecraftStats = spacecraftStats;
+    }
+
+    public CommandStatsDTO getCommandStats() {
+        return commandStats;
+    }
+
+    public void setCommandStats(CommandStatsDTO commandStats) {
+        this.commandStats = commandStats;
+    }
+
+    public TelemetrySummaryDTO getTelemetrySummary() {
+        return telemetrySummary;
+    }
+
+    public void setTelemetrySummary(TelemetrySummaryDTO telemetrySummary) {
+        this.telemetrySummary = telemetrySummary;
+    }
+}
@@ -0,0 +1,139 @@
+// src/main/java/com/dashboard/service/DashboardAggregator.java
+package com.dashboard.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs the downstream Feign calls behind a dashboard endpoint concurrently on
+ * Boot's application task executor.
+ *
+ * Every call gets its own timeout and a fallback value, so one slow or failing
+ * service degrades a single figure instead of the whole response, and the
+ * endpoint takes as long as its slowest branch rather than the sum of calls.
+ * Dependent calls are chained with {@link #then} and start as soon as their
+ * input is ready; a call whose input fell back is skipped. A call that times
+ * out is interrupted, and the Feign clients' read timeout backs this up for
+ * I/O that does not respond to interrupts.
+ */
+@Component
+public class DashboardAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardAggregator.class);
+
+    private final AsyncTaskExecutor executor;
+    private final long timeoutMs;
+
+    public DashboardAggregator(
+            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor executor,
+            @Value("${dashboard.aggregation.timeout-ms:3000}") long timeoutMs
+    ) {
+        this.executor  = executor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /** Start {@code call} now; completes with {@code fallback} on error or timeout. */
+    public <T> CompletableFuture<T> call(String name, Supplier<T> call, T fallback) {
+        Result<T> result = new Result<>();
+        run(name, call, fallback, result);
+        return result;
+    }
+
+    /**
+     * Start {@code call} once {@code input} is available, with the same timeout
+     * and fallback rules. If {@code input} failed or fell back, {@code call} is
+     * not made and the result is {@code fallback} straight away.
+     */
+    public <I, T> CompletableFuture<T> then(CompletableFuture<I> input, String name,
+                                            Function<I, T> call, T fallback) {
+        Result<T> result = new Result<>();
+        input.whenComplete((value, e) -> {
+            if (e != null || fellBack(input)) {
+                log.warn("Dashboard call {} skipped, its input is unavailable; using fallback", name);
+                result.fallBack(fallback);
+            } else {
+                run(name, () -> call.apply(value), fallback, result);
+            }
+        });
+        return result;
+    }
+
+    /** {@code input} transformed by {@code fn} on completion; a fallen-back input stays marked as such. */
+    public <I, T> CompletableFuture<T> map(CompletableFuture<I> input, Function<I, T> fn) {
+        Result<T> result = new Result<>();
+        input.whenComplete((value, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e);
+                return;
+            }
+            try {
+                T mapped = fn.apply(value);
+                if (fellBack(input)) {
+                    result.fallBack(mapped);
+                } else {
+                    result.complete(mapped);
+                }
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        return result;
+    }
+
+    /** Whether {@code result}, returned by {@link #call} or {@link #then}, holds its fallback value. */
+    public boolean fellBack(CompletableFuture<?> result) {
+        return result instanceof Result<?> r && r.fellBack;
+    }
+
+    private <T> void run(String name, Supplier<T> call, T fallback, Result<T> result) {
+        CompletableFuture<T> attempt = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    attempt.complete(call.get());
+                } catch (RuntimeException e) {
+                    attempt.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Dashboard call {} rejected, using fallback: {}", name, e.toString());
+            result.fallBack(fallback);
+            return;
+        }
+        attempt.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).whenComplete((value, e) -> {
+            if (e == null) {
+                result.complete(value);
+                return;
+            }
+            if (e instanceof TimeoutException) {
+                // interrupt the call instead of leaving it to hold an executor thread
+                task.cancel(true);
+            }
+            log.warn("Dashboard call {} failed, using fallback: {}", name, e.toString());
+            result.fallBack(fallback);
+        });
+    }
+
+    /** A call's outcome, marked when it completed with the fallback. */
+    private static final class Result<T> extends CompletableFuture<T> {
+        private volatile boolean fellBack;
+
+        void fallBack(T fallback) {
+            fellBack = true;
+            complete(fallback);
+        }
+    }
+}
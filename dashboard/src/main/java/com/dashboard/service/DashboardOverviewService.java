@@ -0,0 +1,210 @@
+// src/main/java/com/dashboard/service/DashboardOverviewService.java
+package com.dashboard.service;
+
+import com.dashboard.client.MissionClient;
+import com.dashboard.client.OperatorClient;
+import com.dashboard.client.SpacecraftServiceClient;
+import com.dashboard.client.TelemetryClient;
+import com.dashboard.dto.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the whole dashboard for an operator from one set of downstream
+ * fetches and caches it per operator and caller for a short TTL.
+ *
+ * Calls the individual endpoints repeat (pending commands, the operator's
+ * missions, the distinct operator count) are made once and shared between
+ * sections. Concurrent requests for the same operator share one in-flight
+ * load, and the TTL runs from when that load finished. An overview built with
+ * any fallback value is kept only for the shorter degraded TTL, so a recovered
+ * service shows up promptly. Expired entries are swept at most once per TTL.
+ *
+ * The downstream services authorize each load with the caller's relayed
+ * Authorization header, and this service cannot verify tokens itself, so a
+ * cached overview is only served to a caller presenting the same header
+ * (kept as a hash) as the one it was loaded with.
+ */
+@Service
+public class DashboardOverviewService {
+
+    private final MissionClient missionClient;
+    private final SpacecraftServiceClient spacecraftServiceClient;
+    private final TelemetryClient telemetryClient;
+    private final OperatorClient operatorClient;
+    private final DashboardService dashboardService;
+    private final DashboardAggregator aggregator;
+    private final long ttlMs;
+    private final long degradedTtlMs;
+
+    private final ConcurrentMap<Key, Entry> cache = new ConcurrentHashMap<>();
+    private volatile long lastSweep = System.currentTimeMillis();
+
+    public DashboardOverviewService(
+            MissionClient missionClient,
+            SpacecraftServiceClient spacecraftServiceClient,
+            TelemetryClient telemetryClient,
+            OperatorClient operatorClient,
+            DashboardService dashboardService,
+            DashboardAggregator aggregator,
+            @Value("${dashboard.overview.ttl-ms:5000}") long ttlMs,
+            @Value("${dashboard.overview.degraded-ttl-ms:1000}") long degradedTtlMs
+    ) {
+        this.missionClient = missionClient;
+        this.spacecraftServiceClient = spacecraftServiceClient;
+        this.telemetryClient = telemetryClient;
+        this.operatorClient = operatorClient;
+        this.dashboardService = dashboardService;
+        this.aggregator = aggregator;
+        this.ttlMs = ttlMs;
+        this.degradedTtlMs = degradedTtlMs;
+    }
+
+    /** The operator's overview as seen by the caller sending {@code authorization}, which may be null. */
+    public DashboardOverviewDTO getOverview(UUID operatorId, String authorization) {
+        long now = System.currentTimeMillis();
+        evictExpired(now);
+        Key key = new Key(operatorId, callerOf(authorization));
+        Entry entry = cache.compute(key, (k, old) ->
+                old != null && !old.isExpired(now) ? old : new Entry(load(k.operatorId())));
+        // a failed load is not cached; the next request retries
+        entry.overview.whenComplete((dto, e) -> {
+            if (e != null) cache.remove(key, entry);
+        });
+        return entry.overview.join().dto();
+    }
+
+    /** Drop every cached overview. */
+    public void clear() {
+        cache.clear();
+    }
+
+    /** Drop entries past their TTL so operators that stopped asking do not stay cached. */
+    private void evictExpired(long now) {
+        if (now - lastSweep < ttlMs) return;
+        lastSweep = now;
+        cache.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    private CompletableFuture<Overview> load(UUID operatorId) {
+        CompletableFuture<Long> active = aggregator.call("mission.countActive",
+                () -> missionClient.countActiveMissions(operatorId), 0L);
+        CompletableFuture<Long> inactive = aggregator.call("mission.countInactive",
+                () -> missionClient.countInactiveMissions(operatorId), 0L);
+        CompletableFuture<List<MissionMonthlyCountDTO>> byMonth = aggregator.call("mission.byMonth",
+                missionClient::getMissionsByMonth, List.of());
+        CompletableFuture<List<MissionDTO>> missions = aggregator.call("mission.byOperator",
+                () -> missionClient.getMissionsByOperator(operatorId), List.of());
+
+        CompletableFuture<List<UUID>> missionIds = aggregator.map(missions, list -> list.stream()
+                .map(MissionDTO::getId)
+                .toList());
+        CompletableFuture<Long> totalSpacecraft = aggregator.then(missionIds, "spacecraft.countByMissionIds",
+                spacecraftServiceClient::countByMissionIds, 0L);
+        CompletableFuture<Integer> distinctOperators = aggregator.then(missionIds, "mission.countDistinctOperators",
+                missionClient::countDistinctOperatorsByMissionIds, 0);
+        CompletableFuture<List<UUID>> scCounts = aggregator.then(missionIds, "spacecraft.counts",
+                spacecraftServiceClient::getSpacecraftCounts, List.of());
+
+        CompletableFuture<Long> success = aggregator.call("spacecraft.countSuccessfulCommands",
+                () -> spacecraftServiceClient.countSuccessfulCommands(operatorId), 0L);
+        CompletableFuture<Long> pending = aggregator.call("spacecraft.countPendingCommands",
+                () -> spacecraftServiceClient.countPendingCommands(operatorId), 0L);
+        CompletableFuture<Map<String, Long>> commandsByType = aggregator.call("spacecraft.commandsByType",
+                spacecraftServiceClient::countCommandsByType, Map.of());
+        CompletableFuture<Map<UUID, Long>> commandsByOperator = aggregator.call("spacecraft.commandsByOperator",
+                () -> spacecraftServiceClient.countByOperator(operatorId), Map.of());
+
+        CompletableFuture<UUID> enterpriseId = aggregator.call("operator.get",
+                () -> operatorClient.getOperator(operatorId).getEnterpriseId(), null);
+        CompletableFuture<Map<String, Long>> countByType = aggregator.then(enterpriseId, "spacecraft.countByType",
+                spacecraftServiceClient::countSpacecraftByType, Map.of());
+        CompletableFuture<Long> activeSpacecraft = aggregator.then(enterpriseId, "telemetry.countActive",
+                telemetryClient::countActiveSpacecraft, 0L);
+        CompletableFuture<Double> avgRadius = aggregator.then(enterpriseId, "telemetry.averageOrbitRadius",
+                telemetryClient::getAverageOrbitRadius, 0.0);
+        CompletableFuture<TelemetrySummaryDTO> telemetrySummary = aggregator.then(enterpriseId, "telemetry.summary",
+                telemetryClient::getTelemetrySummary, null);
+
+        List<CompletableFuture<?>> parts = List.of(active, inactive, byMonth, missions, totalSpacecraft,
+                distinctOperators, scCounts, success, pending, commandsByType, commandsByOperator,
+                enterpriseId, countByType, activeSpacecraft, avgRadius, telemetrySummary);
+        return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+                .thenApply(done -> {
+                    DashboardOverviewDTO dto = new DashboardOverviewDTO();
+                    dto.setSummary(dashboardService.buildSummary(
+                            active.join(),
+                            totalSpacecraft.join(),
+                            distinctOperators.join(),
+                            pending.join()));
+                    dto.setMissionStats(dashboardService.buildMissionStats(
+                            active.join(),
+                            inactive.join(),
+                            missions.join(),
+                            byMonth.join().stream().collect(Collectors.toMap(
+                                    mmc -> mmc.getMonth().toString(),
+                                    MissionMonthlyCountDTO::getCount,
+                                    (a, b) -> a)),
+                            distinctOperators.join(),
+                            scCounts.join()));
+                    dto.setSpacecraftStats(dashboardService.buildSpacecraftStats(
+                            countByType.join(),
+                            activeSpacecraft.join(),
+                            avgRadius.join()));
+                    dto.setCommandStats(dashboardService.buildCommandStats(
+                            success.join(),
+                            pending.join(),
+                            commandsByType.join(),
+                            commandsByOperator.join()));
+                    dto.setTelemetrySummary(telemetrySummary.join());
+                    return new Overview(dto, parts.stream().anyMatch(aggregator::fellBack));
+                });
+    }
+
+    /** SHA-256 of the Authorization header, so no credential is kept in the cache; empty without one. */
+    private static String callerOf(String authorization) {
+        if (authorization == null) return "";
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(authorization.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Key(UUID operatorId, String caller) {}
+
+    /** A built overview and whether any of its figures is a fallback value. */
+    private record Overview(DashboardOverviewDTO dto, boolean degraded) {}
+
+    private final class Entry {
+        final CompletableFuture<Overview> overview;
+        volatile long completedAt = Long.MAX_VALUE;
+        volatile long ttl = ttlMs;
+
+        Entry(CompletableFuture<Overview> overview) {
+            this.overview = overview;
+            overview.thenAccept(loaded -> {
+                if (loaded.degraded()) ttl = degradedTtlMs;
+                completedAt = System.currentTimeMillis();
+            });
+        }
+
+        boolean isExpired(long now) {
+            return completedAt != Long.MAX_VALUE && now - completedAt >= ttl;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.dashboard.config;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import feign.RequestTemplate;
+
+class RelayedAuthorizationTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final FeignClientConfig config = new FeignClientConfig();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void authRelay_ShouldUseHeaderReadOnRequestThreadAfterRequestEnded() throws Exception {
+        // Given: a task submitted while the request was running
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer caller-token");
+        ServletRequestAttributes attrs = new ServletRequestAttributes(request);
+        RequestContextHolder.setRequestAttributes(attrs);
+        RequestTemplate template = new RequestTemplate();
+        Runnable task = config.authorizationTaskDecorator().decorate(
+                () -> config.authRelayInterceptor().apply(template));
+
+        // When: the request finished and its attributes were recycled
+        attrs.requestCompleted();
+        RequestContextHolder.resetRequestAttributes();
+        request.removeHeader(HttpHeaders.AUTHORIZATION);
+        CompletableFuture.runAsync(task, executor).get();
+
+        // Then
+        assertEquals("Bearer caller-token", template.headers().get(HttpHeaders.AUTHORIZATION).iterator().next());
+    }
+
+    @Test
+    void current_ShouldBeClearedOnPooledThreadAfterTask() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer caller-token");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        Runnable task = RelayedAuthorization.carry(() -> { });
+
+        // When
+        CompletableFuture.runAsync(task, executor).get();
+        String afterwards = CompletableFuture.supplyAsync(RelayedAuthorization::current, executor).get();
+
+        // Then
+        assertNull(afterwards);
+    }
+}
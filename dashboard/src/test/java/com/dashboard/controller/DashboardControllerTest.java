@@ -4,9 +4,12 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +17,7 @@ import static org.mockito.ArgumentMatchers.anyList;
 import org.mockito.Mock;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 
 import com.dashboard.client.MissionClient;
 import com.dashboard.client.OperatorClient;
@@ -27,6 +31,8 @@ import com.dashboard.dto.MissionStatsDTO;
 import com.dashboard.dto.OperatorDTO;
 import com.dashboard.dto.SpacecraftStatsDTO;
 import com.dashboard.dto.TelemetrySummaryDTO;
+import com.dashboard.service.DashboardAggregator;
+import com.dashboard.service.DashboardOverviewService;
 import com.dashboard.service.DashboardService;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +53,11 @@ class DashboardControllerTest {
     @Mock
     private OperatorClient operatorClient;
 
+    @Mock
+    private DashboardOverviewService overviewService;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
     private DashboardController dashboardController;
 
     @BeforeEach
@@ -56,7 +67,14 @@ class DashboardControllerTest {
                 spacecraftServiceClient,
                 telemetryClient,
                 dashboardService,
-                operatorClient);
+                operatorClient,
+                new DashboardAggregator(new TaskExecutorAdapter(executor), 2000),
+                overviewService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
     }
 
     @Test
@@ -105,6 +123,27 @@ class DashboardControllerTest {
         assertEquals(expectedSummary, result);
     }
 
+    @Test
+    void getDashboardSummary_WhenOneServiceFails_ShouldReturnPartialSummary() {
+        // Given
+        UUID operatorId = UUID.randomUUID();
+        List<UUID> missionIds = Arrays.asList(UUID.randomUUID());
+        DashboardSummaryDTO expectedSummary = new DashboardSummaryDTO();
+
+        when(missionClient.countActiveMissions(operatorId)).thenReturn(4L);
+        when(missionClient.getMissionIdsByOperator(operatorId)).thenReturn(missionIds);
+        when(spacecraftServiceClient.countByMissionIds(missionIds)).thenThrow(new IllegalStateException("down"));
+        when(missionClient.countDistinctOperatorsByMissionIds(missionIds)).thenReturn(2);
+        when(spacecraftServiceClient.countPendingCommands(operatorId)).thenReturn(6L);
+        when(dashboardService.buildSummary(4L, 0L, 2L, 6L)).thenReturn(expectedSummary);
+
+        // When
+        DashboardSummaryDTO result = dashboardController.getDashboardSummary(operatorId);
+
+        // Then
+        assertEquals(expectedSummary, result);
+    }
+
     @Test
     void getMissionStats_ShouldReturnMissionStats() {
         // Given
@@ -0,0 +1,127 @@
+package com.dashboard.service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+class DashboardAggregatorTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final DashboardAggregator aggregator = new DashboardAggregator(new TaskExecutorAdapter(executor), 1000);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void call_ShouldFallBackOnTimeoutAndInterruptTheCall() throws InterruptedException {
+        // Given
+        CountDownLatch never = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        // When
+        CompletableFuture<Long> result = aggregator.call("slow", () -> {
+            try {
+                never.await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return 1L;
+        }, -1L);
+
+        // Then
+        assertEquals(-1L, result.join());
+        assertTrue(aggregator.fellBack(result));
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void call_ShouldRunIndependentCallsConcurrently() {
+        // Given: each call only returns once all three are running
+        CyclicBarrier allRunning = new CyclicBarrier(3);
+
+        // When
+        List<CompletableFuture<Integer>> calls = List.of(
+                aggregator.call("a", () -> awaitThen(allRunning, 1), 0),
+                aggregator.call("b", () -> awaitThen(allRunning, 2), 0),
+                aggregator.call("c", () -> awaitThen(allRunning, 3), 0));
+        int sum = calls.stream().mapToInt(CompletableFuture::join).sum();
+
+        // Then: none fell back waiting on the others
+        assertEquals(6, sum);
+    }
+
+    @Test
+    void then_ShouldSkipDownstreamWhenInputFellBack() {
+        // Given
+        AtomicBoolean called = new AtomicBoolean();
+        CompletableFuture<List<String>> ids = aggregator.call("ids", () -> {
+            throw new IllegalStateException("down");
+        }, null);
+
+        // When
+        CompletableFuture<Integer> count = aggregator.then(ids, "count", list -> {
+            called.set(true);
+            return list.size();
+        }, 0);
+
+        // Then
+        assertEquals(0, count.join());
+        assertTrue(aggregator.fellBack(count));
+        assertFalse(called.get());
+    }
+
+    @Test
+    void then_ShouldSkipDownstreamWhenMappedInputFellBack() {
+        // Given
+        AtomicBoolean called = new AtomicBoolean();
+        CompletableFuture<List<String>> ids = aggregator.call("ids", () -> {
+            throw new IllegalStateException("down");
+        }, List.of());
+
+        // When
+        CompletableFuture<Integer> count = aggregator.then(aggregator.map(ids, List::size), "double", size -> {
+            called.set(true);
+            return size * 2;
+        }, -1);
+
+        // Then
+        assertEquals(-1, count.join());
+        assertFalse(called.get());
+    }
+
+    @Test
+    void then_ShouldCallDownstreamWithInputValue() {
+        // Given
+        CompletableFuture<List<String>> ids = aggregator.call("ids", () -> List.of("a", "b"), List.of());
+
+        // When
+        CompletableFuture<Integer> count = aggregator.then(ids, "count", List::size, 0);
+
+        // Then
+        assertEquals(2, count.join());
+        assertFalse(aggregator.fellBack(count));
+    }
+
+    private static int awaitThen(CyclicBarrier barrier, int value) {
+        try {
+            barrier.await(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return value;
+    }
+}
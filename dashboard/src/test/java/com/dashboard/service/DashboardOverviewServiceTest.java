@@ -0,0 +1,226 @@
+package com.dashboard.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyList;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dashboard.client.MissionClient;
+import com.dashboard.client.OperatorClient;
+import com.dashboard.client.SpacecraftServiceClient;
+import com.dashboard.client.TelemetryClient;
+import com.dashboard.dto.DashboardOverviewDTO;
+import com.dashboard.dto.MissionDTO;
+import com.dashboard.dto.OperatorDTO;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardOverviewServiceTest {
+
+    @Mock
+    private MissionClient missionClient;
+
+    @Mock
+    private SpacecraftServiceClient spacecraftServiceClient;
+
+    @Mock
+    private TelemetryClient telemetryClient;
+
+    @Mock
+    private OperatorClient operatorClient;
+
+    private static final String CALLER = "Bearer caller-token";
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+    private final UUID operatorId = UUID.randomUUID();
+    private final UUID enterpriseId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MissionDTO mission = new MissionDTO();
+        mission.setId(UUID.randomUUID());
+        OperatorDTO operator = new OperatorDTO();
+        operator.setEnterpriseId(enterpriseId);
+
+        lenient().when(missionClient.countActiveMissions(operatorId)).thenReturn(3L);
+        lenient().when(missionClient.countInactiveMissions(operatorId)).thenReturn(1L);
+        lenient().when(missionClient.getMissionsByMonth()).thenReturn(List.of());
+        lenient().when(missionClient.getMissionsByOperator(operatorId)).thenReturn(List.of(mission));
+        lenient().when(missionClient.countDistinctOperatorsByMissionIds(anyList())).thenReturn(2);
+        lenient().when(spacecraftServiceClient.countByMissionIds(anyList())).thenReturn(5L);
+        lenient().when(spacecraftServiceClient.getSpacecraftCounts(anyList())).thenReturn(List.of());
+        lenient().when(spacecraftServiceClient.countSuccessfulCommands(operatorId)).thenReturn(9L);
+        lenient().when(spacecraftServiceClient.countPendingCommands(operatorId)).thenReturn(4L);
+        lenient().when(spacecraftServiceClient.countCommandsByType()).thenReturn(Map.of());
+        lenient().when(spacecraftServiceClient.countByOperator(operatorId)).thenReturn(Map.of());
+        lenient().when(operatorClient.getOperator(operatorId)).thenReturn(operator);
+        lenient().when(spacecraftServiceClient.countSpacecraftByType(enterpriseId)).thenReturn(Map.of("SAT", 5L));
+        lenient().when(telemetryClient.countActiveSpacecraft(enterpriseId)).thenReturn(2L);
+        lenient().when(telemetryClient.getAverageOrbitRadius(enterpriseId)).thenReturn(6800.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private DashboardOverviewService service(long ttlMs) {
+        return service(ttlMs, ttlMs);
+    }
+
+    private DashboardOverviewService service(long ttlMs, long degradedTtlMs) {
+        return new DashboardOverviewService(missionClient, spacecraftServiceClient, telemetryClient,
+                operatorClient, new DashboardService(), new DashboardAggregator(new TaskExecutorAdapter(executor), 2000),
+                ttlMs, degradedTtlMs);
+    }
+
+    @Test
+    void getOverview_ShouldBuildAllSectionsFromSharedFetches() {
+        // When
+        DashboardOverviewDTO overview = service(5000).getOverview(operatorId, CALLER);
+
+        // Then
+        assertEquals(3L, overview.getSummary().getActiveMissionCount());
+        assertEquals(5L, overview.getSummary().getTotalSpacecraftCount());
+        assertEquals(4L, overview.getSummary().getPendingCommandCount());
+        assertEquals(4L, overview.getCommandStats().getPendingCommandCount());
+        assertEquals(2, overview.getMissionStats().getDistinctOperators());
+        assertEquals(6800.0, overview.getSpacecraftStats().getAverageOrbitRadius());
+        verify(spacecraftServiceClient, times(1)).countPendingCommands(operatorId);
+        verify(missionClient, times(1)).countActiveMissions(operatorId);
+        verify(missionClient, times(1)).countDistinctOperatorsByMissionIds(anyList());
+    }
+
+    @Test
+    void getOverview_ShouldServeFromCacheWithinTtl() {
+        // Given
+        DashboardOverviewService service = service(60_000);
+
+        // When
+        DashboardOverviewDTO first = service.getOverview(operatorId, CALLER);
+        DashboardOverviewDTO second = service.getOverview(operatorId, CALLER);
+
+        // Then
+        assertSame(first, second);
+        verify(missionClient, times(1)).getMissionsByOperator(operatorId);
+    }
+
+    @Test
+    void getOverview_ShouldReloadAfterTtl() throws Exception {
+        // Given
+        DashboardOverviewService service = service(20);
+        service.getOverview(operatorId, CALLER);
+
+        // When
+        Thread.sleep(50);
+        service.getOverview(operatorId, CALLER);
+
+        // Then
+        verify(missionClient, times(2)).getMissionsByOperator(operatorId);
+    }
+
+    @Test
+    void getOverview_ShouldRebuildDegradedOverviewAfterShortTtl() throws Exception {
+        // Given: one downstream service is down
+        when(telemetryClient.getAverageOrbitRadius(enterpriseId)).thenThrow(new IllegalStateException("down"));
+        DashboardOverviewService service = service(60_000, 20);
+        service.getOverview(operatorId, CALLER);
+
+        // When
+        Thread.sleep(50);
+        service.getOverview(operatorId, CALLER);
+
+        // Then
+        verify(telemetryClient, times(2)).getAverageOrbitRadius(enterpriseId);
+    }
+
+    @Test
+    void getOverview_ShouldKeepHealthyOverviewForFullTtl() throws Exception {
+        // Given
+        DashboardOverviewService service = service(60_000, 20);
+        service.getOverview(operatorId, CALLER);
+
+        // When
+        Thread.sleep(50);
+        service.getOverview(operatorId, CALLER);
+
+        // Then
+        verify(telemetryClient, times(1)).getAverageOrbitRadius(enterpriseId);
+    }
+
+    @Test
+    void getOverview_ShouldEvictExpiredEntriesOfOtherOperators() throws Exception {
+        // Given
+        UUID idle = UUID.randomUUID();
+        DashboardOverviewService service = service(20);
+        service.getOverview(idle, CALLER);
+
+        // When
+        Thread.sleep(50);
+        service.getOverview(operatorId, CALLER);
+
+        // Then: only the fresh entry is left
+        Map<?, ?> cache = (Map<?, ?>) ReflectionTestUtils.getField(service, "cache");
+        assertEquals(1, cache.size());
+        verify(missionClient, times(1)).getMissionsByOperator(idle);
+    }
+
+    @Test
+    void getOverview_ShouldNotServeAnotherCallersCachedOverview() {
+        // Given
+        DashboardOverviewService service = service(60_000);
+        DashboardOverviewDTO first = service.getOverview(operatorId, CALLER);
+
+        // When
+        DashboardOverviewDTO other = service.getOverview(operatorId, "Bearer other-token");
+        DashboardOverviewDTO again = service.getOverview(operatorId, CALLER);
+
+        // Then
+        assertNotSame(first, other);
+        assertSame(first, again);
+        verify(missionClient, times(2)).getMissionsByOperator(operatorId);
+    }
+
+    @Test
+    void getOverview_ShouldShareOneLoadBetweenConcurrentRequests() throws Exception {
+        // Given: the first downstream call blocks until every request is in
+        CountDownLatch release = new CountDownLatch(1);
+        when(missionClient.getMissionsByOperator(operatorId)).thenAnswer(inv -> {
+            release.await();
+            return List.of();
+        });
+        DashboardOverviewService service = service(60_000);
+
+        // When
+        List<CompletableFuture<DashboardOverviewDTO>> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(CompletableFuture.supplyAsync(() -> service.getOverview(operatorId, CALLER)));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        requests.forEach(CompletableFuture::join);
+
+        // Then
+        verify(missionClient, times(1)).getMissionsByOperator(operatorId);
+    }
+}
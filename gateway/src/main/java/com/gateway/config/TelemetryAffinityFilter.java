@@ -0,0 +1,136 @@
+package com.gateway.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Sends each operator's /ws/telemetry sessions to the telemetry replica
+ * that consumes the operator's Kafka partition. Mirrors the telemetry
+ * service's OperatorPartitions: partition = murmur2(operatorId) % partitions,
+ * as Kafka's default partitioner, and replica = partition % replicas.
+ * With a single replica requests pass through untouched.
+ */
+@Component
+public class TelemetryAffinityFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(TelemetryAffinityFilter.class);
+
+    private static final String ROUTE_ID = "telemetry";
+    private static final String WS_PATH = "/ws/telemetry";
+
+    private final int partitions;
+    private final int replicas;
+    private final String replicaUri;
+
+    public TelemetryAffinityFilter(
+            @Value("${telemetry.affinity.partitions:12}") int partitions,
+            @Value("${telemetry.affinity.replicas:1}") int replicas,
+            @Value("${telemetry.affinity.replica-uri:http://telemetry-{replica}.telemetry-headless:8080}") String replicaUri
+    ) {
+        this.partitions = partitions;
+        this.replicas = replicas;
+        this.replicaUri = replicaUri;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (replicas <= 1 || !WS_PATH.equals(exchange.getRequest().getPath().value())) {
+            return chain.filter(exchange);
+        }
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        URI target = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        UUID operatorId = operatorId(exchange.getRequest().getQueryParams());
+        if (route == null || !ROUTE_ID.equals(route.getId()) || target == null || operatorId == null) {
+            return chain.filter(exchange);
+        }
+
+        int replica = replicaOf(operatorId);
+        URI owner = URI.create(replicaUri.replace("{replica}", Integer.toString(replica)));
+        URI routed = UriComponentsBuilder.fromUri(target)
+                .host(owner.getHost())
+                .port(owner.getPort())
+                .build(true)
+                .toUri();
+        log.debug("Telemetry session of operator {} routed to replica {}", operatorId, replica);
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, routed);
+        return chain.filter(exchange);
+    }
+
+    /** Right after the route's URI is resolved, before the request is forwarded. */
+    @Override
+    public int getOrder() {
+        return RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER + 1;
+    }
+
+    int replicaOf(UUID operatorId) {
+        return partitionOf(operatorId.toString(), partitions) % replicas;
+    }
+
+    private static UUID operatorId(MultiValueMap<String, String> query) {
+        String id = query.getFirst("operatorId");
+        if (id == null) id = query.getFirst("enterpriseId");
+        try {
+            return id != null ? UUID.fromString(id) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /** Kafka's default partitioner for a String key. */
+    static int partitionOf(String key, int partitions) {
+        return (murmur2(key.getBytes(StandardCharsets.UTF_8)) & 0x7fffffff) % partitions;
+    }
+
+    /** The 32-bit murmur2 hash of org.apache.kafka.common.utils.Utils#murmur2. */
+    static int murmur2(byte[] data) {
+        final int m = 0x5bd1e995;
+        final int r = 24;
+        int length = data.length;
+        int h = 0x9747b28c ^ length;
+
+        for (int i = 0; i < length / 4; i++) {
+            int i4 = i * 4;
+            int k = (data[i4] & 0xff) + ((data[i4 + 1] & 0xff) << 8)
+                    + ((data[i4 + 2] & 0xff) << 16) + ((data[i4 + 3] & 0xff) << 24);
+            k *= m;
+            k ^= k >>> r;
+            k *= m;
+            h *= m;
+            h ^= k;
+        }
+
+        int tail = length & ~3;
+        switch (length % 4) {
+            case 3:
+                h ^= (data[tail + 2] & 0xff) << 16;
+            case 2:
+                h ^= (data[tail + 1] & 0xff) << 8;
+            case 1:
+                h ^= data[tail] & 0xff;
+                h *= m;
+        }
+
+        h ^= h >>> 13;
+        h *= m;
+        h ^= h >>> 15;
+        return h;
+    }
+}
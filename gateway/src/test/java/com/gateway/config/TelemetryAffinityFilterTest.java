@@ -0,0 +1,30 @@
+package com.gateway.config;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+class TelemetryAffinityFilterTest {
+
+    @Test
+    void testPartitionMatchesKafkaDefaultPartitioner() {
+        // Expected values from org.apache.kafka.common.utils.Utils#murmur2 over 12 partitions
+        assertEquals(2, TelemetryAffinityFilter.partitionOf("00000000-0000-0000-0000-000000000001", 12));
+        assertEquals(11, TelemetryAffinityFilter.partitionOf("3f2504e0-4f89-11d3-9a0c-0305e82c3301", 12));
+        assertEquals(8, TelemetryAffinityFilter.partitionOf("123e4567-e89b-12d3-a456-426614174000", 12));
+        assertEquals(479470107, TelemetryAffinityFilter.murmur2("abc".getBytes()));
+    }
+
+    @Test
+    void testReplicaOwnsPartitionModuloReplicaCount() {
+        // Given
+        TelemetryAffinityFilter filter = new TelemetryAffinityFilter(12, 3, "http://telemetry-{replica}:8080");
+
+        // When
+        int replica = filter.replicaOf(UUID.fromString("3f2504e0-4f89-11d3-9a0c-0305e82c3301"));
+
+        // Then
+        assertEquals(11 % 3, replica);
+    }
+}
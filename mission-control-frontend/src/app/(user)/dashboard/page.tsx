@@ -61,24 +61,20 @@ export default function DashboardPage() {
 
     try {
       console.log('Fetching dashboard data for user:', user);
-      const [summary, missions, spacecraft, commands, telemetry, enterprise] = await Promise.all([
-        dashboardService.getSummary(user.id),
-        dashboardService.getMissionStats(user.id),
-        dashboardService.getSpacecraftStats(user.id),
-        dashboardService.getCommandStats(user.id),
-        // dashboardService.getRecentActivity(user.id, 10), // Limit to 10 most recent
-        dashboardService.getTelemetrySummary(user.enterpriseId),
+      // one composite request instead of one per section
+      const [overview, enterprise] = await Promise.all([
+        dashboardService.getOverview(user.id),
         enterpriseService.getEnterprise(user.enterpriseId) // Fetch enterprise data
       ]);
 
       if (isMountedRef.current) {
         setDashboardData({
-          summaryData: summary,
-          missionStats: missions,
-          spacecraftStats: spacecraft,
-          commandStats: commands,
+          summaryData: overview.summary,
+          missionStats: overview.missionStats,
+          spacecraftStats: overview.spacecraftStats,
+          commandStats: overview.commandStats,
           // recentActivity: activities,
-          telemetrySummary: telemetry,
+          telemetrySummary: overview.telemetrySummary,
           enterpriseData: enterprise // Store enterprise data in state
         });
         setLastUpdated(new Date());
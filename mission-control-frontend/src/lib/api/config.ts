@@ -50,6 +50,7 @@ export const API_CONFIG = {
       ADD_TO_ENTERPRISE: '/api/operator/addToEnterprise', // via POST @RequestParam "enterpriseId", "operatorId"
     },
     DASHBOARD: {
+      OVERVIEW: '/api/dashboard/overview',
       SUMMARY: '/api/dashboard/summary',
       MISSION_STATS: '/api/dashboard/missions/stats',
       SPACECRAFT_STATS: '/api/dashboard/spacecraft/stats',
@@ -0,0 +1,189 @@
+/**
+ * Decoder for binary telemetry frames, sent on /ws/telemetry to sessions
+ * that connect with `format=binary`.
+ *
+ * Layout (all numbers little-endian; mirrors BinaryTelemetryFrame.java in
+ * the telemetry service):
+ *
+ *   frame       u8  version (1)
+ *               u8  kind: 1 keyframe, 2 delta
+ *               u16 reserved
+ *               i64 seq
+ *               i64 baseSeq (-1 in a keyframe)
+ *               u16 operatorId length, then that many UTF-8 bytes
+ *               u32 spacecraft count, then each spacecraft
+ *               u32 removed count, then that many i64 externalIds
+ *
+ *   spacecraft  i64 externalId
+ *               u8  parts: 1 telemetry, 2 shortPredictions, 4 fullOrbitPredictions, 8 geo
+ *               telemetry, if present:
+ *                 i64 timestamp (epoch ms)
+ *                 f32 position x, y, z
+ *                 f32 velocity x, y, z, magnitude
+ *                 f32 acceleration, orbitRadius
+ *                 f32 geo latitude, longitude, altitude (only with the geo bit)
+ *               shortPredictions, then fullOrbitPredictions, each if present as a series
+ *
+ *   series      u32 n
+ *               i64 t0 (epoch ms)
+ *               i32[n] timestamp - t0 (ms)
+ *               f32[n] latitude, f32[n] longitude, f32[n] altitude
+ *
+ * A keyframe decodes to the same shape as the JSON frame. A delta carries
+ * only the parts that changed since frame `baseSeq`; apply it with
+ * {@link applyTelemetryDelta} on top of exactly that frame.
+ */
+import type { CurrentTelemetry, PredictivePosition, SatelliteData } from '../hooks/useTelemetry';
+
+export const TELEMETRY_FRAME_VERSION = 1;
+
+const KIND_KEYFRAME = 1;
+const KIND_DELTA = 2;
+
+const PART_TELEMETRY = 1;
+const PART_SHORT = 2;
+const PART_FULL = 4;
+const PART_GEO = 8;
+
+export interface TelemetryKeyframe {
+  type: 'TELEMETRY_KEYFRAME';
+  operatorId: string;
+  seq: number;
+  telemetry: { [satId: string]: SatelliteData };
+}
+
+export interface TelemetryDelta {
+  type: 'TELEMETRY_DELTA';
+  operatorId: string;
+  seq: number;
+  baseSeq: number;
+  telemetry: { [satId: string]: Partial<SatelliteData> };
+  removed: string[];
+}
+
+export type TelemetryFrame = TelemetryKeyframe | TelemetryDelta;
+
+const utf8 = new TextDecoder();
+
+/**
+ * Decode one binary telemetry frame.
+ * @throws Error when the buffer is not a frame of a known version
+ */
+export function decodeTelemetryFrame(buffer: ArrayBuffer): TelemetryFrame {
+  const view = new DataView(buffer);
+  let offset = 0;
+
+  const version = view.getUint8(offset);
+  if (version !== TELEMETRY_FRAME_VERSION) {
+    throw new Error(`Unsupported telemetry frame version ${version}`);
+  }
+  const kind = view.getUint8(offset + 1);
+  offset += 4;
+  const seq = Number(view.getBigInt64(offset, true));
+  const baseSeq = Number(view.getBigInt64(offset + 8, true));
+  offset += 16;
+
+  const operatorLength = view.getUint16(offset, true);
+  offset += 2;
+  const operatorId = utf8.decode(new Uint8Array(buffer, offset, operatorLength));
+  offset += operatorLength;
+
+  const telemetry: { [satId: string]: Partial<SatelliteData> } = {};
+  const count = view.getUint32(offset, true);
+  offset += 4;
+  for (let i = 0; i < count; i++) {
+    const satId = view.getBigInt64(offset, true).toString();
+    const parts = view.getUint8(offset + 8);
+    offset += 9;
+
+    const sat: Partial<SatelliteData> = {};
+    if (parts & PART_TELEMETRY) {
+      const f = (k: number) => view.getFloat32(offset + 8 + k * 4, true);
+      // geo is left out, as in the JSON frame, when the sample has no ground position
+      const current = {
+        timestamp: Number(view.getBigInt64(offset, true)),
+        position: { x: f(0), y: f(1), z: f(2) },
+        velocity: { x: f(3), y: f(4), z: f(5), magnitude: f(6) },
+        acceleration: f(7),
+        orbitRadius: f(8),
+      } as CurrentTelemetry;
+      offset += 8 + 9 * 4;
+      if (parts & PART_GEO) {
+        current.geo = {
+          latitude: view.getFloat32(offset, true),
+          longitude: view.getFloat32(offset + 4, true),
+          altitude: view.getFloat32(offset + 8, true),
+        };
+        offset += 12;
+      }
+      sat.telemetry = current;
+    }
+    if (parts & PART_SHORT) {
+      [sat.shortPredictions, offset] = readSeries(view, offset, false);
+    }
+    if (parts & PART_FULL) {
+      [sat.fullOrbitPredictions, offset] = readSeries(view, offset, true);
+    }
+    telemetry[satId] = sat;
+  }
+
+  const removed: string[] = [];
+  const removedCount = view.getUint32(offset, true);
+  offset += 4;
+  for (let i = 0; i < removedCount; i++) {
+    removed.push(view.getBigInt64(offset, true).toString());
+    offset += 8;
+  }
+
+  if (kind === KIND_DELTA) {
+    return { type: 'TELEMETRY_DELTA', operatorId, seq, baseSeq, telemetry, removed };
+  }
+  if (kind !== KIND_KEYFRAME) {
+    throw new Error(`Unknown telemetry frame kind ${kind}`);
+  }
+  return {
+    type: 'TELEMETRY_KEYFRAME',
+    operatorId,
+    seq,
+    telemetry: telemetry as { [satId: string]: SatelliteData },
+  };
+}
+
+function readSeries(view: DataView, offset: number, isFullOrbit: boolean): [PredictivePosition[], number] {
+  const n = view.getUint32(offset, true);
+  const t0 = Number(view.getBigInt64(offset + 4, true));
+  const times = offset + 12;
+  const lats = times + n * 4;
+  const lons = lats + n * 4;
+  const alts = lons + n * 4;
+
+  const points: PredictivePosition[] = new Array(n);
+  for (let i = 0; i < n; i++) {
+    points[i] = {
+      timestamp: t0 + view.getInt32(times + i * 4, true),
+      latitude: view.getFloat32(lats + i * 4, true),
+      longitude: view.getFloat32(lons + i * 4, true),
+      altitude: view.getFloat32(alts + i * 4, true),
+      isFullOrbit,
+    };
+  }
+  return [points, alts + n * 4];
+}
+
+/**
+ * Apply a delta to the keyframe state it was built on. Returns null when
+ * `state` is not frame `delta.baseSeq`; the caller then waits for the next
+ * keyframe.
+ */
+export function applyTelemetryDelta(state: TelemetryKeyframe, delta: TelemetryDelta): TelemetryKeyframe | null {
+  if (state.seq !== delta.baseSeq) return null;
+
+  const telemetry = { ...state.telemetry };
+  for (const satId of delta.removed) {
+    delete telemetry[satId];
+  }
+  for (const [satId, changed] of Object.entries(delta.telemetry)) {
+    telemetry[satId] = { ...telemetry[satId], ...changed } as SatelliteData;
+  }
+  return { type: 'TELEMETRY_KEYFRAME', operatorId: delta.operatorId, seq: delta.seq, telemetry };
+}
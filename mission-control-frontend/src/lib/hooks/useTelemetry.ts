@@ -2,6 +2,7 @@
 import { useState, useEffect, useCallback, useRef } from 'react';
 import { API_CONFIG } from '../api/config';
 import { useWebSocket } from './useWebsocket';
+import { decodeTelemetryFrame } from '../api/telemetryFrames';
 
 // Types for the new telemetry API format
 export interface GeoPosition {
@@ -65,6 +66,9 @@ export interface LegacyTelemetryPosition {
   timestamp: number;
 }
 
+// Packed binary frames instead of JSON; see api/telemetryFrames.ts for the layout
+const TELEMETRY_STREAM_PARAMS = { format: 'binary' };
+
 /**
  * Custom hook for efficiently handling satellite telemetry data
  */
@@ -96,6 +100,10 @@ function useTelemetry() {
     // Parse the WebSocket message into the expected format
     (message) => {
       try {
+        if (message instanceof ArrayBuffer) {
+          // binary keyframe; same shape as the JSON frame
+          return decodeTelemetryFrame(message) as TelemetryResponse;
+        }
         if (typeof message === 'string') {
           return JSON.parse(message);
         }
@@ -104,7 +112,8 @@ function useTelemetry() {
         console.error('Error parsing telemetry message:', e);
         return null;
       }
-    }
+    },
+    TELEMETRY_STREAM_PARAMS
   );
   
   // Calculate a simple hash of the telemetry data to detect real changes
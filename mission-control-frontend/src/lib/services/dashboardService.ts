@@ -25,6 +25,15 @@ export interface DashboardData {
   lastUpdated: Date | null;
 }
 
+/** Response of /api/dashboard/overview: every section from one backend round trip. */
+export interface DashboardOverview {
+  summary: DashboardSummary | null;
+  missionStats: MissionStats | null;
+  spacecraftStats: SpacecraftStats | null;
+  commandStats: CommandStats | null;
+  telemetrySummary: TelemetrySummary | null;
+}
+
 /* ──────────────────────────────────────────────────────────── *
  *  Local cache & helpers
  * ──────────────────────────────────────────────────────────── */
@@ -61,36 +70,17 @@ export const dashboardService = {
     if (fresh) return cached!;
     if (pending[k]) return pending[k];
 
-    const p = Promise.all([
-      this.getSummary(userId),
-      this.getMissionStats(userId),
-      this.getSpacecraftStats(userId),
-      this.getCommandStats(userId),
-      // this.getRecentActivity(userId, 10),
-      this.getTelemetrySummary(userId), // Use userId for the API call
-    ])
-      .then(
-        ([
-          summary,
-          missionStats,
-          spacecraftStats,
-          commandStats,
-          /*recentActivity,*/ telemetrySummary,
-        ]) => {
-          const data: DashboardData = {
-            summary,
-            missionStats,
-            spacecraftStats,
-            commandStats,
-            recentActivity: null /*recentActivity*/,
-            telemetrySummary,
-            lastUpdated: new Date(),
-          };
-          dashboardCache[userId] = data;
-          delete pending[k];
-          return data;
-        }
-      )
+    const p = this.getOverview(userId)
+      .then((overview) => {
+        const data: DashboardData = {
+          ...overview,
+          recentActivity: null,
+          lastUpdated: new Date(),
+        };
+        dashboardCache[userId] = data;
+        delete pending[k];
+        return data;
+      })
       .catch((err) => {
         delete pending[k];
         throw err;
@@ -105,6 +95,23 @@ export const dashboardService = {
     else dashboardCache = {};
   },
 
+  /** All sections at once; the backend caches this per operator for a few seconds. */
+  async getOverview(userId: string): Promise<DashboardOverview> {
+    const k = key(userId, "overview");
+    if (pending[k]) return pending[k];
+
+    const p = apiClient
+      .get<DashboardOverview>(API_CONFIG.ENDPOINTS.DASHBOARD.OVERVIEW, {
+        params: params(userId),
+      })
+      .finally(() => {
+        delete pending[k];
+      });
+
+    pending[k] = p;
+    return p;
+  },
+
   /* ░░░░░░░░░░░░░ 2. Individual endpoints ░░░░░░░░░░░░░ */
   async getSummary(userId: string): Promise<DashboardSummary> {
     const k = key(userId, "summary");
@@ -7,8 +7,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.core.task.TaskDecorator;
 
 import java.io.IOException;
 
@@ -23,22 +22,27 @@ public class FeignConfig {
     @Bean
     public RequestInterceptor headerForwardInterceptor() {
         return template -> {
-            var attrs = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            if (attrs != null) {
-                var request = attrs.getRequest();
-                var auth = request.getHeader("Authorization");
-                if (auth != null) {
-                    log.debug("Forwarding Authorization header to Feign target.");
-                    template.header("Authorization", auth);
-                } else {
-                    log.warn("No Authorization header found in incoming request.");
-                }
+            var auth = RelayedAuthorization.current();
+            if (auth != null) {
+                log.debug("Forwarding Authorization header to Feign target.");
+                template.header("Authorization", auth);
             } else {
-                log.warn("No request context available (RequestContextHolder is null).");
+                log.warn("No Authorization header found in incoming request.");
             }
         };
     }
 
+    /**
+     * Feign calls fanned out on the task executor run off the request thread;
+     * carry the caller's Authorization header over, as a String read when the
+     * task is submitted, so the interceptor above still has it. Boot applies
+     * this to applicationTaskExecutor.
+     */
+    @Bean
+    public TaskDecorator authorizationTaskDecorator() {
+        return RelayedAuthorization::carry;
+    }
+
     /**
      * Logs Feign client errors with response body for easier debugging.
      */
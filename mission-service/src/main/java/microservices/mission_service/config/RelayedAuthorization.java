@@ -0,0 +1,44 @@
+// src/main/java/microservices/mission_service/config/RelayedAuthorization.java
+package microservices.mission_service.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * The Authorization header Feign calls relay. On the request thread it is
+ * read from the request; a task on the executor gets the caller's value as
+ * a plain String, never the request itself, which the container recycles
+ * once the request ends even if a timed-out call is still running.
+ */
+public final class RelayedAuthorization {
+
+    private static final ThreadLocal<String> TASK_VALUE = new ThreadLocal<>();
+
+    private RelayedAuthorization() {
+    }
+
+    /** The caller's Authorization header, or null when there is none. */
+    public static String current() {
+        String value = TASK_VALUE.get();
+        if (value != null) return value;
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attrs
+                ? attrs.getRequest().getHeader(HttpHeaders.AUTHORIZATION)
+                : null;
+    }
+
+    /** {@code task} running with the header current where it is created. */
+    public static Runnable carry(Runnable task) {
+        String value = current();
+        return () -> {
+            String previous = TASK_VALUE.get();
+            TASK_VALUE.set(value);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) TASK_VALUE.set(previous);
+                else TASK_VALUE.remove();
+            }
+        };
+    }
+}
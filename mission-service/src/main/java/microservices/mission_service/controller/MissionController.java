@@ -7,6 +7,7 @@ import microservices.mission_service.model.Mission;
 import microservices.mission_service.model.MissionOperator;
 import microservices.mission_service.model.MissionRole;
 import microservices.mission_service.service.MissionService;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.crossstore.ChangeSetPersister;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +16,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @RestController
@@ -23,10 +27,13 @@ public class MissionController {
 
     private final MissionService svc;
     private final AuthClient     auth;   // Feign injected here
+    private final Executor taskExecutor;
 
-    public MissionController(MissionService svc, AuthClient auth) {
+    public MissionController(MissionService svc, AuthClient auth,
+                             @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
         this.svc  = svc;
         this.auth = auth;
+        this.taskExecutor = taskExecutor;
     }
 
     /* ---------- CRUD ---------- */
@@ -81,12 +88,21 @@ public class MissionController {
     @GetMapping("/{missionId}/operators")
     public List<OperatorDtoWithRole> getOperators(@PathVariable("missionId") UUID missionId) {
         List<MissionOperator> operators = svc.getOperators(missionId);
-        return operators.stream()
-                .map(mo -> {
-                    OperatorDto operatorDto = auth.getOperator(mo.getOperatorId());
-                    return new OperatorDtoWithRole(operatorDto, mo.getRole());
-                })
+        // one auth-service lookup per operator, issued concurrently and joined in order
+        List<CompletableFuture<OperatorDtoWithRole>> lookups = operators.stream()
+                .map(mo -> CompletableFuture.supplyAsync(
+                        () -> new OperatorDtoWithRole(auth.getOperator(mo.getOperatorId()), mo.getRole()),
+                        taskExecutor))
                 .collect(Collectors.toList());
+        try {
+            return lookups.stream()
+                    .map(CompletableFuture::join)
+                    .collect(Collectors.toList());
+        } catch (CompletionException e) {
+            // surface the Feign error itself, as the serial loop did
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
     }
 
     // static so Jackson can instantiate it
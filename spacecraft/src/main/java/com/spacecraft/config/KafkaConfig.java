@@ -0,0 +1,21 @@
+// src/main/java/com/spacecraft/config/KafkaConfig.java
+package com.spacecraft.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class KafkaConfig {
+
+    /** Command lifecycle events (created, executed, updated, deleted), keyed by spacecraft externalId. */
+    public static final String TOPIC_COMMANDS = "spacecraft-commands";
+
+    @Bean
+    public NewTopic commandsTopic(@Value("${spacecraft.outbox.partitions:1}") int partitions) {
+        return new NewTopic(TOPIC_COMMANDS, partitions, (short) 1);
+    }
+}
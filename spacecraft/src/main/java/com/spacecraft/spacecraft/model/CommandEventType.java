@@ -0,0 +1,9 @@
+// src/main/java/com/spacecraft/spacecraft/model/CommandEventType.java
+package com.spacecraft.spacecraft.model;
+
+public enum CommandEventType {
+    CREATED,
+    EXECUTED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,94 @@
+// src/main/java/com/spacecraft/spacecraft/model/CommandOutboxEvent.java
+package com.spacecraft.spacecraft.model;
+
+import java.util.Date;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+
+/**
+ * A command change waiting to be published to Kafka. Rows are written in the
+ * same transaction as the command itself and relayed in id order.
+ */
+@Entity
+@Table(name = "command_outbox", indexes = @Index(name = "idx_command_outbox_unpublished", columnList = "published_at, id"))
+public class CommandOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "command_id", columnDefinition = "uuid", nullable = false)
+    private UUID commandId;
+
+    /** Kafka record key: the spacecraft's externalId, or its UUID when it has none. */
+    @Column(name = "message_key", nullable = false)
+    private String messageKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private CommandEventType eventType;
+
+    @Column(name = "payload", columnDefinition = "TEXT", nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date createdAt;
+
+    @Column(name = "published_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date publishedAt;
+
+    public CommandOutboxEvent() {}
+
+    public CommandOutboxEvent(UUID commandId, String messageKey, CommandEventType eventType, String payload) {
+        this.commandId  = commandId;
+        this.messageKey = messageKey;
+        this.eventType  = eventType;
+        this.payload    = payload;
+        this.createdAt  = new Date();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getCommandId() {
+        return commandId;
+    }
+
+    public String getMessageKey() {
+        return messageKey;
+    }
+
+    public CommandEventType getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public Date getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(Date publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+}
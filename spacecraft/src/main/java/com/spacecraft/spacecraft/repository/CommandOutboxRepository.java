@@ -0,0 +1,29 @@
+// src/main/java/com/spacecraft/spacecraft/repository/CommandOutboxRepository.java
+package com.spacecraft.spacecraft.repository;
+
+import com.spacecraft.spacecraft.model.CommandOutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface CommandOutboxRepository extends JpaRepository<CommandOutboxEvent, Long> {
+
+    /** Oldest unpublished events, locked so concurrent relays publish them one at a time and in order. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM CommandOutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id")
+    List<CommandOutboxEvent> findUnpublished(Pageable page);
+
+    long countByPublishedAtIsNull();
+
+    @Modifying
+    @Query("DELETE FROM CommandOutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(Date cutoff);
+}
@@ -0,0 +1,60 @@
+// src/main/java/com/spacecraft/spacecraft/service/CommandOutbox.java
+package com.spacecraft.spacecraft.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spacecraft.spacecraft.model.Command;
+import com.spacecraft.spacecraft.model.CommandEventType;
+import com.spacecraft.spacecraft.model.CommandOutboxEvent;
+import com.spacecraft.spacecraft.model.Spacecraft;
+import com.spacecraft.spacecraft.repository.CommandOutboxRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records command changes in the outbox table. Must run inside the caller's
+ * transaction so the event exists exactly when the change commits;
+ * {@link CommandOutboxRelay} publishes it afterwards.
+ */
+@Component
+public class CommandOutbox {
+
+    private final CommandOutboxRepository repo;
+    private final ObjectMapper objectMapper;
+
+    public CommandOutbox(CommandOutboxRepository repo, ObjectMapper objectMapper) {
+        this.repo = repo;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(CommandEventType type, Command command) {
+        Spacecraft spacecraft = command.getSpacecraft();
+
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("eventType", type.name());
+        event.put("commandId", command.getId());
+        event.put("spacecraftId", spacecraft.getId());
+        event.put("externalId", spacecraft.getExternalId());
+        event.put("enterpriseId", spacecraft.getEnterpriseId());
+        event.put("commandType", command.getCommandType());
+        event.put("operatorId", command.getOperatorId());
+        event.put("payload", command.getPayload());
+        event.put("status", command.getStatus());
+        event.put("createdAt", command.getCreatedAt());
+        event.put("executedAt", command.getExecutedAt());
+
+        String key = spacecraft.getExternalId() != null
+                ? spacecraft.getExternalId().toString()
+                : spacecraft.getId().toString();
+        try {
+            repo.save(new CommandOutboxEvent(command.getId(), key, type, objectMapper.writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize command event: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+// src/main/java/com/spacecraft/spacecraft/service/CommandOutboxRelay.java
+package com.spacecraft.spacecraft.service;
+
+import com.spacecraft.config.KafkaConfig;
+import com.spacecraft.spacecraft.model.CommandOutboxEvent;
+import com.spacecraft.spacecraft.repository.CommandOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes outbox rows to {@link KafkaConfig#TOPIC_COMMANDS} in the order they
+ * were written, keyed by spacecraft externalId so each spacecraft's events
+ * stay ordered within a partition. A batch is sent without waiting between
+ * rows, then awaited once for at most spacecraft.outbox.send-timeout-ms, so
+ * the row locks are held for one bounded wait. Rows are marked published up
+ * to the first one the broker did not acknowledge; that one and the rest are
+ * sent again on the next run, so delivery is at-least-once.
+ */
+@Component
+public class CommandOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(CommandOutboxRelay.class);
+
+    private final CommandOutboxRepository repo;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final long retentionHours;
+
+    public CommandOutboxRelay(
+            CommandOutboxRepository repo,
+            KafkaTemplate<String, String> kafkaTemplate,
+            MeterRegistry registry,
+            @Value("${spacecraft.outbox.batch-size:100}") int batchSize,
+            @Value("${spacecraft.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+            @Value("${spacecraft.outbox.retention-hours:24}") long retentionHours
+    ) {
+        this.repo = repo;
+        this.kafkaTemplate = kafkaTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.retentionHours = retentionHours;
+
+        Gauge.builder("spacecraft.command.outbox.pending", repo, CommandOutboxRepository::countByPublishedAtIsNull)
+                .description("Command events not yet published to Kafka")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${spacecraft.outbox.poll-interval-ms:500}")
+    @Transactional
+    public void publishPending() {
+        List<CommandOutboxEvent> batch = repo.findUnpublished(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) return;
+
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(batch.size());
+        for (CommandOutboxEvent event : batch) {
+            try {
+                sends.add(kafkaTemplate.send(KafkaConfig.TOPIC_COMMANDS, event.getMessageKey(), event.getPayload()));
+            } catch (Exception e) {
+                logger.warn("Sending command event {} failed, will retry: {}", event.getId(), e.getMessage());
+                break;
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            // shutting down; keep what was acknowledged so far
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Publishing command events failed, will retry: {}", e.getMessage());
+        }
+
+        // a later row must not count as published before an earlier one of its spacecraft
+        Date now = new Date();
+        for (int i = 0; i < sends.size(); i++) {
+            CompletableFuture<SendResult<String, String>> send = sends.get(i);
+            if (!send.isDone() || send.isCompletedExceptionally()) break;
+            batch.get(i).setPublishedAt(now);
+        }
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.HOURS)
+    @Transactional
+    public void purgePublished() {
+        Date cutoff = new Date(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(retentionHours));
+        int removed = repo.deletePublishedBefore(cutoff);
+        if (removed > 0) {
+            logger.debug("Purged {} published command events", removed);
+        }
+    }
+}
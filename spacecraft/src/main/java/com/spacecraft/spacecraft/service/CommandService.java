@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.spacecraft.dto.CommandRequest;
 import com.spacecraft.exception.CommandCreationException;
 import com.spacecraft.spacecraft.model.Command;
+import com.spacecraft.spacecraft.model.CommandEventType;
 import com.spacecraft.spacecraft.model.Spacecraft;
 import com.spacecraft.spacecraft.repository.CommandRepository;
 import com.spacecraft.spacecraft.repository.SpacecraftRepository;
@@ -26,11 +27,14 @@ public class CommandService {
     private final CommandRepository repo;
     private final SpacecraftRepository spacecraftRepo;
     private final ObjectMapper objectMapper;
+    private final CommandOutbox outbox;
 
-    public CommandService(CommandRepository repo, SpacecraftRepository spacecraftRepo, ObjectMapper objectMapper) {
+    public CommandService(CommandRepository repo, SpacecraftRepository spacecraftRepo, ObjectMapper objectMapper,
+                          CommandOutbox outbox) {
         this.repo = repo;
         this.spacecraftRepo = spacecraftRepo;
         this.objectMapper = objectMapper;
+        this.outbox = outbox;
     }
 
     @Transactional
@@ -70,7 +74,9 @@ public class CommandService {
             logger.info("Creating command for spacecraft {} with type {} and operator {}",
                     spacecraftId, commandRequest.getCommandType(), commandRequest.getOperatorId());
 
-            return repo.save(command);
+            Command saved = repo.save(command);
+            outbox.record(CommandEventType.CREATED, saved);
+            return saved;
 
         } catch (EntityNotFoundException e) {
             logger.error("Spacecraft not found: {}", e.getMessage());
@@ -152,7 +158,9 @@ public class CommandService {
             command.setCreatedAt(new Date());
 
             // Save the command
-            return repo.save(command);
+            Command saved = repo.save(command);
+            outbox.record(CommandEventType.CREATED, saved);
+            return saved;
 
         } catch (CommandCreationException e) {
             // Re-throw the specific exception
@@ -191,15 +199,16 @@ public class CommandService {
         existing.setStatus(dto.getStatus());
         existing.setExecutedAt(dto.getExecutedAt());
         // do not overwrite createdAt or spacecraftId
-        return repo.save(existing);
+        Command saved = repo.save(existing);
+        outbox.record(CommandEventType.UPDATED, saved);
+        return saved;
     }
 
     /** Delete a Command */
     public void delete(UUID id) {
-        if (!repo.existsById(id)) {
-            throw new EntityNotFoundException("Command not found: " + id);
-        }
-        repo.deleteById(id);
+        Command existing = findById(id);
+        outbox.record(CommandEventType.DELETED, existing);
+        repo.delete(existing);
     }
 
     public long countPending(UUID operatorId) {
@@ -230,7 +239,9 @@ public class CommandService {
         Command command = repo.findById(commandId).orElseThrow(() -> new EntityNotFoundException("Command not found: " + commandId));
         command.setStatus(true);
         command.setExecutedAt(new Date());
-        return repo.save(command);
+        Command saved = repo.save(command);
+        outbox.record(CommandEventType.EXECUTED, saved);
+        return saved;
 
     }
 
@@ -0,0 +1,96 @@
+package com.spacecraft.spacecraft.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import com.spacecraft.config.KafkaConfig;
+import com.spacecraft.spacecraft.model.CommandEventType;
+import com.spacecraft.spacecraft.model.CommandOutboxEvent;
+import com.spacecraft.spacecraft.repository.CommandOutboxRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class CommandOutboxRelayTest {
+
+    @Mock
+    private CommandOutboxRepository repo;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    private CommandOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new CommandOutboxRelay(repo, kafkaTemplate, new SimpleMeterRegistry(), 100, 200, 24);
+    }
+
+    @Test
+    void testSendsWholeBatchAndMarksOnlyRowsBeforeFirstFailure() {
+        // Given
+        CommandOutboxEvent first  = event("{\"a\":1}", CommandEventType.CREATED);
+        CommandOutboxEvent second = event("{\"a\":2}", CommandEventType.EXECUTED);
+        CommandOutboxEvent third  = event("{\"a\":3}", CommandEventType.UPDATED);
+        when(repo.findUnpublished(any())).thenReturn(List.of(first, second, third));
+        when(kafkaTemplate.send(KafkaConfig.TOPIC_COMMANDS, "1", "{\"a\":1}")).thenReturn(acknowledged());
+        when(kafkaTemplate.send(KafkaConfig.TOPIC_COMMANDS, "1", "{\"a\":2}"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        when(kafkaTemplate.send(KafkaConfig.TOPIC_COMMANDS, "1", "{\"a\":3}")).thenReturn(acknowledged());
+
+        // When
+        relay.publishPending();
+
+        // Then
+        assertNotNull(first.getPublishedAt());
+        assertNull(second.getPublishedAt());
+        assertNull(third.getPublishedAt());
+    }
+
+    @Test
+    void testWaitsOnceForUnacknowledgedSendsAndKeepsInterrupt() {
+        // Given: the second send is never acknowledged
+        CommandOutboxEvent first  = event("{\"a\":1}", CommandEventType.CREATED);
+        CommandOutboxEvent second = event("{\"a\":2}", CommandEventType.EXECUTED);
+        when(repo.findUnpublished(any())).thenReturn(List.of(first, second));
+        when(kafkaTemplate.send(KafkaConfig.TOPIC_COMMANDS, "1", "{\"a\":1}")).thenReturn(acknowledged());
+        when(kafkaTemplate.send(KafkaConfig.TOPIC_COMMANDS, "1", "{\"a\":2}")).thenReturn(new CompletableFuture<>());
+
+        // When
+        long start = System.nanoTime();
+        relay.publishPending();
+        long timedOutMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Thread.currentThread().interrupt();
+        relay.publishPending();
+        boolean interrupted = Thread.interrupted();
+
+        // Then
+        assertTrue(timedOutMs < 2_000);
+        assertTrue(interrupted);
+        assertNotNull(first.getPublishedAt());
+        assertNull(second.getPublishedAt());
+    }
+
+    private static CommandOutboxEvent event(String payload, CommandEventType type) {
+        return new CommandOutboxEvent(UUID.randomUUID(), "1", type, payload);
+    }
+
+    private static CompletableFuture<SendResult<String, String>> acknowledged() {
+        return CompletableFuture.completedFuture(null);
+    }
+}
@@ -0,0 +1,79 @@
+package com.spacecraft.spacecraft.service;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.spacecraft.dto.CommandRequest;
+import com.spacecraft.spacecraft.model.Command;
+import com.spacecraft.spacecraft.model.CommandEventType;
+import com.spacecraft.spacecraft.model.CommandOutboxEvent;
+import com.spacecraft.spacecraft.model.CommandType;
+import com.spacecraft.spacecraft.model.Spacecraft;
+import com.spacecraft.spacecraft.model.SpacecraftType;
+import com.spacecraft.spacecraft.repository.CommandOutboxRepository;
+import com.spacecraft.spacecraft.repository.SpacecraftRepository;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({CommandService.class, CommandOutbox.class, ObjectMapper.class})
+class CommandOutboxTest {
+
+    @Autowired
+    private CommandService commandService;
+
+    @Autowired
+    private SpacecraftRepository spacecraftRepository;
+
+    @Autowired
+    private CommandOutboxRepository outboxRepository;
+
+    private Spacecraft spacecraft;
+
+    @BeforeEach
+    void setUp() {
+        spacecraft = new Spacecraft();
+        spacecraft.setExternalId(25544L);
+        spacecraft.setExternalName("ISS");
+        spacecraft.setDisplayName("ISS");
+        spacecraft.setType(SpacecraftType.SATELLITE);
+        spacecraft.setEnterpriseId(UUID.randomUUID());
+        spacecraft.setMissionId(UUID.randomUUID());
+        spacecraft = spacecraftRepository.save(spacecraft);
+    }
+
+    @Test
+    void testCommandLifecycleWritesOrderedEvents() throws Exception {
+        // Given
+        CommandRequest request = new CommandRequest();
+        request.setSpacecraft(spacecraft.getId());
+        request.setCommandType(CommandType.ADJUST_TRAJECTORY);
+        request.setOperatorId(UUID.randomUUID());
+        request.setPayload(JsonNodeFactory.instance.objectNode().put("speed", 1.2));
+
+        // When
+        Command command = commandService.issueCommand(request);
+        commandService.execute(command.getId());
+        commandService.delete(command.getId());
+
+        // Then
+        List<CommandOutboxEvent> events = outboxRepository.findAll(Sort.by("id"));
+        assertEquals(List.of(CommandEventType.CREATED, CommandEventType.EXECUTED, CommandEventType.DELETED),
+                events.stream().map(CommandOutboxEvent::getEventType).toList());
+        assertTrue(events.stream().allMatch(e -> "25544".equals(e.getMessageKey())));
+        assertTrue(events.get(1).getPayload().contains("\"enterpriseId\":\"" + spacecraft.getEnterpriseId() + "\""));
+        assertNull(events.get(0).getPublishedAt());
+    }
+}
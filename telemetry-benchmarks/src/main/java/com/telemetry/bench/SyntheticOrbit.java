@@ -0,0 +1,88 @@
+// src/main/java/com/telemetry/bench/SyntheticOrbit.java
+package com.telemetry.bench;
+
+import com.telemetry.dto.TelemetryPosition;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic ISS-like ground track (51.64° inclination, ~420 km, 92.7 min
+ * period) so every benchmark run sees the same inputs.
+ */
+public final class SyntheticOrbit {
+
+    public static final long EXTERNAL_ID = 25544L;
+    public static final long EPOCH_MS = 1_700_000_000_000L;
+
+    private static final double INCLINATION = Math.toRadians(51.64);
+    private static final double PERIOD_S = 5_562.0;
+    private static final double EARTH_ROTATION = 7.2921159e-5; // rad/s
+
+    private SyntheticOrbit() {
+    }
+
+    /** {@code count} positions, {@code stepSeconds} apart, starting at {@link #EPOCH_MS}. */
+    public static List<TelemetryPosition> positions(int count, int stepSeconds) {
+        return positions(count, stepSeconds, 0);
+    }
+
+    /**
+     * {@code spacecraft} copies of the orbit spread evenly along it, two
+     * observations each, keyed by externalId from {@link #EXTERNAL_ID}.
+     */
+    public static Map<Long, List<TelemetryPosition>> constellation(int spacecraft) {
+        Map<Long, List<TelemetryPosition>> out = new LinkedHashMap<>();
+        for (int i = 0; i < spacecraft; i++) {
+            out.put(EXTERNAL_ID + i, positions(2, 1, PERIOD_S * i / spacecraft));
+        }
+        return out;
+    }
+
+    private static List<TelemetryPosition> positions(int count, int stepSeconds, double phaseSeconds) {
+        List<TelemetryPosition> out = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double t = (double) i * stepSeconds + phaseSeconds;
+            double u = 2 * Math.PI * t / PERIOD_S;
+            double lat = Math.toDegrees(Math.asin(Math.sin(INCLINATION) * Math.sin(u)));
+            double lon = Math.toDegrees(Math.atan2(Math.cos(INCLINATION) * Math.sin(u), Math.cos(u))
+                    - EARTH_ROTATION * t);
+            lon = ((lon + 540.0) % 360.0) - 180.0;
+            double alt = 420.0 + 2.0 * Math.sin(u);
+
+            out.add(new TelemetryPosition(
+                    (float) lat, (float) lon, (float) alt,
+                    (float) ((254.5 + 0.01 * i) % 360.0),
+                    (float) (-69.1 + 0.01 * i),
+                    (float) ((44.7 + 0.004 * i) % 360.0),
+                    (float) (-43.7 + 0.003 * i),
+                    new Timestamp(EPOCH_MS + (long) i * stepSeconds * 1000)
+            ));
+        }
+        return out;
+    }
+
+    /** The same positions as an N2YO {@code /positions} response body. */
+    public static String n2yoPayload(List<TelemetryPosition> positions) {
+        StringBuilder json = new StringBuilder(positions.size() * 200);
+        json.append("{\"info\":{\"satname\":\"SPACE STATION\",\"satid\":").append(EXTERNAL_ID)
+                .append(",\"transactionscount\":1},\"positions\":[");
+        for (int i = 0; i < positions.size(); i++) {
+            TelemetryPosition p = positions.get(i);
+            if (i > 0) json.append(',');
+            json.append("{\"satlatitude\":").append(p.getSatlatitude())
+                    .append(",\"satlongitude\":").append(p.getSatlongitude())
+                    .append(",\"sataltitude\":").append(p.getSataltitude())
+                    .append(",\"azimuth\":").append(p.getAzimuth())
+                    .append(",\"elevation\":").append(p.getElevation())
+                    .append(",\"ra\":").append(p.getRightAscension())
+                    .append(",\"dec\":").append(p.getDeclination())
+                    .append(",\"timestamp\":").append(p.getTimestamp().getTime() / 1000)
+                    .append(",\"eclipsed\":false}");
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,59 @@
+// src/main/java/com/telemetry/config/BlockingExecutorBenchmark.java
+package com.telemetry.config;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A poll cycle's worth of blocking calls (200 tasks of 50 ms each, standing
+ * in for N2YO round trips) on a fixed platform pool against virtual threads
+ * behind {@link BoundedExecutorService}, at the same and at a higher bound.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlockingExecutorBenchmark {
+
+    private static final int TASKS = 200;
+    private static final long BLOCK_MS = 50;
+
+    @Param({"platform-20", "virtual-20", "virtual-100"})
+    private String executor;
+
+    private ExecutorService workers;
+
+    @Setup
+    public void setUp() {
+        int bound = Integer.parseInt(executor.substring(executor.indexOf('-') + 1));
+        workers = executor.startsWith("platform")
+                ? Executors.newFixedThreadPool(bound)
+                : new BoundedExecutorService(Executors.newVirtualThreadPerTaskExecutor(), bound);
+    }
+
+    @TearDown
+    public void tearDown() {
+        workers.shutdownNow();
+    }
+
+    @Benchmark
+    public void blockingCycle() {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            calls[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    Thread.sleep(BLOCK_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, workers);
+        }
+        CompletableFuture.allOf(calls).join();
+    }
+}
@@ -0,0 +1,81 @@
+// src/main/java/com/telemetry/kafka/MessageFormattingBenchmark.java
+package com.telemetry.kafka;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telemetry.bench.SyntheticOrbit;
+import com.telemetry.dto.BinaryTelemetryFrame;
+import com.telemetry.dto.OrbitSeries;
+import com.telemetry.dto.TelemetryFrame;
+import com.telemetry.dto.TelemetryResponse;
+import com.telemetry.model.TrajectoryData;
+import com.telemetry.service.Fixtures;
+import com.telemetry.service.PredictionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-spacecraft part of the telemetry frame: building and serializing
+ * it once as JSON or in the binary layout, as {@link TelemetryKafkaProducer}
+ * does, against the former Kafka-to-WebSocket path that parsed the bytes
+ * back into a Map and wrote them out again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageFormattingBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP = new TypeReference<>() {};
+
+    private TelemetryKafkaProducer producer;
+    private ObjectMapper objectMapper;
+    private TrajectoryData latest;
+    private OrbitSeries shortTerm;
+    private OrbitSeries fullOrbit;
+    private byte[] frame;
+
+    @Setup
+    public void setUp() throws Exception {
+        producer = new TelemetryKafkaProducer();
+        objectMapper = JacksonUtils.enhancedObjectMapper();
+
+        TelemetryResponse resp = new TelemetryResponse(SyntheticOrbit.positions(2, 1), null);
+        latest = Fixtures.telemetryService()
+                .toTrajectoryEntities(SyntheticOrbit.EXTERNAL_ID, resp).get(1);
+
+        PredictionService predictionService = Fixtures.predictionService();
+        shortTerm = new OrbitSeries(61, false);
+        fullOrbit = new OrbitSeries(121, true);
+        predictionService.propagate(resp.getPositions(), 60, 60, 120, null, null, shortTerm, fullOrbit);
+
+        frame = encodeSpacecraft();
+    }
+
+    /** Producer side: typed frame straight to bytes. */
+    @Benchmark
+    public byte[] encodeSpacecraft() throws Exception {
+        return objectMapper.writeValueAsBytes(new TelemetryFrame.Spacecraft(
+                producer.formatTrajectoryData(latest), shortTerm, fullOrbit));
+    }
+
+    /** The same spacecraft as a one-spacecraft binary keyframe. */
+    @Benchmark
+    public byte[] encodeSpacecraftBinary() {
+        return BinaryTelemetryFrame.encode(new TelemetryFrame("operator", 1L, Map.of(
+                Long.toString(SyntheticOrbit.EXTERNAL_ID),
+                new TelemetryFrame.Spacecraft(producer.formatTrajectoryData(latest), shortTerm, fullOrbit))));
+    }
+
+    /** What the consumer no longer does per frame: bytes to Map and back to JSON. */
+    @Benchmark
+    public String reparseSpacecraft() throws Exception {
+        Map<String, Object> tree = objectMapper.readValue(frame, MAP);
+        return objectMapper.writeValueAsString(tree);
+    }
+}
@@ -0,0 +1,180 @@
+// src/main/java/com/telemetry/kafka/ProducerProfileBenchmark.java
+package com.telemetry.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telemetry.bench.SyntheticOrbit;
+import com.telemetry.config.KafkaConfig;
+import com.telemetry.dto.BinaryTelemetryFrame;
+import com.telemetry.dto.OrbitSeries;
+import com.telemetry.dto.TelemetryDelta;
+import com.telemetry.dto.TelemetryFrame;
+import com.telemetry.dto.TelemetryPosition;
+import com.telemetry.dto.TelemetryResponse;
+import com.telemetry.model.TrajectoryData;
+import com.telemetry.service.Fixtures;
+import com.telemetry.service.PredictionService;
+import com.telemetry.service.TelemetryService;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.JacksonUtils;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publish ticks of 12 operators whose sessions all negotiated one wire
+ * format, sent to an embedded single-broker Kafka and flushed, under the
+ * producer defaults and under {@link KafkaConfig#producerProfile} with lz4
+ * and zstd. As {@link TelemetryKafkaProducer} publishes them, a tick is one
+ * delta per operator, carrying the spacecraft that changed, and every
+ * {@link #KEYFRAME_INTERVAL} deltas a keyframe instead. Besides ticks per
+ * second it reports {@code payloadBytes} (frames as serialized) and
+ * {@code wireBytes} (what the producer sent to the broker) per second;
+ * their ratio is the saving on the wire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProducerProfileBenchmark {
+
+    private static final int OPERATORS = 12;
+    /** The default telemetry.websocket.delta.keyframe-interval. */
+    private static final int KEYFRAME_INTERVAL = 12;
+
+    /** default: linger 0, 16 KiB batches, no compression; the others are the tuned profile. */
+    @Param({"default", "lz4", "zstd"})
+    private String profile;
+
+    /** Spacecraft per operator; past about 40 a JSON keyframe no longer fits the default request size. */
+    @Param({"20"})
+    private int spacecraft;
+
+    /** Spacecraft per operator with a new observation, and so new predictions, in a delta. */
+    @Param({"5"})
+    private int changed;
+
+    @Param({"json", "binary"})
+    private String format;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private DefaultKafkaProducerFactory<String, byte[]> producerFactory;
+    private KafkaTemplate<String, byte[]> template;
+    private Metric outgoingBytes;
+    private final List<ProducerRecord<String, byte[]>> keyframes = new ArrayList<>();
+    private final List<ProducerRecord<String, byte[]>> deltas = new ArrayList<>();
+    private long keyframeBytes;
+    private long deltaBytes;
+    private int ticks;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Bytes {
+        public long payloadBytes;
+        public long wireBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            payloadBytes = 0;
+            wireBytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        broker = new EmbeddedKafkaKraftBroker(1, OPERATORS, KafkaConfig.TOPIC_TELEMETRY);
+        broker.afterPropertiesSet();
+
+        Map<String, Object> props = profile.equals("default")
+                ? KafkaConfig.producerProfile(0, 16384, "none", "all", true, 1048576)
+                : KafkaConfig.producerProfile(20, 262144, profile, "all", true, 4194304);
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        producerFactory = new DefaultKafkaProducerFactory<>(props);
+        template = new KafkaTemplate<>(producerFactory);
+
+        ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+        Map<Long, List<TelemetryPosition>> constellation = SyntheticOrbit.constellation(OPERATORS * spacecraft);
+        List<Long> ids = new ArrayList<>(constellation.keySet());
+        boolean binary = format.equals("binary");
+        for (int op = 0; op < OPERATORS; op++) {
+            TelemetryFrame frame = frame(ids.subList(op * spacecraft, (op + 1) * spacecraft), constellation);
+            TelemetryDelta delta = delta(frame, changed);
+            String key = UUID.nameUUIDFromBytes(new byte[]{(byte) op}).toString();
+            byte[] keyframe = binary ? BinaryTelemetryFrame.encode(frame) : objectMapper.writeValueAsBytes(frame);
+            byte[] changes = binary ? BinaryTelemetryFrame.encode(delta) : objectMapper.writeValueAsBytes(delta);
+            keyframes.add(new ProducerRecord<>(KafkaConfig.TOPIC_TELEMETRY, key, keyframe));
+            deltas.add(new ProducerRecord<>(KafkaConfig.TOPIC_TELEMETRY, key, changes));
+            keyframeBytes += keyframe.length;
+            deltaBytes += changes.length;
+        }
+
+        // the client's count of bytes written to the broker
+        template.send(keyframes.get(0)).get();
+        outgoingBytes = template.metrics().entrySet().stream()
+                .filter(e -> e.getKey().name().equals("outgoing-byte-total")
+                        && e.getKey().group().equals("producer-metrics"))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        producerFactory.destroy();
+        broker.destroy();
+    }
+
+    @Benchmark
+    public void publishTick(Bytes bytes) {
+        boolean keyframe = ticks++ % (KEYFRAME_INTERVAL + 1) == 0;
+        double before = (double) outgoingBytes.metricValue();
+        for (ProducerRecord<String, byte[]> record : keyframe ? keyframes : deltas) {
+            template.send(record);
+        }
+        template.flush();
+        bytes.payloadBytes += keyframe ? keyframeBytes : deltaBytes;
+        bytes.wireBytes += (long) ((double) outgoingBytes.metricValue() - before);
+    }
+
+    /** The next frame's delta when the first {@code changed} spacecraft got a new observation. */
+    private static TelemetryDelta delta(TelemetryFrame frame, int changed) {
+        Map<String, TelemetryFrame.Spacecraft> crafts = new LinkedHashMap<>();
+        frame.telemetry().entrySet().stream().limit(changed).forEach(e -> crafts.put(e.getKey(), e.getValue()));
+        return new TelemetryDelta(frame.operatorId(), frame.seq() + 1, frame.seq(), crafts, List.of());
+    }
+
+    /** One operator's keyframe with every field, as {@link TelemetryKafkaProducer} builds it. */
+    private static TelemetryFrame frame(List<Long> ids, Map<Long, List<TelemetryPosition>> constellation) {
+        TelemetryKafkaProducer producer = new TelemetryKafkaProducer();
+        PredictionService predictionService = Fixtures.predictionService();
+        TelemetryService telemetryService = Fixtures.telemetryService();
+
+        Map<String, TelemetryFrame.Spacecraft> crafts = new LinkedHashMap<>();
+        for (Long id : ids) {
+            List<TelemetryPosition> positions = constellation.get(id);
+            TrajectoryData latest = telemetryService
+                    .toTrajectoryEntities(id, new TelemetryResponse(positions, null)).get(1);
+            OrbitSeries shortTerm = new OrbitSeries(61, false);
+            OrbitSeries fullOrbit = new OrbitSeries(121, true);
+            predictionService.propagate(positions, 60, 60, 120, null, null, shortTerm, fullOrbit);
+            crafts.put(Long.toString(id),
+                    new TelemetryFrame.Spacecraft(producer.formatTrajectoryData(latest), shortTerm, fullOrbit));
+        }
+        return new TelemetryFrame("operator", 1L, crafts);
+    }
+}
@@ -0,0 +1,71 @@
+// src/main/java/com/telemetry/service/BatchPredictionBenchmark.java
+package com.telemetry.service;
+
+import com.telemetry.bench.SyntheticOrbit;
+import com.telemetry.dto.OrbitSeries;
+import com.telemetry.dto.TelemetryPosition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One publisher tick for an operator with many spacecraft: the batch
+ * propagator (scalar and Vector API kernels) against propagating each
+ * spacecraft on its own. Fits are cached in both, as between polls.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class BatchPredictionBenchmark {
+
+    @Param({"500"})
+    private int spacecraft;
+
+    private PredictionService predictionService;
+    private Map<Long, List<TelemetryPosition>> observations;
+    private OrbitSeries shortTerm;
+    private OrbitSeries fullOrbit;
+
+    @State(Scope.Thread)
+    public static class Batch {
+
+        @Param({"false", "true"})
+        private boolean vectorApi;
+
+        private BatchOrbitPropagator propagator;
+        private OrbitBatch batch;
+
+        @Setup
+        public void setUp(BatchPredictionBenchmark bench) {
+            propagator = new BatchOrbitPropagator(bench.predictionService, vectorApi);
+            batch = new OrbitBatch();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        predictionService = Fixtures.predictionService();
+        observations = SyntheticOrbit.constellation(spacecraft);
+        shortTerm = new OrbitSeries(61, false);
+        fullOrbit = new OrbitSeries(121, true);
+    }
+
+    @Benchmark
+    public OrbitBatch batch(Batch state) {
+        state.propagator.propagate(observations, null, 60, 60, 120, state.batch);
+        return state.batch;
+    }
+
+    @Benchmark
+    public OrbitSeries perSpacecraft() {
+        for (Map.Entry<Long, List<TelemetryPosition>> entry : observations.entrySet()) {
+            predictionService.propagate(entry.getValue(), 60, 60, 120, entry.getKey(), null, shortTerm, fullOrbit);
+        }
+        return fullOrbit;
+    }
+}
@@ -0,0 +1,42 @@
+// src/main/java/com/telemetry/service/DownsampleBenchmark.java
+package com.telemetry.service;
+
+import com.telemetry.bench.SyntheticOrbit;
+import com.telemetry.dto.TelemetryResponse;
+import com.telemetry.model.TrajectoryData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thinning a stored trajectory for the visualization history endpoint,
+ * with {@code maxPoints=500}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DownsampleBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private TelemetryVisualizationService service;
+    private List<TrajectoryData> trajectory;
+
+    @Setup
+    public void setUp() {
+        service = new TelemetryVisualizationService(null, null, null);
+        TelemetryResponse resp = new TelemetryResponse(SyntheticOrbit.positions(size, 1), null);
+        trajectory = Fixtures.telemetryService()
+                .toTrajectoryEntities(SyntheticOrbit.EXTERNAL_ID, resp);
+    }
+
+    @Benchmark
+    public List<TrajectoryData> downsample() {
+        return service.downsample(trajectory, 500);
+    }
+}
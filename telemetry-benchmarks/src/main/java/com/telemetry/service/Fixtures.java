@@ -0,0 +1,32 @@
+// src/main/java/com/telemetry/service/Fixtures.java
+package com.telemetry.service;
+
+import java.lang.reflect.Field;
+
+/** Services wired by hand, without a Spring context. */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /**
+     * A PredictionService whose command cache has no client: predictions
+     * made without a spacecraft id never consult it.
+     */
+    public static PredictionService predictionService() {
+        try {
+            PredictionService service = new PredictionService();
+            Field cache = PredictionService.class.getDeclaredField("commandCache");
+            cache.setAccessible(true);
+            cache.set(service, new CommandAdjustmentCache(null, null, 0));
+            return service;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** A TelemetryService for parsing and entity conversion only. */
+    public static TelemetryService telemetryService() {
+        return new TelemetryService(null, null, null, null, null);
+    }
+}
@@ -0,0 +1,84 @@
+// src/main/java/com/telemetry/service/PredictionBenchmark.java
+package com.telemetry.service;
+
+import com.telemetry.bench.SyntheticOrbit;
+import com.telemetry.dto.OrbitSeries;
+import com.telemetry.dto.PredictiveOrbitPoint;
+import com.telemetry.dto.TelemetryPosition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orbit prediction from two fixed observations. No spacecraft id is passed,
+ * so every call refits the elements, as an uncached prediction does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PredictionBenchmark {
+
+    private static final int ANOMALIES = 1024;
+
+    private PredictionService service;
+    private List<TelemetryPosition> positions;
+    private OrbitSeries shortTerm;
+    private OrbitSeries fullOrbit;
+    private double[] r;
+    private double[] v;
+    private double[] meanAnomalies;
+
+    @Setup
+    public void setUp() {
+        service = Fixtures.predictionService();
+
+        positions = SyntheticOrbit.positions(2, 1);
+        shortTerm = new OrbitSeries(61, false);
+        fullOrbit = new OrbitSeries(121, true);
+
+        // ~420 km, 51.6° inclination, slightly eccentric
+        r = new double[]{6_798.0, 0.0, 0.0};
+        v = new double[]{0.0, 4.77, 6.02};
+
+        meanAnomalies = new double[ANOMALIES];
+        for (int i = 0; i < ANOMALIES; i++) {
+            meanAnomalies[i] = 2 * Math.PI * i / ANOMALIES;
+        }
+    }
+
+    @Benchmark
+    public List<PredictiveOrbitPoint> predictFullOrbit() {
+        return service.predictFullOrbit(positions, 120);
+    }
+
+    @Benchmark
+    public List<PredictiveOrbitPoint> predictOrbit() {
+        return service.predictOrbit(positions, 60, 60);
+    }
+
+    /** Both series into reused buffers, as the Kafka publisher does. */
+    @Benchmark
+    public OrbitSeries propagateIntoBuffers() {
+        service.propagate(positions, 60, 60, 120, null, null, shortTerm, fullOrbit);
+        return fullOrbit;
+    }
+
+    @Benchmark
+    public double[] calculateOrbitalElements() {
+        return service.calculateOrbitalElements(r, v);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ANOMALIES)
+    public double solveKepler() {
+        double sum = 0;
+        for (double m : meanAnomalies) {
+            sum += service.solveKepler(m, 0.1);
+        }
+        return sum;
+    }
+}
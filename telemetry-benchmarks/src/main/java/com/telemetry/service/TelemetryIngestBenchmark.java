@@ -0,0 +1,44 @@
+// src/main/java/com/telemetry/service/TelemetryIngestBenchmark.java
+package com.telemetry.service;
+
+import com.telemetry.bench.SyntheticOrbit;
+import com.telemetry.dto.TelemetryResponse;
+import com.telemetry.model.TrajectoryData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One N2YO poll: parsing a 300-position response and turning it into
+ * trajectory entities.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TelemetryIngestBenchmark {
+
+    private TelemetryService service;
+    private String payload;
+    private TelemetryResponse response;
+
+    @Setup
+    public void setUp() throws Exception {
+        service = Fixtures.telemetryService();
+        payload = SyntheticOrbit.n2yoPayload(SyntheticOrbit.positions(300, 1));
+        response = service.parseTelemetryResponse(payload);
+    }
+
+    @Benchmark
+    public TelemetryResponse parseTelemetryResponse() throws Exception {
+        return service.parseTelemetryResponse(payload);
+    }
+
+    @Benchmark
+    public List<TrajectoryData> toTrajectoryEntities() {
+        return service.toTrajectoryEntities(SyntheticOrbit.EXTERNAL_ID, response);
+    }
+}
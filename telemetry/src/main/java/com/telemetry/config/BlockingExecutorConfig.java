@@ -0,0 +1,55 @@
+// src/main/java/com/telemetry/config/BlockingExecutorConfig.java
+package com.telemetry.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Executors for the service's two kinds of blocking work, each sized for what
+ * it waits on:
+ * <ul>
+ *   <li>{@code pollExecutor}: N2YO fetches, at most as many in flight as the
+ *       provider quota lets start at once (telemetry.poll.concurrency);</li>
+ *   <li>{@code commandExecutor}: Feign reloads of command adjustments from
+ *       the spacecraft service (telemetry.commands.reload-concurrency).</li>
+ * </ul>
+ * With spring.threads.virtual.enabled=true each runs one virtual thread per
+ * task behind that limit; otherwise it is a fixed pool of that many threads.
+ */
+@Configuration
+public class BlockingExecutorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockingExecutorConfig.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService pollExecutor(
+            @Value("${telemetry.poll.concurrency:${n2yo.api.quota.burst:20}}") int concurrency) {
+        return executor("poll", concurrency);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService commandExecutor(
+            @Value("${telemetry.commands.reload-concurrency:4}") int concurrency) {
+        return executor("command", concurrency);
+    }
+
+    private ExecutorService executor(String name, int concurrency) {
+        if (virtualThreads) {
+            log.info("{} executor: virtual threads, max concurrency {}", name, concurrency);
+            return new BoundedExecutorService(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-vt-", 0).factory()),
+                    concurrency);
+        }
+        log.info("{} executor: {} platform threads", name, concurrency);
+        return Executors.newFixedThreadPool(concurrency, Thread.ofPlatform().name(name + "-", 0).factory());
+    }
+}
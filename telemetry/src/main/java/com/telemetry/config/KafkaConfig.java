@@ -5,6 +5,8 @@ import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,6 +15,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
@@ -29,15 +32,81 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    /** Partitions of the operator-keyed topics; see {@link OperatorPartitions}. */
+    @Value("${telemetry.kafka.partitions:12}")
+    private int partitions;
+
+    /** Producer batching, compression and delivery; see {@link #producerProfile}. */
+    @Value("${telemetry.kafka.producer.linger-ms:20}")
+    private int lingerMs;
+
+    @Value("${telemetry.kafka.producer.batch-size:262144}")
+    private int batchSize;
+
+    @Value("${telemetry.kafka.producer.compression-type:zstd}")
+    private String compressionType;
+
+    @Value("${telemetry.kafka.producer.acks:all}")
+    private String acks;
+
+    @Value("${telemetry.kafka.producer.idempotence:true}")
+    private boolean idempotence;
+
+    @Value("${telemetry.kafka.producer.max-request-size:4194304}")
+    private int maxRequestSize;
+
+    /** Consumers per batch listener; 0 means one per partition this replica owns. */
+    @Value("${telemetry.kafka.consumer.concurrency:0}")
+    private int consumerConcurrency;
+
+    @Value("${telemetry.kafka.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
     public static final String TOPIC_TELEMETRY       = "spacecraft-telemetry";
     public static final String TOPIC_PREDICTIONS     = "trajectory-predictions";
     public static final String TOPIC_TELEMETRY_ALERT = "spacecraft-alerts";
+    /** Command lifecycle events published by the spacecraft service, keyed by externalId. */
+    public static final String TOPIC_COMMANDS        = "spacecraft-commands";
+
+    /** Telemetry frame headers: keyframe or delta, wire format, sequence number, and a delta's base. */
+    public static final String HEADER_FRAME_TYPE     = "frame-type";
+    public static final String HEADER_FRAME_FORMAT   = "frame-format";
+    public static final String HEADER_FRAME_SEQ      = "frame-seq";
+    public static final String HEADER_FRAME_BASE_SEQ = "frame-base-seq";
+    public static final String FRAME_KEYFRAME        = "keyframe";
+    public static final String FRAME_DELTA           = "delta";
 
     // ─── PRODUCER ─────────────────────────────────────────────────────────────
-    @Bean
-    public ProducerFactory<String, Object> producerFactory() {
+
+    /**
+     * Batching, compression and delivery settings shared by every producer.
+     * Frames of one operator are large and alike, so waiting {@code lingerMs}
+     * to fill a batch lets the compressor work across several of them;
+     * idempotence keeps retries from duplicating or reordering a frame and
+     * its delta. The request size limit applies before compression, and a
+     * JSON keyframe of a few dozen spacecraft is already over the 1 MiB default.
+     */
+    public static Map<String, Object> producerProfile(int lingerMs, int batchSize, String compressionType,
+                                                      String acks, boolean idempotence, int maxRequestSize) {
         Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        props.put(ProducerConfig.ACKS_CONFIG, acks);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, idempotence);
+        props.put(ProducerConfig.MAX_REQUEST_SIZE_CONFIG, maxRequestSize);
+        return props;
+    }
+
+    private Map<String, Object> producerProps() {
+        Map<String, Object> props = producerProfile(lingerMs, batchSize, compressionType, acks, idempotence, maxRequestSize);
         props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        return props;
+    }
+
+    @Bean
+    public ProducerFactory<String, Object> producerFactory() {
+        Map<String, Object> props = producerProps();
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG,   StringSerializer.class);
         props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         return new DefaultKafkaProducerFactory<>(props);
@@ -48,6 +117,20 @@ public class KafkaConfig {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    /** Already-serialized telemetry frames, sent as they are. */
+    @Bean
+    public ProducerFactory<String, byte[]> frameProducerFactory() {
+        Map<String, Object> props = producerProps();
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG,   StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return new DefaultKafkaProducerFactory<>(props);
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> frameKafkaTemplate() {
+        return new KafkaTemplate<>(frameProducerFactory());
+    }
+
     // ─── CONSUMER ─────────────────────────────────────────────────────────────
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
@@ -60,6 +143,8 @@ public class KafkaConfig {
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG,            groupId);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,   StringDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG,  false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG,    maxPollRecords);
 
         return new DefaultKafkaConsumerFactory<>(
                 props,
@@ -78,6 +163,58 @@ public class KafkaConfig {
         return factory;
     }
 
+    /** Raw frame bytes for listeners that forward them without parsing. */
+    @Bean
+    public ConsumerFactory<String, byte[]> frameConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG,            groupId);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG,  false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG,    maxPollRecords);
+
+        return new DefaultKafkaConsumerFactory<>(
+                props,
+                new StringDeserializer(),
+                new ByteArrayDeserializer()
+        );
+    }
+
+    /** Telemetry frames a poll at a time; see {@link #batchListener}. */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]>
+    frameListenerContainerFactory(OperatorPartitions operatorPartitions) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(frameConsumerFactory());
+        batchListener(factory, operatorPartitions);
+        return factory;
+    }
+
+    /** Alerts a poll at a time, as JSON maps. */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object>
+    alertListenerContainerFactory(OperatorPartitions operatorPartitions) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        batchListener(factory, operatorPartitions);
+        return factory;
+    }
+
+    /**
+     * Hand the listener each poll as a list, and commit its offsets only
+     * once the listener acknowledges it, after dispatching. The owned
+     * partitions are split across the consumers; more consumers than
+     * partitions would sit idle.
+     */
+    private void batchListener(ConcurrentKafkaListenerContainerFactory<String, ?> factory,
+                               OperatorPartitions operatorPartitions) {
+        int owned = operatorPartitions.ownedPartitions().size();
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setConcurrency(consumerConcurrency > 0 ? Math.min(consumerConcurrency, owned) : owned);
+    }
+
     // ─── TOPIC AUTO-CREATION ─────────────────────────────────────────────────
     @Bean
     public KafkaAdmin kafkaAdmin() {
@@ -88,16 +225,16 @@ public class KafkaConfig {
 
     @Bean
     public NewTopic telemetryTopic() {
-        return new NewTopic(TOPIC_TELEMETRY, 1, (short) 1);
+        return new NewTopic(TOPIC_TELEMETRY, partitions, (short) 1);
     }
 
     @Bean
     public NewTopic predictionsTopic() {
-        return new NewTopic(TOPIC_PREDICTIONS, 1, (short) 1);
+        return new NewTopic(TOPIC_PREDICTIONS, partitions, (short) 1);
     }
 
     @Bean
     public NewTopic alertsTopic() {
-        return new NewTopic(TOPIC_TELEMETRY_ALERT, 1, (short) 1);
+        return new NewTopic(TOPIC_TELEMETRY_ALERT, partitions, (short) 1);
     }
 }
@@ -0,0 +1,81 @@
+// src/main/java/com/telemetry/config/OperatorPartitions.java
+package com.telemetry.config;
+
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * How operators map to partitions of the operator-keyed topics, and which
+ * of those partitions this replica consumes. Records are keyed by
+ * operatorId, so Kafka's default partitioner puts an operator on
+ * {@code murmur2(key) % partitions}; replica {@code i} of {@code n} owns the
+ * partitions {@code p % n == i} and serves those operators' WebSockets.
+ * The gateway routes /ws/telemetry with the same arithmetic.
+ */
+@Component
+public class OperatorPartitions {
+
+    private final int partitions;
+    private final int replicaIndex;
+    private final int replicaCount;
+
+    public OperatorPartitions(
+            @Value("${telemetry.kafka.partitions:12}") int partitions,
+            @Value("${telemetry.websocket.replica.index:0}") int replicaIndex,
+            @Value("${telemetry.websocket.replica.count:1}") int replicaCount
+    ) {
+        if (partitions < 1 || replicaCount < 1 || replicaCount > partitions) {
+            throw new IllegalStateException("telemetry.websocket.replica.count must be between 1 and "
+                    + "telemetry.kafka.partitions (" + partitions + "), was " + replicaCount);
+        }
+        if (replicaIndex < 0 || replicaIndex >= replicaCount) {
+            throw new IllegalStateException("telemetry.websocket.replica.index must be below "
+                    + replicaCount + ", was " + replicaIndex);
+        }
+        this.partitions   = partitions;
+        this.replicaIndex = replicaIndex;
+        this.replicaCount = replicaCount;
+    }
+
+    public int partitions() {
+        return partitions;
+    }
+
+    /** The partition Kafka's default partitioner picks for the operator's records. */
+    public int partitionOf(UUID operatorId) {
+        byte[] key = operatorId.toString().getBytes(StandardCharsets.UTF_8);
+        return Utils.toPositive(Utils.murmur2(key)) % partitions;
+    }
+
+    /** The replica that consumes the operator's partition. */
+    public int replicaOf(UUID operatorId) {
+        return partitionOf(operatorId) % replicaCount;
+    }
+
+    public boolean owns(UUID operatorId) {
+        return replicaOf(operatorId) == replicaIndex;
+    }
+
+    public int replicaIndex() {
+        return replicaIndex;
+    }
+
+    public int replicaCount() {
+        return replicaCount;
+    }
+
+    /** Partitions this replica's listeners are assigned. */
+    public List<Integer> ownedPartitions() {
+        List<Integer> owned = new ArrayList<>();
+        for (int p = replicaIndex; p < partitions; p += replicaCount) {
+            owned.add(p);
+        }
+        return owned;
+    }
+}
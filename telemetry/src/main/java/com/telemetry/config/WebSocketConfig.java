@@ -1,24 +1,77 @@
 package com.telemetry.config;
 
 import com.telemetry.websocket.TelemetryWebSocketHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+import java.util.UUID;
 
 @Configuration
 @EnableWebSocket
 public class WebSocketConfig implements WebSocketConfigurer {
+    private static final Logger log = LoggerFactory.getLogger(WebSocketConfig.class);
+
+    /** Misdirected Request: the operator's telemetry is consumed by another replica. */
+    private static final HttpStatusCode MISDIRECTED = HttpStatusCode.valueOf(421);
+
     private final TelemetryWebSocketHandler telemetryHandler;
+    private final OperatorPartitions operatorPartitions;
 
-    public WebSocketConfig(TelemetryWebSocketHandler telemetryHandler) {
+    public WebSocketConfig(TelemetryWebSocketHandler telemetryHandler, OperatorPartitions operatorPartitions) {
         this.telemetryHandler = telemetryHandler;
+        this.operatorPartitions = operatorPartitions;
     }
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         registry
                 .addHandler(telemetryHandler, "/ws/telemetry")
+                .addInterceptors(new OperatorAffinityInterceptor())
                 .setAllowedOrigins("*");
     }
+
+    /**
+     * Turns away handshakes for operators another replica owns; the gateway
+     * should never send them here, and this replica gets none of their frames.
+     */
+    private class OperatorAffinityInterceptor implements HandshakeInterceptor {
+
+        @Override
+        public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                       WebSocketHandler wsHandler, Map<String, Object> attributes) {
+            MultiValueMap<String, String> query = UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams();
+            String id = query.getFirst("operatorId");
+            if (id == null) id = query.getFirst("enterpriseId");
+            UUID operatorId;
+            try {
+                operatorId = id != null ? UUID.fromString(id) : null;
+            } catch (IllegalArgumentException e) {
+                operatorId = null;
+            }
+            // a missing or malformed id is the handler's to reject
+            if (operatorId == null || operatorPartitions.owns(operatorId)) return true;
+
+            log.warn("WS handshake for operator {} reached replica {}, owner is replica {}",
+                    operatorId, operatorPartitions.replicaIndex(), operatorPartitions.replicaOf(operatorId));
+            response.setStatusCode(MISDIRECTED);
+            return false;
+        }
+
+        @Override
+        public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Exception exception) {
+        }
+    }
 }
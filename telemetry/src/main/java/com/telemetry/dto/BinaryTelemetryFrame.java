@@ -0,0 +1,224 @@
+// src/main/java/com/telemetry/dto/BinaryTelemetryFrame.java
+package com.telemetry.dto;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of {@link TelemetryFrame} and {@link TelemetryDelta}
+ * for WebSocket sessions that negotiate {@code ?format=binary}. Prediction
+ * series are packed float columns instead of one JSON object per point.
+ * The browser decoder is mission-control-frontend/src/lib/api/telemetryFrames.ts.
+ *
+ * <pre>
+ * All numbers little-endian.
+ *
+ * frame     u8  version (1)
+ *           u8  kind: 1 keyframe, 2 delta
+ *           u16 reserved (0)
+ *           i64 seq
+ *           i64 baseSeq (-1 in a keyframe)
+ *           u16 operatorId length, then that many UTF-8 bytes
+ *           u32 spacecraft count, then each spacecraft
+ *           u32 removed count, then that many i64 externalIds
+ *
+ * spacecraft i64 externalId
+ *           u8  parts: 1 telemetry, 2 shortPredictions, 4 fullOrbitPredictions, 8 geo
+ *           telemetry, if present:
+ *             i64 timestamp (epoch ms)
+ *             f32 position x, y, z
+ *             f32 velocity x, y, z, magnitude
+ *             f32 acceleration, orbitRadius
+ *             f32 geo latitude, longitude, altitude (only with the geo bit)
+ *           shortPredictions, then fullOrbitPredictions, each if present as a series
+ *
+ * series    u32 n
+ *           i64 t0 (epoch ms)
+ *           i32[n] timestamp - t0 (ms)
+ *           f32[n] latitude, f32[n] longitude, f32[n] altitude
+ * </pre>
+ */
+public final class BinaryTelemetryFrame {
+
+    public static final int VERSION = 1;
+    public static final int KIND_KEYFRAME = 1;
+    public static final int KIND_DELTA = 2;
+
+    static final int PART_TELEMETRY = 1;
+    static final int PART_SHORT = 2;
+    static final int PART_FULL = 4;
+    static final int PART_GEO = 8;
+
+    private static final int HEADER = 1 + 1 + 2 + 8 + 8 + 2 + 4 + 4;
+    private static final int TELEMETRY = 8 + 9 * 4;
+    private static final int GEO = 3 * 4;
+
+    private BinaryTelemetryFrame() {
+    }
+
+    public static byte[] encode(TelemetryFrame frame) {
+        return encode(KIND_KEYFRAME, frame.seq(), -1, frame.operatorId(), frame.telemetry(), List.of());
+    }
+
+    public static byte[] encode(TelemetryDelta delta) {
+        return encode(KIND_DELTA, delta.seq(), delta.baseSeq(), delta.operatorId(),
+                delta.telemetry(), delta.removed());
+    }
+
+    private static byte[] encode(int kind, long seq, long baseSeq, String operatorId,
+                                 Map<String, TelemetryFrame.Spacecraft> spacecraft, List<String> removed) {
+        byte[] operator = operatorId.getBytes(StandardCharsets.UTF_8);
+
+        // size everything first so the frame is written into one exact array
+        int size = HEADER + operator.length + 8 * removed.size();
+        for (TelemetryFrame.Spacecraft craft : spacecraft.values()) {
+            size += 8 + 1;
+            if (craft.telemetry() != null) {
+                size += TELEMETRY + (craft.telemetry().geo() != null ? GEO : 0);
+            }
+            size += seriesSize(craft.shortPredictions()) + seriesSize(craft.fullOrbitPredictions());
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buf.put((byte) VERSION).put((byte) kind).putShort((short) 0);
+        buf.putLong(seq).putLong(baseSeq);
+        buf.putShort((short) operator.length).put(operator);
+
+        buf.putInt(spacecraft.size());
+        for (Map.Entry<String, TelemetryFrame.Spacecraft> e : spacecraft.entrySet()) {
+            TelemetryFrame.Spacecraft craft = e.getValue();
+            TelemetryFrame.Snapshot t = craft.telemetry();
+            int parts = (t != null ? PART_TELEMETRY : 0)
+                    | (craft.shortPredictions() != null ? PART_SHORT : 0)
+                    | (craft.fullOrbitPredictions() != null ? PART_FULL : 0)
+                    | (t != null && t.geo() != null ? PART_GEO : 0);
+
+            buf.putLong(Long.parseLong(e.getKey()));
+            buf.put((byte) parts);
+            if (t != null) {
+                buf.putLong(t.timestamp());
+                buf.putFloat(t.position().x()).putFloat(t.position().y()).putFloat(t.position().z());
+                buf.putFloat(t.velocity().x()).putFloat(t.velocity().y()).putFloat(t.velocity().z())
+                        .putFloat(t.velocity().magnitude());
+                buf.putFloat(t.acceleration()).putFloat(t.orbitRadius());
+                if (t.geo() != null) {
+                    buf.putFloat(orNaN(t.geo().latitude())).putFloat(orNaN(t.geo().longitude()))
+                            .putFloat(orNaN(t.geo().altitude()));
+                }
+            }
+            putSeries(buf, craft.shortPredictions());
+            putSeries(buf, craft.fullOrbitPredictions());
+        }
+
+        buf.putInt(removed.size());
+        for (String id : removed) {
+            buf.putLong(Long.parseLong(id));
+        }
+        return buf.array();
+    }
+
+    /** Read a keyframe written by {@link #encode(TelemetryFrame)}. */
+    public static TelemetryFrame decodeFrame(byte[] bytes) {
+        Decoded d = decode(bytes, KIND_KEYFRAME);
+        return new TelemetryFrame(d.operatorId, d.seq, d.spacecraft);
+    }
+
+    /** Read a delta written by {@link #encode(TelemetryDelta)}. */
+    public static TelemetryDelta decodeDelta(byte[] bytes) {
+        Decoded d = decode(bytes, KIND_DELTA);
+        return new TelemetryDelta(d.operatorId, d.seq, d.baseSeq, d.spacecraft, d.removed);
+    }
+
+    private record Decoded(long seq, long baseSeq, String operatorId,
+                           Map<String, TelemetryFrame.Spacecraft> spacecraft, List<String> removed) {}
+
+    private static Decoded decode(byte[] bytes, int expectedKind) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int version = buf.get();
+        int kind = buf.get();
+        if (version != VERSION || kind != expectedKind) {
+            throw new IllegalArgumentException("Not a version " + VERSION + " frame of kind " + expectedKind
+                    + ": version " + version + ", kind " + kind);
+        }
+        buf.getShort();
+        long seq = buf.getLong();
+        long baseSeq = buf.getLong();
+        byte[] operator = new byte[buf.getShort() & 0xFFFF];
+        buf.get(operator);
+
+        int count = buf.getInt();
+        Map<String, TelemetryFrame.Spacecraft> spacecraft = new LinkedHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            long externalId = buf.getLong();
+            int parts = buf.get();
+            TelemetryFrame.Snapshot t = null;
+            if ((parts & PART_TELEMETRY) != 0) {
+                long timestamp = buf.getLong();
+                TelemetryFrame.Vector position =
+                        new TelemetryFrame.Vector(buf.getFloat(), buf.getFloat(), buf.getFloat());
+                TelemetryFrame.Velocity velocity = new TelemetryFrame.Velocity(
+                        buf.getFloat(), buf.getFloat(), buf.getFloat(), buf.getFloat());
+                float acceleration = buf.getFloat();
+                float orbitRadius = buf.getFloat();
+                TelemetryFrame.Geo geo = (parts & PART_GEO) == 0 ? null
+                        : new TelemetryFrame.Geo(orNull(buf.getFloat()), orNull(buf.getFloat()),
+                                orNull(buf.getFloat()));
+                t = new TelemetryFrame.Snapshot(timestamp, position, velocity, acceleration, orbitRadius, geo);
+            }
+            OrbitSeries shortTerm = (parts & PART_SHORT) != 0 ? getSeries(buf, false) : null;
+            OrbitSeries fullOrbit = (parts & PART_FULL) != 0 ? getSeries(buf, true) : null;
+            spacecraft.put(Long.toString(externalId), new TelemetryFrame.Spacecraft(t, shortTerm, fullOrbit));
+        }
+
+        int removedCount = buf.getInt();
+        List<String> removed = new ArrayList<>(removedCount);
+        for (int i = 0; i < removedCount; i++) {
+            removed.add(Long.toString(buf.getLong()));
+        }
+        return new Decoded(seq, baseSeq, new String(operator, StandardCharsets.UTF_8), spacecraft, removed);
+    }
+
+    private static OrbitSeries getSeries(ByteBuffer buf, boolean fullOrbit) {
+        int n = buf.getInt();
+        long t0 = buf.getLong();
+        long[] times = new long[n];
+        for (int i = 0; i < n; i++) times[i] = t0 + buf.getInt();
+        int lat = buf.position();
+        int lon = lat + 4 * n;
+        int alt = lon + 4 * n;
+        OrbitSeries series = new OrbitSeries(n, fullOrbit);
+        for (int i = 0; i < n; i++) {
+            series.add(buf.getFloat(lat + 4 * i), buf.getFloat(lon + 4 * i), buf.getFloat(alt + 4 * i), times[i]);
+        }
+        buf.position(alt + 4 * n);
+        return series;
+    }
+
+    private static int seriesSize(OrbitSeries series) {
+        return series == null ? 0 : 4 + 8 + series.size() * (4 + 3 * 4);
+    }
+
+    private static void putSeries(ByteBuffer buf, OrbitSeries series) {
+        if (series == null) return;
+        int n = series.size();
+        long t0 = n > 0 ? series.timestampMillis(0) : 0;
+        buf.putInt(n).putLong(t0);
+        for (int i = 0; i < n; i++) buf.putInt((int) (series.timestampMillis(i) - t0));
+        for (int i = 0; i < n; i++) buf.putFloat((float) series.latitude(i));
+        for (int i = 0; i < n; i++) buf.putFloat((float) series.longitude(i));
+        for (int i = 0; i < n; i++) buf.putFloat((float) series.altitude(i));
+    }
+
+    private static float orNaN(Float value) {
+        return value != null ? value : Float.NaN;
+    }
+
+    private static Float orNull(float value) {
+        return Float.isNaN(value) ? null : value;
+    }
+}
@@ -0,0 +1,9 @@
+package com.telemetry.dto;
+
+import java.util.List;
+
+/** Short-term and full-orbit series sampled from one propagation. */
+public record OrbitPredictions(
+        List<PredictiveOrbitPoint> shortTerm,
+        List<PredictiveOrbitPoint> fullOrbit
+) {}
@@ -0,0 +1,116 @@
+package com.telemetry.dto;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Predicted points stored column-wise in primitive arrays. The publish path
+ * reuses one instance per thread and reads the columns directly;
+ * {@link #toPoints()} builds {@link PredictiveOrbitPoint} objects only for
+ * callers that need them, such as the REST API.
+ */
+public final class OrbitSeries {
+
+    private final boolean fullOrbit;
+    private double[] latitude;
+    private double[] longitude;
+    private double[] altitude;
+    private long[] timestamp;
+    private int size;
+
+    public OrbitSeries(int capacity, boolean fullOrbit) {
+        this.fullOrbit = fullOrbit;
+        this.latitude  = new double[capacity];
+        this.longitude = new double[capacity];
+        this.altitude  = new double[capacity];
+        this.timestamp = new long[capacity];
+    }
+
+    /** Empty the series and make room for {@code capacity} points. */
+    public void reset(int capacity) {
+        ensureCapacity(capacity);
+        size = 0;
+    }
+
+    public void add(double lat, double lon, double alt, long epochMillis) {
+        if (size == latitude.length) {
+            ensureCapacity(Math.max(16, size * 2));
+        }
+        latitude[size]  = lat;
+        longitude[size] = lon;
+        altitude[size]  = alt;
+        timestamp[size] = epochMillis;
+        size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > latitude.length) {
+            latitude  = Arrays.copyOf(latitude, capacity);
+            longitude = Arrays.copyOf(longitude, capacity);
+            altitude  = Arrays.copyOf(altitude, capacity);
+            timestamp = Arrays.copyOf(timestamp, capacity);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFullOrbit() {
+        return fullOrbit;
+    }
+
+    public double latitude(int i) {
+        return latitude[i];
+    }
+
+    public double longitude(int i) {
+        return longitude[i];
+    }
+
+    public double altitude(int i) {
+        return altitude[i];
+    }
+
+    public long timestampMillis(int i) {
+        return timestamp[i];
+    }
+
+    /** A trimmed copy that stays valid after this series is reused. */
+    public OrbitSeries copy() {
+        OrbitSeries c = new OrbitSeries(size, fullOrbit);
+        System.arraycopy(latitude, 0, c.latitude, 0, size);
+        System.arraycopy(longitude, 0, c.longitude, 0, size);
+        System.arraycopy(altitude, 0, c.altitude, 0, size);
+        System.arraycopy(timestamp, 0, c.timestamp, 0, size);
+        c.size = size;
+        return c;
+    }
+
+    /** Hash of every point, to tell whether a recomputed series changed. */
+    public long contentHash() {
+        long h = size;
+        for (int i = 0; i < size; i++) {
+            h = 31 * h + Double.doubleToLongBits(latitude[i]);
+            h = 31 * h + Double.doubleToLongBits(longitude[i]);
+            h = 31 * h + Double.doubleToLongBits(altitude[i]);
+            h = 31 * h + timestamp[i];
+        }
+        return h;
+    }
+
+    /** Copy the series out as point objects. */
+    public List<PredictiveOrbitPoint> toPoints() {
+        List<PredictiveOrbitPoint> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            points.add(new PredictiveOrbitPoint(
+                    latitude[i], longitude[i], altitude[i],
+                    new Timestamp(timestamp[i]),
+                    fullOrbit
+            ));
+        }
+        return points;
+    }
+}
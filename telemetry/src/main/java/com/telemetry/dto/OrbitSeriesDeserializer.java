@@ -0,0 +1,32 @@
+// src/main/java/com/telemetry/dto/OrbitSeriesDeserializer.java
+package com.telemetry.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Reads the point array written by {@link OrbitSeriesSerializer} back into
+ * columns, for rebuilding a frame from its keyframe and deltas.
+ */
+public class OrbitSeriesDeserializer extends StdDeserializer<OrbitSeries> {
+
+    public OrbitSeriesDeserializer() {
+        super(OrbitSeries.class);
+    }
+
+    @Override
+    public OrbitSeries deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonNode points = p.readValueAsTree();
+        boolean fullOrbit = !points.isEmpty() && points.get(0).path("isFullOrbit").asBoolean();
+        OrbitSeries series = new OrbitSeries(points.size(), fullOrbit);
+        for (JsonNode point : points) {
+            series.add(point.path("latitude").asDouble(), point.path("longitude").asDouble(),
+                    point.path("altitude").asDouble(), point.path("timestamp").asLong());
+        }
+        return series;
+    }
+}
@@ -0,0 +1,34 @@
+// src/main/java/com/telemetry/dto/OrbitSeriesSerializer.java
+package com.telemetry.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes an {@link OrbitSeries} as the array of prediction points the
+ * frontend reads, straight from the columns without point objects.
+ */
+public class OrbitSeriesSerializer extends StdSerializer<OrbitSeries> {
+
+    public OrbitSeriesSerializer() {
+        super(OrbitSeries.class);
+    }
+
+    @Override
+    public void serialize(OrbitSeries series, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartArray(series, series.size());
+        for (int i = 0; i < series.size(); i++) {
+            gen.writeStartObject();
+            gen.writeNumberField("timestamp", series.timestampMillis(i));
+            gen.writeNumberField("latitude", series.latitude(i));
+            gen.writeNumberField("longitude", series.longitude(i));
+            gen.writeNumberField("altitude", series.altitude(i));
+            gen.writeBooleanField("isFullOrbit", series.isFullOrbit());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,31 @@
+// src/main/java/com/telemetry/dto/TelemetryDelta.java
+package com.telemetry.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changes of an operator's telemetry since frame {@code baseSeq}: only
+ * spacecraft with a new observation or recomputed predictions, and only
+ * those parts. A client applies it on top of frame {@code baseSeq} and
+ * must wait for the next keyframe when it holds anything else.
+ */
+@JsonIgnoreProperties(value = "type", allowGetters = true)
+public record TelemetryDelta(
+        String operatorId,
+        long seq,
+        long baseSeq,
+        Map<String, TelemetryFrame.Spacecraft> telemetry,
+        List<String> removed
+) {
+
+    public static final String TYPE = "TELEMETRY_DELTA";
+
+    @JsonProperty("type")
+    public String type() {
+        return TYPE;
+    }
+}
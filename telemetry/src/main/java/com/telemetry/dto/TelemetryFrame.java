@@ -0,0 +1,81 @@
+// src/main/java/com/telemetry/dto/TelemetryFrame.java
+package com.telemetry.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-operator telemetry frame on the spacecraft-telemetry topic. The
+ * producer serializes it once; the consumer hands those bytes to the
+ * WebSocket sessions as they are, so this is also the browser's schema.
+ * It is the keyframe of the delta stream: {@code seq} is what the next
+ * {@link TelemetryDelta} names as its base. Sessions that take no deltas
+ * get it rebuilt with {@link #apply(TelemetryDelta)}.
+ */
+@JsonIgnoreProperties(value = "type", allowGetters = true)
+public record TelemetryFrame(String operatorId, long seq, Map<String, Spacecraft> telemetry) {
+
+    public static final String TYPE = "TELEMETRY_KEYFRAME";
+
+    @JsonProperty("type")
+    public String type() {
+        return TYPE;
+    }
+
+    /**
+     * The frame {@code delta} leads to from this one: its spacecraft
+     * replace the parts they carry and the removed ones are dropped.
+     */
+    public TelemetryFrame apply(TelemetryDelta delta) {
+        Map<String, Spacecraft> next = new LinkedHashMap<>(telemetry);
+        delta.removed().forEach(next::remove);
+        delta.telemetry().forEach((id, changed) -> next.merge(id, changed, Spacecraft::with));
+        return new TelemetryFrame(operatorId, delta.seq(), next);
+    }
+
+    /**
+     * Latest state and predictions of one spacecraft, keyed by externalId.
+     * In a delta, parts that did not change since the base frame are null
+     * and left out.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Spacecraft(
+            Snapshot telemetry,
+            @JsonSerialize(using = OrbitSeriesSerializer.class)
+            @JsonDeserialize(using = OrbitSeriesDeserializer.class) OrbitSeries shortPredictions,
+            @JsonSerialize(using = OrbitSeriesSerializer.class)
+            @JsonDeserialize(using = OrbitSeriesDeserializer.class) OrbitSeries fullOrbitPredictions
+    ) {
+
+        /** This spacecraft with the parts {@code changed} carries replaced. */
+        Spacecraft with(Spacecraft changed) {
+            return new Spacecraft(
+                    changed.telemetry() != null ? changed.telemetry() : telemetry,
+                    changed.shortPredictions() != null ? changed.shortPredictions() : shortPredictions,
+                    changed.fullOrbitPredictions() != null ? changed.fullOrbitPredictions() : fullOrbitPredictions);
+        }
+    }
+
+    /** Newest stored sample; {@code geo} is left out when it has no ground position. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Snapshot(
+            long timestamp,
+            Vector position,
+            Velocity velocity,
+            float acceleration,
+            float orbitRadius,
+            Geo geo
+    ) {}
+
+    public record Vector(float x, float y, float z) {}
+
+    public record Velocity(float x, float y, float z, float magnitude) {}
+
+    public record Geo(Float latitude, Float longitude, Float altitude) {}
+}
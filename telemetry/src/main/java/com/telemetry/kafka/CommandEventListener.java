@@ -0,0 +1,64 @@
+// src/main/java/com/telemetry/kafka/CommandEventListener.java
+package com.telemetry.kafka;
+
+import com.telemetry.config.KafkaConfig;
+import com.telemetry.service.CommandAdjustmentCache;
+import com.telemetry.service.SpacecraftUpdatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Invalidates cached command adjustments when the spacecraft service reports a
+ * command change. Every telemetry instance keeps its own cache, so each one
+ * consumes every event in a consumer group of its own, named after its
+ * replica ordinal so the group survives restarts instead of being orphaned;
+ * a brand-new group starts from the latest offset.
+ * The spacecraft's predictions are then republished.
+ */
+@Service
+public class CommandEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CommandEventListener.class);
+
+    @Autowired
+    private CommandAdjustmentCache commandCache;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @KafkaListener(
+            topics   = KafkaConfig.TOPIC_COMMANDS,
+            groupId  = "${spring.kafka.consumer.group-id}-commands-${telemetry.websocket.replica.index:0}",
+            properties = "auto.offset.reset=latest",
+            containerFactory = "kafkaListenerContainerFactory"
+    )
+    public void onCommandEvent(
+            @Payload Map<String,Object> event,
+            @Header(KafkaHeaders.RECEIVED_KEY) String key
+    ) {
+        try {
+            // key is the spacecraft externalId
+            long externalId = Long.parseLong(key);
+            Object enterpriseId = event.get("enterpriseId");
+            if (enterpriseId != null) {
+                commandCache.invalidate(externalId, UUID.fromString(enterpriseId.toString()));
+            } else {
+                commandCache.invalidate(externalId);
+            }
+            events.publishEvent(new SpacecraftUpdatedEvent(Set.of(externalId)));
+        } catch (Exception e) {
+            log.warn("Ignoring malformed command event {}: {}", key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+// src/main/java/com/telemetry/kafka/FrameDeltaTracker.java
+package com.telemetry.kafka;
+
+import com.telemetry.dto.TelemetryDelta;
+import com.telemetry.dto.TelemetryFrame;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers what the previous frame of each operator contained, so the
+ * next one can also be published as a {@link TelemetryDelta}. Observations
+ * are compared by timestamp and prediction series by content hash; a
+ * series only changes when its orbital elements or commands do. A part
+ * left out of the frame (nobody subscribed to it) counts as {@link #ABSENT}.
+ * It also says when the next frame has to be a keyframe instead.
+ */
+final class FrameDeltaTracker {
+
+    private static final long ABSENT = Long.MIN_VALUE;
+
+    /** What one spacecraft looked like in the previous frame. */
+    private record Sent(long telemetryTime, long shortHash, long fullHash) {}
+
+    private static final class Stream {
+        long seq;
+        boolean started;
+        int sinceKeyframe;
+        Map<String, Sent> sent = Map.of();
+    }
+
+    private final Map<UUID, Stream> streams = new ConcurrentHashMap<>();
+
+    /** Sequence number and delta of one tick; {@code delta} is null when the tick is a keyframe. */
+    record Tick(long seq, TelemetryDelta delta) {}
+
+    /** Drop an operator's stream; its next frame starts a new one from the clock. */
+    void forget(UUID operatorId) {
+        streams.remove(operatorId);
+    }
+
+    /**
+     * Number the operator's next frame and diff it against the previous one.
+     * It is a keyframe when it is the first, when {@code keyframeInterval}
+     * deltas went out since the last keyframe, or when {@code keyframe} asks
+     * for one. Must be called while the frame's series are still valid.
+     */
+    Tick next(UUID operatorId, Map<String, TelemetryFrame.Spacecraft> frame, int keyframeInterval, boolean keyframe) {
+        // start from the clock so numbers keep increasing across restarts
+        Stream stream = streams.computeIfAbsent(operatorId, id -> {
+            Stream s = new Stream();
+            s.seq = System.currentTimeMillis();
+            return s;
+        });
+
+        synchronized (stream) {
+            boolean first = !stream.started;
+            boolean full = first || keyframe || stream.sinceKeyframe >= keyframeInterval;
+            long baseSeq = stream.seq;
+            long seq = first ? baseSeq : baseSeq + 1;
+
+            Map<String, Sent> now = new HashMap<>(frame.size() * 2);
+            Map<String, TelemetryFrame.Spacecraft> changed = new LinkedHashMap<>();
+            for (Map.Entry<String, TelemetryFrame.Spacecraft> e : frame.entrySet()) {
+                TelemetryFrame.Spacecraft craft = e.getValue();
+                Sent cur = new Sent(
+                        craft.telemetry() != null ? craft.telemetry().timestamp() : ABSENT,
+                        craft.shortPredictions() != null ? craft.shortPredictions().contentHash() : ABSENT,
+                        craft.fullOrbitPredictions() != null ? craft.fullOrbitPredictions().contentHash() : ABSENT);
+                now.put(e.getKey(), cur);
+
+                Sent prev = stream.sent.get(e.getKey());
+                if (prev == null) {
+                    changed.put(e.getKey(), craft);
+                    continue;
+                }
+                boolean telemetry = cur.telemetryTime() != prev.telemetryTime();
+                boolean shortTerm = cur.shortHash() != prev.shortHash();
+                boolean fullOrbit = cur.fullHash() != prev.fullHash();
+                if (telemetry || shortTerm || fullOrbit) {
+                    changed.put(e.getKey(), new TelemetryFrame.Spacecraft(
+                            telemetry ? craft.telemetry() : null,
+                            shortTerm ? craft.shortPredictions() : null,
+                            fullOrbit ? craft.fullOrbitPredictions() : null));
+                }
+            }
+
+            List<String> removed = new ArrayList<>();
+            for (String id : stream.sent.keySet()) {
+                if (!now.containsKey(id)) removed.add(id);
+            }
+
+            stream.seq = seq;
+            stream.started = true;
+            stream.sent = now;
+            stream.sinceKeyframe = full ? 0 : stream.sinceKeyframe + 1;
+            return new Tick(seq, full ? null
+                    : new TelemetryDelta(operatorId.toString(), seq, baseSeq, changed, removed));
+        }
+    }
+}
@@ -2,19 +2,23 @@
 package com.telemetry.kafka;
 
 import com.telemetry.config.KafkaConfig;
+import com.telemetry.websocket.FrameFormat;
 import com.telemetry.websocket.TelemetryWebSocketHandler;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 import org.springframework.web.socket.TextMessage;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -29,38 +33,97 @@ public class TelemetryKafkaConsumer {
     @Autowired
     private ObjectMapper objectMapper;
 
+    /**
+     * Both listeners are assigned only this replica's partitions (see
+     * OperatorPartitions) rather than balanced across the group, so every
+     * frame lands on the replica holding its operator's sessions.
+     *
+     * Each call gets a poll's worth of records, grouped by operator (the
+     * record key) and handed to the WebSocket layer once per operator; the
+     * offsets are committed after that. A record that cannot be forwarded is
+     * logged and skipped: frames are superseded within seconds, so
+     * redelivering one would not help.
+     *
+     * Telemetry frames arrive serialized and go to the sessions byte for
+     * byte; the headers say whether a record is a keyframe or a delta and
+     * which wire format it is in.
+     */
     @KafkaListener(
-            topics   = KafkaConfig.TOPIC_TELEMETRY,
+            topicPartitions = @TopicPartition(topic = KafkaConfig.TOPIC_TELEMETRY,
+                    partitions = "#{@operatorPartitions.ownedPartitions()}"),
             groupId  = "${spring.kafka.consumer.group-id}",
-            containerFactory = "kafkaListenerContainerFactory"
+            containerFactory = "frameListenerContainerFactory"
     )
-    public void consumeTelemetry(
-            @Payload Map<String,Object> payload,
-            @Header(KafkaHeaders.RECEIVED_KEY) String key
-    ) {
-        forward(payload, key);
+    public void consumeTelemetry(List<ConsumerRecord<String, byte[]>> records, Acknowledgment ack) {
+        Map<UUID, List<TelemetryWebSocketHandler.TelemetryRecord>> byOperator = new LinkedHashMap<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            try {
+                UUID operatorId = UUID.fromString(record.key());
+                String type   = header(record, KafkaConfig.HEADER_FRAME_TYPE);
+                String seq    = header(record, KafkaConfig.HEADER_FRAME_SEQ);
+                String format = header(record, KafkaConfig.HEADER_FRAME_FORMAT);
+                FrameFormat frameFormat = format != null ? FrameFormat.valueOf(format) : FrameFormat.JSON;
+
+                if (seq == null) {
+                    // unnumbered JSON frame from an older producer
+                    webSocketHandler.sendMessageToOperator(operatorId,
+                            TelemetryWebSocketHandler.TELEMETRY_FRAME_KEY, new TextMessage(record.value()));
+                    continue;
+                }
+                byOperator.computeIfAbsent(operatorId, k -> new ArrayList<>()).add(
+                        KafkaConfig.FRAME_DELTA.equals(type)
+                                ? TelemetryWebSocketHandler.TelemetryRecord.delta(frameFormat, Long.parseLong(seq),
+                                        Long.parseLong(header(record, KafkaConfig.HEADER_FRAME_BASE_SEQ)),
+                                        record.value())
+                                : TelemetryWebSocketHandler.TelemetryRecord.keyframe(frameFormat,
+                                        Long.parseLong(seq), record.value()));
+            } catch (Exception e) {
+                log.error("Forwarding error: {}", e.getMessage(), e);
+            }
+        }
+
+        byOperator.forEach((operatorId, frames) -> {
+            try {
+                webSocketHandler.sendTelemetryFrames(operatorId, frames);
+            } catch (Exception e) {
+                log.error("Forwarding error for operator {}: {}", operatorId, e.getMessage(), e);
+            }
+        });
+        ack.acknowledge();
+    }
+
+    private static String header(ConsumerRecord<?, ?> record, String name) {
+        var h = record.headers().lastHeader(name);
+        return h != null ? new String(h.value(), StandardCharsets.UTF_8) : null;
     }
 
     @KafkaListener(
-            topics   = KafkaConfig.TOPIC_TELEMETRY_ALERT,
+            topicPartitions = @TopicPartition(topic = KafkaConfig.TOPIC_TELEMETRY_ALERT,
+                    partitions = "#{@operatorPartitions.ownedPartitions()}"),
             groupId  = "${spring.kafka.consumer.group-id}",
-            containerFactory = "kafkaListenerContainerFactory"
+            containerFactory = "alertListenerContainerFactory"
     )
-    public void consumeAlerts(
-            @Payload Map<String,Object> payload,
-            @Header(KafkaHeaders.RECEIVED_KEY) String key
-    ) {
-        forward(payload, key);
-    }
-
-    private void forward(Map<String,Object> msg, String key) {
-        try {
-            // The key is still the UUID, but we're interpreting it as operatorId now
-            UUID operatorId = UUID.fromString(key);
-            String json = objectMapper.writeValueAsString(msg);
-            webSocketHandler.sendMessageToOperator(operatorId, new TextMessage(json));
-        } catch (Exception e) {
-            log.error("Forwarding error: {}", e.getMessage(), e);
+    public void consumeAlerts(List<ConsumerRecord<String, Object>> records, Acknowledgment ack) {
+        Map<UUID, List<TextMessage>> byOperator = new LinkedHashMap<>();
+        for (ConsumerRecord<String, Object> record : records) {
+            try {
+                // The key is still the UUID, but we're interpreting it as operatorId now
+                UUID operatorId = UUID.fromString(record.key());
+                String json = objectMapper.writeValueAsString(record.value());
+                byOperator.computeIfAbsent(operatorId, k -> new ArrayList<>()).add(new TextMessage(json));
+            } catch (Exception e) {
+                log.error("Forwarding error: {}", e.getMessage(), e);
+            }
         }
+
+        // alerts are never coalesced away
+        byOperator.forEach((operatorId, alerts) -> {
+            try {
+                webSocketHandler.sendMessagesToOperator(operatorId, alerts);
+            } catch (Exception e) {
+                log.error("Forwarding error for operator {}: {}", operatorId, e.getMessage(), e);
+            }
+        });
+        ack.acknowledge();
     }
-}
\ No newline at end of file
+}
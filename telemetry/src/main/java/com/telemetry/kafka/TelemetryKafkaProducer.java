@@ -3,54 +3,189 @@ package com.telemetry.kafka;
 
 import com.telemetry.config.KafkaConfig;
 import com.telemetry.model.SatelliteReference;
-import com.telemetry.dto.PredictiveOrbitPoint;
+import com.telemetry.dto.BinaryTelemetryFrame;
+import com.telemetry.dto.OrbitSeries;
+import com.telemetry.dto.TelemetryDelta;
+import com.telemetry.dto.TelemetryFrame;
 import com.telemetry.dto.TelemetryPosition;
 import com.telemetry.model.TrajectoryData;
 import com.telemetry.repository.SatelliteReferenceRepository;
-import com.telemetry.service.PredictionService;
+import com.telemetry.service.BatchOrbitPropagator;
+import com.telemetry.service.OrbitBatch;
 import com.telemetry.service.SatelliteTelemetryService;
+import com.telemetry.service.SpacecraftUpdatedEvent;
+import com.telemetry.websocket.FrameFormat;
+import com.telemetry.websocket.TelemetryField;
+import com.telemetry.websocket.TelemetrySubscriptions;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.sql.Timestamp;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 
 @Service
 public class TelemetryKafkaProducer {
 
     private static final Logger log = LoggerFactory.getLogger(TelemetryKafkaProducer.class);
-    private final ExecutorService predictionsExecutor = Executors.newFixedThreadPool(4);
 
-    @Autowired private KafkaTemplate<String, Object> kafkaTemplate;
+    @Autowired private KafkaTemplate<String, byte[]> frameKafkaTemplate;
+    @Autowired private ObjectMapper objectMapper;
     @Autowired private SatelliteTelemetryService satelliteTelemetryService;
     @Autowired private SatelliteReferenceRepository referenceRepo;
-    @Autowired private PredictionService predictionService;
+    @Autowired private BatchOrbitPropagator batchPropagator;
+    @Autowired private TelemetrySubscriptions subscriptions;
 
-    /** Every 5 seconds: publish telemetry for each operator (previously enterprise) */
-    @Scheduled(fixedRate = 5000)
+    /** Deltas between two keyframes of an operator, unless a session asks for one sooner. */
+    @Value("${telemetry.websocket.delta.keyframe-interval:12}")
+    private int keyframeInterval;
+
+    /** Least time between two frames of an operator, unless a session is waiting on one. */
+    @Value("${telemetry.publish.min-interval-ms:5000}")
+    private long minIntervalMs;
+
+    /**
+     * Reusable prediction batches, one per operator being published at once;
+     * operators are published in turn, so normally just one.
+     */
+    private final Queue<OrbitBatch> batchPool = new ConcurrentLinkedQueue<>();
+
+    private final FrameDeltaTracker deltaTracker = new FrameDeltaTracker();
+
+    /** Operators with something new to publish, and what changed. */
+    private final Map<UUID, Dirty> pending = new ConcurrentHashMap<>();
+    /** When each watched operator was last published; dropped with its predictions once unwatched. */
+    private final Map<UUID, Long> lastPublished = new ConcurrentHashMap<>();
+
+    /** Last predictions per operator and spacecraft, recomputed only when the spacecraft changes. */
+    private final Map<UUID, Map<Long, Predicted>> predictions = new ConcurrentHashMap<>();
+
+    /**
+     * Spacecraft of an operator that changed, or all of them; urgent ones skip
+     * the minimum interval, and {@code keyframe} ones go out as a keyframe.
+     */
+    private record Dirty(Set<Long> spacecraft, boolean all, boolean urgent, boolean keyframe) {
+
+        /**
+         * A session came, changed or lost its place: send a keyframe now,
+         * computing only predictions not cached yet.
+         */
+        static final Dirty SUBSCRIBED = new Dirty(Set.of(), false, true, true);
+        /** Periodic resync: recompute everything, within the minimum interval. */
+        static final Dirty RESYNC = new Dirty(Set.of(), true, false, true);
+
+        static Dirty changed(long spacecraftId) {
+            return new Dirty(Set.of(spacecraftId), false, false, false);
+        }
+
+        Dirty merge(Dirty other) {
+            Set<Long> union = new HashSet<>(spacecraft);
+            union.addAll(other.spacecraft);
+            return new Dirty(union, all || other.all, urgent || other.urgent, keyframe || other.keyframe);
+        }
+
+        boolean touches(long spacecraftId) {
+            return all || spacecraft.contains(spacecraftId);
+        }
+    }
+
+    private record Predicted(OrbitSeries shortTerm, OrbitSeries fullOrbit) {}
+
+    /**
+     * A new or changed subscription gets its frame without waiting for the
+     * next change, from cached predictions where there are some. Once the
+     * last session of an operator is gone, its state here is dropped.
+     */
+    @PostConstruct
+    void listenForSubscriptions() {
+        subscriptions.onChange(operatorId -> {
+            if (subscriptions.interest(operatorId).isWatched()) {
+                pending.merge(operatorId, Dirty.SUBSCRIBED, Dirty::merge);
+            } else {
+                forget(operatorId);
+            }
+        });
+    }
+
+    /**
+     * New positions were written or a command changed: mark the spacecraft's
+     * operators that have a session on this replica.
+     */
+    @EventListener
+    public void onSpacecraftUpdated(SpacecraftUpdatedEvent event) {
+        for (SatelliteReference ref : referenceRepo.findByExternalIdIn(event.externalIds())) {
+            UUID operatorId = ref.getEnterpriseId();
+            if (!subscriptions.interest(operatorId).isWatched()) continue;
+            pending.merge(operatorId, Dirty.changed(ref.getExternalId()), Dirty::merge);
+        }
+    }
+
+    /**
+     * Publish the operators marked since the last run, each at most once per
+     * ${telemetry.publish.min-interval-ms}; changes arriving close together
+     * go out in one frame.
+     */
+    @Scheduled(fixedDelayString = "${telemetry.publish.debounce-ms:1000}")
+    public void publishPending() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<UUID, Dirty> e : pending.entrySet()) {
+            UUID operatorId = e.getKey();
+            Dirty dirty = e.getValue();
+            Long last = lastPublished.get(operatorId);
+            if (!dirty.urgent() && last != null && now - last < minIntervalMs) continue;
+            // a change marked meanwhile replaced the entry and stays for the next run
+            if (pending.remove(operatorId, dirty)) {
+                publish(operatorId, dirty);
+            }
+        }
+    }
+
+    /**
+     * Every ${telemetry.publish.resync-interval-ms}: recompute everything for each
+     * operator watched on this replica, in case a change was missed.
+     */
+    @Scheduled(fixedRateString = "${telemetry.publish.resync-interval-ms:300000}",
+            initialDelayString = "${telemetry.publish.resync-interval-ms:300000}")
     public void publishTelemetryForAllOperators() {
         List<UUID> operatorIds = referenceRepo.findAll().stream()
                 .map(SatelliteReference::getEnterpriseId)
                 .distinct()
+                .filter(id -> subscriptions.interest(id).isWatched())
                 .collect(Collectors.toList());
 
-        log.debug("Publishing telemetry for {} operators", operatorIds.size());
-        operatorIds.forEach(this::publishTelemetryForOperator);
+        log.debug("Resyncing telemetry for {} operators", operatorIds.size());
+        operatorIds.forEach(id -> pending.merge(id, Dirty.RESYNC, Dirty::merge));
     }
 
     /**
-     * Publish telemetry data for a specific operator (previously enterprise).
+     * Only spacecraft and fields some session of the operator subscribed to
+     * go into the frame; predictions are recomputed for the spacecraft that
+     * changed and reused for the rest. A tick goes out as a delta, or as a
+     * keyframe every ${telemetry.websocket.delta.keyframe-interval} ticks and
+     * whenever a session needs one, in each format the sessions negotiated.
      */
-    public void publishTelemetryForOperator(UUID operatorId) {
+    private void publish(UUID operatorId, Dirty dirty) {
         try {
+            TelemetrySubscriptions.Interest interest = subscriptions.interest(operatorId);
+            if (!interest.isWatched()) {
+                log.debug("No subscribed sessions for operator {}", operatorId);
+                forget(operatorId);
+                return;
+            }
+            lastPublished.put(operatorId, System.currentTimeMillis());
+
             // Get latest telemetry data for all spacecraft belonging to this operator
             Map<Long, TrajectoryData> telemetryMap =
                     satelliteTelemetryService.getLatestForEnterprise(operatorId);
@@ -60,141 +195,141 @@ public class TelemetryKafkaProducer {
                 return;
             }
 
-            // Create the new message structure
-            Map<String, Object> message = new HashMap<>();
-            message.put("operatorId", operatorId.toString());
-
-            // Create telemetry object with nested structure for each spacecraft
-            Map<String, Object> telemetryData = new HashMap<>();
-
-            // Process each spacecraft's data with predictions in parallel
-            List<CompletableFuture<Void>> futures = new ArrayList<>();
-
-            for (Map.Entry<Long, TrajectoryData> entry : telemetryMap.entrySet()) {
-                Long spacecraftId = entry.getKey();
-                TrajectoryData trajectoryData = entry.getValue();
-
-                futures.add(CompletableFuture.runAsync(() -> {
-                    try {
-                        // Convert trajectory data to the format needed for predictions
-                        List<TelemetryPosition> positions = getRecentPositions(spacecraftId);
-
-                        // Generate predictions only if we have enough data
-                        if (positions.size() >= 2) {
-                            Map<String, Object> spacecraftData = new HashMap<>();
-
-                            // Add telemetry data
-                            spacecraftData.put("telemetry", formatTrajectoryData(trajectoryData));
-
-                            // Generate and add short-term predictions (60 steps, 60 seconds each)
-                            // Pass the enterpriseId to enable command integration
-                            List<PredictiveOrbitPoint> shortPredictions =
-                                    predictionService.predictOrbit(positions, 60, 60, spacecraftId, operatorId);
-                            spacecraftData.put("shortPredictions", formatPredictions(shortPredictions));
-
-                            // Generate and add full orbit predictions (120 points)
-                            // Pass the enterpriseId to enable command integration
-                            List<PredictiveOrbitPoint> fullOrbitPredictions =
-                                    predictionService.predictFullOrbit(positions, 120, spacecraftId, operatorId);
-                            spacecraftData.put("fullOrbitPredictions", formatPredictions(fullOrbitPredictions));
-
-                            // Add spacecraft data to telemetry map (synchronized to avoid concurrent modification)
-                            synchronized (telemetryData) {
-                                telemetryData.put(spacecraftId.toString(), spacecraftData);
-                            }
-                        }
-                    } catch (Exception e) {
-                        log.error("Error generating predictions for spacecraft {}: {}",
-                                spacecraftId, e.getMessage(), e);
+            Map<Long, Predicted> predicted = predictions.computeIfAbsent(operatorId, k -> new ConcurrentHashMap<>());
+            predicted.keySet().retainAll(telemetryMap.keySet());
+
+            // The two newest positions of each changed spacecraft someone wants predictions for,
+            // straight from the latest-state cache
+            Map<Long, List<TelemetryPosition>> observations = new HashMap<>();
+            for (Long spacecraftId : telemetryMap.keySet()) {
+                int fields = interest.fields(spacecraftId);
+                boolean wantsPredictions = TelemetryField.SHORT_PREDICTIONS.in(fields)
+                        || TelemetryField.FULL_ORBIT_PREDICTIONS.in(fields);
+                if (wantsPredictions && (dirty.touches(spacecraftId) || !predicted.containsKey(spacecraftId))) {
+                    observations.put(spacecraftId, satelliteTelemetryService.getLatestPositionPair(spacecraftId));
+                }
+            }
+
+            // Short-term (60 steps, 60 seconds each) and full-orbit (120 points) series
+            // in one pass; enterpriseId enables command integration
+            if (!observations.isEmpty()) {
+                OrbitBatch batch = borrowBatch();
+                try {
+                    batchPropagator.propagate(observations, operatorId, 60, 60, 120, batch);
+                    // as before, a spacecraft whose orbit could not be propagated is left out
+                    predicted.keySet().removeAll(observations.keySet());
+                    // the series are views into the batch, so keep copies
+                    for (int i = 0; i < batch.size(); i++) {
+                        predicted.put(batch.externalId(i),
+                                new Predicted(batch.shortTerm(i).copy(), batch.fullOrbit(i).copy()));
                     }
-                }, predictionsExecutor));
+                } finally {
+                    batchPool.offer(batch);
+                }
+            }
+
+            Map<String, TelemetryFrame.Spacecraft> telemetryData = new LinkedHashMap<>();
+            for (Map.Entry<Long, TrajectoryData> e : telemetryMap.entrySet()) {
+                long spacecraftId = e.getKey();
+                int fields = interest.fields(spacecraftId);
+                if (fields == 0) continue;
+                boolean wantsShort = TelemetryField.SHORT_PREDICTIONS.in(fields);
+                boolean wantsFull = TelemetryField.FULL_ORBIT_PREDICTIONS.in(fields);
+                Predicted p = predicted.get(spacecraftId);
+                if (p == null && (wantsShort || wantsFull)) continue;
+
+                telemetryData.put(Long.toString(spacecraftId), new TelemetryFrame.Spacecraft(
+                        TelemetryField.TELEMETRY.in(fields) ? formatTrajectoryData(e.getValue()) : null,
+                        wantsShort ? p.shortTerm() : null,
+                        wantsFull ? p.fullOrbit() : null
+                ));
             }
 
-            // Wait for all prediction computations to complete
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
-
-            // Add telemetry data to message
-            message.put("telemetry", telemetryData);
-
-            // Send message to Kafka
-            kafkaTemplate.send(
-                    KafkaConfig.TOPIC_TELEMETRY,
-                    operatorId.toString(),
-                    message
-            ).whenComplete((meta, ex) -> {
-                if (ex != null) {
-                    log.error("Failed to send telemetry for operator {}: {}",
-                            operatorId, ex.getMessage(), ex);
+            FrameDeltaTracker.Tick tick =
+                    deltaTracker.next(operatorId, telemetryData, keyframeInterval, dirty.keyframe());
+            TelemetryDelta delta = tick.delta();
+            TelemetryFrame keyframe = delta == null
+                    ? new TelemetryFrame(operatorId.toString(), tick.seq(), telemetryData) : null;
+
+            // Send the serialized frame to Kafka; the consumer hands it to the sessions.
+            // Same key, so every delta follows the frame it is based on.
+            for (FrameFormat format : subscriptions.formats(operatorId)) {
+                if (keyframe != null) {
+                    send(operatorId, format, encode(format, keyframe), KafkaConfig.FRAME_KEYFRAME, tick.seq(), -1);
                 } else {
-                    log.debug("Published telemetry for operator {} to partition {}",
-                            operatorId, meta.getRecordMetadata().partition());
+                    send(operatorId, format, encode(format, delta), KafkaConfig.FRAME_DELTA,
+                            tick.seq(), delta.baseSeq());
                 }
-            });
+            }
 
         } catch (Exception e) {
             log.error("Error publishing telemetry for operator {}: {}", operatorId, e.getMessage(), e);
         }
     }
 
-    /**
-     * Retrieve recent positions for a spacecraft to use in predictions
-     */
-    private List<TelemetryPosition> getRecentPositions(Long spacecraftId) {
-        // This would typically come from your repository
-        // For simplicity, we'll use a minimal implementation
-        return satelliteTelemetryService.getRecentPositionsForSpacecraft(spacecraftId, 5);
+    private void forget(UUID operatorId) {
+        pending.remove(operatorId);
+        predictions.remove(operatorId);
+        lastPublished.remove(operatorId);
+        deltaTracker.forget(operatorId);
     }
 
     /**
      * Format trajectory data for the telemetry message
      */
-    private Map<String, Object> formatTrajectoryData(TrajectoryData data) {
-        Map<String, Object> formatted = new HashMap<>();
-        formatted.put("timestamp", data.getTimestamp());
-
-        // Position data
-        Map<String, Object> position = new HashMap<>();
-        position.put("x", data.getPositionX());
-        position.put("y", data.getPositionY());
-        position.put("z", data.getPositionZ());
-        formatted.put("position", position);
-
-        // Velocity data
-        Map<String, Object> velocity = new HashMap<>();
-        velocity.put("x", data.getVelocityX());
-        velocity.put("y", data.getVelocityY());
-        velocity.put("z", data.getVelocityZ());
-        velocity.put("magnitude", data.getVelocity());
-        formatted.put("velocity", velocity);
-
-        // Other metrics
-        formatted.put("acceleration", data.getAcceleration());
-        formatted.put("orbitRadius", data.getOrbitRadius());
-
+    TelemetryFrame.Snapshot formatTrajectoryData(TrajectoryData data) {
         // Geo data if available
-        if (data.getSatLatitude() != null) {
-            Map<String, Object> geo = new HashMap<>();
-            geo.put("latitude", data.getSatLatitude());
-            geo.put("longitude", data.getSatLongitude());
-            geo.put("altitude", data.getSatAltitude());
-            formatted.put("geo", geo);
+        TelemetryFrame.Geo geo = data.getSatLatitude() == null ? null
+                : new TelemetryFrame.Geo(data.getSatLatitude(), data.getSatLongitude(), data.getSatAltitude());
+
+        return new TelemetryFrame.Snapshot(
+                data.getTimestamp().getTime(),
+                new TelemetryFrame.Vector(data.getPositionX(), data.getPositionY(), data.getPositionZ()),
+                new TelemetryFrame.Velocity(data.getVelocityX(), data.getVelocityY(), data.getVelocityZ(),
+                        data.getVelocity()),
+                data.getAcceleration(),
+                data.getOrbitRadius(),
+                geo
+        );
+    }
+
+    private byte[] encode(FrameFormat format, TelemetryFrame keyframe) throws JsonProcessingException {
+        return format == FrameFormat.BINARY
+                ? BinaryTelemetryFrame.encode(keyframe)
+                : objectMapper.writeValueAsBytes(keyframe);
+    }
+
+    private byte[] encode(FrameFormat format, TelemetryDelta delta) throws JsonProcessingException {
+        return format == FrameFormat.BINARY
+                ? BinaryTelemetryFrame.encode(delta)
+                : objectMapper.writeValueAsBytes(delta);
+    }
+
+    private void send(UUID operatorId, FrameFormat format, byte[] payload, String type, long seq, long baseSeq) {
+        ProducerRecord<String, byte[]> record =
+                new ProducerRecord<>(KafkaConfig.TOPIC_TELEMETRY, operatorId.toString(), payload);
+        record.headers().add(KafkaConfig.HEADER_FRAME_TYPE, type.getBytes(StandardCharsets.UTF_8));
+        record.headers().add(KafkaConfig.HEADER_FRAME_FORMAT,
+                format.name().getBytes(StandardCharsets.UTF_8));
+        record.headers().add(KafkaConfig.HEADER_FRAME_SEQ, Long.toString(seq).getBytes(StandardCharsets.UTF_8));
+        if (baseSeq >= 0) {
+            record.headers().add(KafkaConfig.HEADER_FRAME_BASE_SEQ,
+                    Long.toString(baseSeq).getBytes(StandardCharsets.UTF_8));
         }
 
-        return formatted;
+        frameKafkaTemplate.send(record).whenComplete((meta, ex) -> {
+            if (ex != null) {
+                log.error("Failed to send telemetry {} ({}) for operator {}: {}",
+                        type, format, operatorId, ex.getMessage(), ex);
+            } else {
+                log.debug("Published telemetry {} {} ({}) for operator {} to partition {}",
+                        type, seq, format, operatorId, meta.getRecordMetadata().partition());
+            }
+        });
     }
 
-    /**
-     * Format prediction points for the telemetry message
-     */
-    private List<Map<String, Object>> formatPredictions(List<PredictiveOrbitPoint> predictions) {
-        return predictions.stream().map(p -> {
-            Map<String, Object> point = new HashMap<>();
-            point.put("timestamp", p.getTimestamp());
-            point.put("latitude", p.getLatitude());
-            point.put("longitude", p.getLongitude());
-            point.put("altitude", p.getAltitude());
-            point.put("isFullOrbit", p.isFullOrbit());
-            return point;
-        }).collect(Collectors.toList());
+    private OrbitBatch borrowBatch() {
+        OrbitBatch batch = batchPool.poll();
+        return batch != null ? batch : new OrbitBatch();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+// src/main/java/com/telemetry/model/ShardLease.java
+package com.telemetry.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A time-limited claim on a named piece of scheduled work: a shard of the
+ * operator keyspace, the leader role, or a replica's liveness marker.
+ * Whoever holds an unexpired lease does the work; see ShardLeaseCoordinator.
+ */
+@Entity
+@Table(name = "shard_lease")
+public class ShardLease {
+
+    @Id
+    @Column(name = "name", length = 64, nullable = false)
+    private String name;
+
+    @Column(name = "owner", length = 128)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public ShardLease(String name, String owner, Instant expiresAt) {
+        this.name = name;
+        this.owner = owner;
+        this.expiresAt = expiresAt;
+    }
+
+    public ShardLease() {}                       // JPA
+
+    public String getName()       { return name; }
+    public String getOwner()      { return owner; }
+    public Instant getExpiresAt() { return expiresAt; }
+}
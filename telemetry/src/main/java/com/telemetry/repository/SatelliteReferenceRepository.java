@@ -5,6 +5,7 @@ import com.telemetry.model.SatelliteReference;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,5 +19,7 @@ public interface SatelliteReferenceRepository extends JpaRepository<SatelliteRef
 
     Optional<SatelliteReference> findByExternalId(Long externalId);
 
+    List<SatelliteReference> findByExternalIdIn(Collection<Long> externalIds);
+
     long countByEnterpriseId(UUID enterpriseId);
 }
\ No newline at end of file
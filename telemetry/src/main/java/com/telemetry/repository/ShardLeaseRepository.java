@@ -0,0 +1,51 @@
+// src/main/java/com/telemetry/repository/ShardLeaseRepository.java
+package com.telemetry.repository;
+
+import com.telemetry.model.ShardLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface ShardLeaseRepository extends JpaRepository<ShardLease, String> {
+
+    /**
+     * Take or extend a lease: succeeds (returns 1) when the caller already
+     * holds it or it has expired, in a single conditional UPDATE so two
+     * replicas can never both win.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query("""
+    UPDATE ShardLease l
+       SET l.owner = :owner, l.expiresAt = :expiresAt
+     WHERE l.name = :name
+       AND (l.owner = :owner OR l.expiresAt <= :now)
+    """)
+    int acquire(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("expiresAt") Instant expiresAt,
+                @Param("now") Instant now);
+
+    /** Let a lease go at once instead of waiting for it to expire. */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query("""
+    UPDATE ShardLease l
+       SET l.expiresAt = :now
+     WHERE l.name = :name
+       AND l.owner = :owner
+    """)
+    int release(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") Instant now);
+
+    /** Add an unowned, expired lease row; fails on a duplicate name. */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Transactional
+    @Query(value = "INSERT INTO shard_lease (name, expires_at) VALUES (:name, :expiresAt)", nativeQuery = true)
+    int create(@Param("name") String name, @Param("expiresAt") Instant expiresAt);
+}
@@ -50,4 +50,18 @@ public interface TrajectoryDataRepository
     Optional<TrajectoryData> findTopByIdExternalIdOrderByIdTimestampDesc(long externalId);
     long countByIdTimestampAfterAndIdExternalId(Timestamp since, long externalId);
 
+    /**
+     * Newest row of every tracked externalId in a single round trip
+     * (used to warm the in-memory latest-state cache).
+     */
+    @Query("""
+    SELECT t
+      FROM TrajectoryData t
+     WHERE t.id.timestamp = (
+           SELECT MAX(t2.id.timestamp)
+             FROM TrajectoryData t2
+            WHERE t2.id.externalId = t.id.externalId)
+    """)
+    List<TrajectoryData> findLatestForEachExternalId();
+
 }
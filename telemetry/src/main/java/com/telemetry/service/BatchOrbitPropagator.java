@@ -0,0 +1,92 @@
+// src/main/java/com/telemetry/service/BatchOrbitPropagator.java
+package com.telemetry.service;
+
+import com.telemetry.dto.TelemetryPosition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Predicts every spacecraft of an enterprise in one pass.
+ *
+ * Each spacecraft's fit comes from PredictionService (cached until a newer
+ * observation or command), is laid out as columns in an {@link OrbitBatch},
+ * and both series are then propagated for all spacecraft together, point by
+ * point. With {@code telemetry.prediction.vector-api=true}, a build with the
+ * {@code vector-api} Maven profile and the JVM started with
+ * {@code --add-modules jdk.incubator.vector}, the full orbit runs on the
+ * Vector API kernel; otherwise on the scalar kernel.
+ */
+@Service
+public class BatchOrbitPropagator {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchOrbitPropagator.class);
+    private static final String VECTOR_KERNEL = "com.telemetry.service.VectorOrbitKernel";
+
+    private final PredictionService predictionService;
+    private final OrbitKernel kernel;
+
+    public BatchOrbitPropagator(
+            PredictionService predictionService,
+            @Value("${telemetry.prediction.vector-api:false}") boolean vectorApi
+    ) {
+        this.predictionService = predictionService;
+        this.kernel = selectKernel(vectorApi);
+    }
+
+    /**
+     * Fill {@code out} with the short-term and full-orbit series of every
+     * spacecraft that has at least two observations; the others are left out.
+     *
+     * @param observations recent positions per externalId, oldest first
+     */
+    public void propagate(Map<Long, List<TelemetryPosition>> observations, UUID enterpriseId,
+                          int steps, int stepSeconds, int numPoints, OrbitBatch out) {
+        out.reset(observations.size(), steps, stepSeconds, numPoints);
+        for (Map.Entry<Long, List<TelemetryPosition>> entry : observations.entrySet()) {
+            PredictionService.OrbitState state =
+                    predictionService.prepare(entry.getValue(), entry.getKey(), enterpriseId);
+            if (state != null) {
+                out.add(entry.getKey(), state);
+            }
+        }
+        if (out.size == 0) return;
+
+        out.fillLinear();
+        for (int j = 0; j <= numPoints; j++) {
+            kernel.fullOrbitRow(out, j);
+        }
+        out.fillFullOrbitTimes();
+    }
+
+    public boolean isVectorized() {
+        return !(kernel instanceof ScalarOrbitKernel);
+    }
+
+    private static OrbitKernel selectKernel(boolean vectorApi) {
+        if (!vectorApi) {
+            return new ScalarOrbitKernel();
+        }
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            log.warn("telemetry.prediction.vector-api is on but the JVM was started without "
+                    + "--add-modules jdk.incubator.vector; using the scalar kernel");
+            return new ScalarOrbitKernel();
+        }
+        try {
+            // only on the classpath in builds with the vector-api profile
+            OrbitKernel vector = (OrbitKernel) Class.forName(VECTOR_KERNEL)
+                    .getDeclaredConstructor().newInstance();
+            log.info("Batch orbit propagation on the Vector API kernel");
+            return vector;
+        } catch (ReflectiveOperationException e) {
+            log.warn("telemetry.prediction.vector-api is on but this build has no {} "
+                    + "(build with -Pvector-api); using the scalar kernel", VECTOR_KERNEL);
+            return new ScalarOrbitKernel();
+        }
+    }
+}
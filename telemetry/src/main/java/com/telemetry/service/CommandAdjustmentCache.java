@@ -0,0 +1,202 @@
+// src/main/java/com/telemetry/service/CommandAdjustmentCache.java
+package com.telemetry.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telemetry.client.SpacecraftClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Latest parsed {@link CommandAdjustments} per (externalId, enterpriseId).
+ *
+ * Predictions read this map only and never wait on the spacecraft service:
+ * a missing or expired entry schedules a background reload on the blocking
+ * executor and the caller gets whatever is cached (nothing for a spacecraft
+ * seen for the first time). Command events from the spacecraft service call
+ * {@link #invalidate} so an executed command is picked up straight away; the
+ * TTL only covers missed events.
+ */
+@Component
+public class CommandAdjustmentCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CommandAdjustmentCache.class);
+
+    private final SpacecraftClient spacecraftClient;
+    private final ExecutorService executor;
+    private final long ttlMs;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    /**
+     * Keys with a reload running. Starting, re-requesting and finishing a reload
+     * are each one {@code compute} on this map, so an invalidation that lands
+     * while a reload finishes is never lost.
+     */
+    private final Map<Key, Reload> reloads = new ConcurrentHashMap<>();
+
+    public CommandAdjustmentCache(
+            SpacecraftClient spacecraftClient,
+            @Qualifier("commandExecutor") ExecutorService executor,
+            @Value("${telemetry.commands.cache-ttl-ms:300000}") long ttlMs
+    ) {
+        this.spacecraftClient = spacecraftClient;
+        this.executor = executor;
+        this.ttlMs = ttlMs;
+    }
+
+    /** Cached adjustments, or {@code null} if there are none (yet). Never blocks. */
+    CommandAdjustments get(Long externalId, UUID enterpriseId) {
+        if (externalId == null || enterpriseId == null) {
+            return null;
+        }
+        Key key = new Key(externalId, enterpriseId);
+        Entry entry = entries.get(key);
+        if (entry == null || System.currentTimeMillis() - entry.loadedAt >= ttlMs) {
+            reload(key, false);
+        }
+        return entry == null ? null : entry.adjustments;
+    }
+
+    /** A command changed for this spacecraft: reload it now. */
+    public void invalidate(long externalId, UUID enterpriseId) {
+        reload(new Key(externalId, enterpriseId), true);
+    }
+
+    /** Same as {@link #invalidate(long, UUID)} for every enterprise tracking this externalId. */
+    public void invalidate(long externalId) {
+        entries.keySet().stream()
+                .filter(k -> k.externalId == externalId)
+                .forEach(k -> invalidate(k.externalId, k.enterpriseId));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Start a reload of {@code key} unless one is running. An invalidation that
+     * finds one running marks it to go again once the current fetch is done,
+     * since that fetch may predate the command change.
+     */
+    private void reload(Key key, boolean invalidated) {
+        boolean[] start = new boolean[1];
+        reloads.compute(key, (k, running) -> {
+            if (running == null) {
+                start[0] = true;
+                return Reload.RUNNING;
+            }
+            return invalidated ? Reload.AGAIN : running;
+        });
+        if (!start[0]) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                Entry previous = entries.get(key);
+                CommandAdjustments adjustments = previous == null ? null : previous.adjustments;
+                do {
+                    try {
+                        adjustments = load(key);
+                    } catch (Exception e) {
+                        // keep serving the previous value until the next TTL expiry
+                        log.warn("Failed to fetch commands for spacecraft {}: {}", key.externalId, e.getMessage());
+                    }
+                    entries.put(key, new Entry(adjustments, System.currentTimeMillis()));
+                    // go again if invalidated meanwhile, otherwise finish
+                } while (reloads.compute(key, (k, running) -> running == Reload.AGAIN ? Reload.RUNNING : null) != null);
+            } catch (RuntimeException e) {
+                reloads.remove(key);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Fetch and parse the latest executed ADJUST_TRAJECTORY command for a spacecraft
+     */
+    private CommandAdjustments load(Key key) {
+        List<SpacecraftClient.CommandDto> commands =
+                spacecraftClient.findCommandsForSpacecraft(key.externalId, key.enterpriseId);
+
+        Optional<SpacecraftClient.CommandDto> latestCommand = commands.stream()
+                .filter(cmd -> cmd.commandType() == SpacecraftClient.CommandType.ADJUST_TRAJECTORY)
+                .filter(cmd -> Boolean.TRUE.equals(cmd.status()))
+                .filter(cmd -> cmd.executedAt() != null)
+                .max((c1, c2) -> c1.executedAt().compareTo(c2.executedAt()));
+
+        return latestCommand.map(cmd -> parseCommandPayload(cmd.payload())).orElse(null);
+    }
+
+    /**
+     * Parse command payload for trajectory adjustments
+     */
+    private CommandAdjustments parseCommandPayload(String payload) {
+        if (payload == null || payload.trim().isEmpty() || "{}".equals(payload.trim())) {
+            log.debug("Skipping empty or null command payload");
+            return null;
+        }
+
+        try {
+            JsonNode payloadNode = objectMapper.readTree(payload);
+            CommandAdjustments adjustments = new CommandAdjustments();
+
+            // Prefer new format: speed, acceleration, orbitRadius
+            if (payloadNode.has("speed")) {
+                adjustments.speedMultiplier = payloadNode.get("speed").asDouble();
+            }
+            if (payloadNode.has("acceleration")) {
+                adjustments.acceleration = payloadNode.get("acceleration").asDouble();
+            }
+            if (payloadNode.has("orbitRadius")) {
+                adjustments.orbitRadiusAdjustment = payloadNode.get("orbitRadius").asDouble();
+            }
+
+            // Fallback to legacy format: altitude, inclination, targetOrbit
+            if (adjustments.speedMultiplier == 1.0 && payloadNode.has("altitude")) {
+                // Approximate altitude change as orbit radius adjustment
+                adjustments.orbitRadiusAdjustment = payloadNode.get("altitude").asDouble();
+            }
+            if (adjustments.orbitRadiusAdjustment == 0.0 && payloadNode.has("targetOrbit")) {
+                adjustments.orbitRadiusAdjustment = payloadNode.get("targetOrbit").asDouble();
+            }
+            // Note: inclination adjustments would require more complex orbital mechanics
+            // For now, we'll log and ignore them
+            if (payloadNode.has("inclination")) {
+                log.info("Inclination adjustment requested but not implemented: {}",
+                        payloadNode.get("inclination").asDouble());
+            }
+
+            // Return null if no useful adjustments were found
+            if (adjustments.speedMultiplier == 1.0 &&
+                    adjustments.acceleration == 0.0 &&
+                    adjustments.orbitRadiusAdjustment == 0.0) {
+                log.debug("No usable trajectory adjustments found in payload: {}", payload);
+                return null;
+            }
+
+            log.info("Parsed command adjustments: {}", adjustments);
+            return adjustments;
+
+        } catch (Exception e) {
+            log.warn("Failed to parse command payload '{}': {}", payload, e.getMessage());
+            return null;
+        }
+    }
+
+    private record Key(long externalId, UUID enterpriseId) { }
+
+    private record Entry(CommandAdjustments adjustments, long loadedAt) { }
+
+    private enum Reload { RUNNING, AGAIN }
+}
@@ -0,0 +1,19 @@
+// src/main/java/com/telemetry/service/CommandAdjustments.java
+package com.telemetry.service;
+
+/**
+ * Trajectory adjustments parsed from the latest executed ADJUST_TRAJECTORY
+ * command of a spacecraft. Instances are shared through
+ * {@link CommandAdjustmentCache} and must not be modified once built.
+ */
+final class CommandAdjustments {
+    double speedMultiplier = 1.0;
+    double acceleration = 0.0;
+    double orbitRadiusAdjustment = 0.0;
+
+    @Override
+    public String toString() {
+        return String.format("CommandAdjustments{speed=%.3f, accel=%.3f, orbit=%.3f}",
+                speedMultiplier, acceleration, orbitRadiusAdjustment);
+    }
+}
@@ -0,0 +1,137 @@
+// src/main/java/com/telemetry/service/LatestTrajectoryCache.java
+package com.telemetry.service;
+
+import com.telemetry.model.TrajectoryData;
+import com.telemetry.repository.TrajectoryDataRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process store of the newest TrajectoryData for each externalId, and the
+ * point before it (the two observations a prediction is fitted from).
+ *
+ * Fed by SatelliteTelemetryService on every persisted batch and warmed from
+ * the database once at startup, so the "latest state" read paths (enterprise
+ * snapshots, average orbit, summaries, the 5s Kafka publisher) no longer issue
+ * one query per SatelliteReference.
+ */
+@Component
+public class LatestTrajectoryCache {
+
+    private static final Logger log = LoggerFactory.getLogger(LatestTrajectoryCache.class);
+
+    private final TrajectoryDataRepository trajectoryRepo;
+    private final Map<Long, Recent> latest = new ConcurrentHashMap<>();
+
+    /** false until the startup warm-up has run; misses fall back to the DB until then */
+    private volatile boolean warmed = false;
+
+    public LatestTrajectoryCache(TrajectoryDataRepository trajectoryRepo) {
+        this.trajectoryRepo = trajectoryRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            trajectoryRepo.findLatestForEachExternalId().forEach(this::record);
+            warmed = true;
+            log.info("Latest-trajectory cache warmed with {} spacecraft", latest.size());
+        } catch (Exception e) {
+            log.warn("Latest-trajectory cache warm-up failed, falling back to DB reads: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Remember a freshly persisted point, keeping whichever of the cached and
+     * the new row carries the later timestamp.
+     */
+    public void record(TrajectoryData data) {
+        latest.merge(data.getExternalId(), new Recent(data, null, false), (current, incoming) -> current.with(data));
+    }
+
+    public void recordAll(Collection<TrajectoryData> batch) {
+        batch.forEach(this::record);
+    }
+
+    /**
+     * Newest known point for a spacecraft. Before warm-up a miss is loaded
+     * from the DB once; afterwards a miss means there is no telemetry yet.
+     */
+    public Optional<TrajectoryData> getLatest(long externalId) {
+        Recent cached = latest.get(externalId);
+        if (cached != null || warmed) {
+            return Optional.ofNullable(cached).map(Recent::latest);
+        }
+
+        Optional<TrajectoryData> fromDb =
+                trajectoryRepo.findTopByIdExternalIdOrderByIdTimestampDesc(externalId);
+        fromDb.ifPresent(this::record);
+        return fromDb;
+    }
+
+    /**
+     * The two newest points for a spacecraft, oldest first; fewer if it has
+     * fewer. The warm-up only loads the newest row, so a missing previous
+     * point is read from the DB once and kept from then on. A spacecraft with
+     * a single row is remembered as such, and after warm-up an unknown one has
+     * no rows, so neither goes back to the DB.
+     */
+    public List<TrajectoryData> getLatestTwo(long externalId) {
+        Recent cached = latest.get(externalId);
+        if (cached == null && warmed) {
+            return List.of();
+        }
+        if (cached == null || (cached.previous() == null && !cached.historyLoaded())) {
+            trajectoryRepo.findByIdExternalIdOrderByIdTimestampDesc(externalId, PageRequest.of(0, 2))
+                    .forEach(this::record);
+            // the DB had no older row; the next recorded point supplies one
+            cached = latest.computeIfPresent(externalId, (id, recent) -> recent.withHistoryLoaded());
+        }
+        if (cached == null) {
+            return List.of();
+        }
+        return cached.previous() == null
+                ? List.of(cached.latest())
+                : List.of(cached.previous(), cached.latest());
+    }
+
+    public int size() {
+        return latest.size();
+    }
+
+    /**
+     * Newest point and the one before it ({@code null} until known);
+     * {@code historyLoaded} once the DB was asked for the previous point.
+     */
+    private record Recent(TrajectoryData latest, TrajectoryData previous, boolean historyLoaded) {
+
+        Recent with(TrajectoryData incoming) {
+            long t = incoming.getTimestamp().getTime();
+            long newest = latest.getTimestamp().getTime();
+            if (t > newest) {
+                return new Recent(incoming, latest, historyLoaded);
+            }
+            if (t == newest) {
+                return new Recent(incoming, previous, historyLoaded);
+            }
+            if (previous == null || t >= previous.getTimestamp().getTime()) {
+                return new Recent(latest, incoming, historyLoaded);
+            }
+            return this;
+        }
+
+        Recent withHistoryLoaded() {
+            return new Recent(latest, previous, true);
+        }
+    }
+}
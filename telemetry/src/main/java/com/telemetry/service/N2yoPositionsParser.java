@@ -0,0 +1,117 @@
+// src/main/java/com/telemetry/service/N2yoPositionsParser.java
+package com.telemetry.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.telemetry.dto.TelemetryInfo;
+import com.telemetry.dto.TelemetryPosition;
+import com.telemetry.dto.TelemetryResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token-streaming reader for the N2YO /satellite/positions payload.
+ *
+ * Reads fields straight off the parser into the float-backed TelemetryPosition,
+ * so neither the response body as a String nor a JsonNode tree is ever built.
+ * Expected shape:
+ * <pre>
+ * {"info":{"satname":"SPACE STATION","satid":25544,"transactionscount":5},
+ *  "positions":[{"satlatitude":-39.9,"satlongitude":158.3,"sataltitude":417.8,
+ *                "azimuth":254.5,"elevation":-69.1,"ra":44.7,"dec":-43.7,
+ *                "timestamp":1521354418,"eclipsed":false}, ...]}
+ * </pre>
+ */
+public class N2yoPositionsParser {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public TelemetryResponse parse(InputStream body) throws IOException {
+        try (JsonParser p = jsonFactory.createParser(body)) {
+            return readResponse(p);
+        }
+    }
+
+    public TelemetryResponse parse(String body) throws IOException {
+        try (JsonParser p = jsonFactory.createParser(body)) {
+            return readResponse(p);
+        }
+    }
+
+    private TelemetryResponse readResponse(JsonParser p) throws IOException {
+        if (p.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Malformed telemetry response");
+        }
+
+        TelemetryInfo info = null;
+        List<TelemetryPosition> positions = null;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            switch (field) {
+                case "error"     -> throw new IOException("API Error: " + p.getValueAsString());
+                case "info"      -> info = value == JsonToken.START_OBJECT ? readInfo(p) : null;
+                case "positions" -> positions = value == JsonToken.START_ARRAY ? readPositions(p) : null;
+                default          -> p.skipChildren();
+            }
+        }
+
+        if (positions == null || positions.size() < 2) {
+            throw new IOException("Not enough positions in response");
+        }
+        return new TelemetryResponse(positions, info);
+    }
+
+    private TelemetryInfo readInfo(JsonParser p) throws IOException {
+        TelemetryInfo info = new TelemetryInfo();
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "satname"           -> info.setSatName(p.getValueAsString());
+                case "satid"             -> info.setSatId(p.getValueAsString());
+                case "transactionscount" -> info.setTransactionsCount(p.getValueAsLong());
+                default                  -> p.skipChildren();
+            }
+        }
+        return info;
+    }
+
+    private List<TelemetryPosition> readPositions(JsonParser p) throws IOException {
+        List<TelemetryPosition> positions = new ArrayList<>();
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            float lat = 0f, lon = 0f, alt = 0f, az = 0f, el = 0f, ra = 0f, dec = 0f;
+            long unixSec = 0L;
+
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "satlatitude"          -> lat = floatValue(p);
+                    case "satlongitude"         -> lon = floatValue(p);
+                    case "sataltitude"          -> alt = floatValue(p);
+                    case "azimuth"              -> az  = floatValue(p);
+                    case "elevation"            -> el  = floatValue(p);
+                    case "ra", "rightAscension" -> ra  = floatValue(p);
+                    case "dec", "declination"   -> dec = floatValue(p);
+                    case "timestamp"            -> unixSec = p.getValueAsLong();
+                    default                     -> p.skipChildren();
+                }
+            }
+
+            positions.add(new TelemetryPosition(lat, lon, alt, az, el, ra, dec,
+                    new Timestamp(unixSec * 1000L)));
+        }
+        return positions;
+    }
+
+    private static float floatValue(JsonParser p) throws IOException {
+        return p.currentToken().isNumeric() ? p.getFloatValue() : 0f;
+    }
+}
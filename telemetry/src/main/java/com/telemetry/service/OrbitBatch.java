@@ -0,0 +1,178 @@
+// src/main/java/com/telemetry/service/OrbitBatch.java
+package com.telemetry.service;
+
+import com.telemetry.dto.OrbitSeries;
+
+/**
+ * State vectors and predicted series for many spacecraft, stored as columns.
+ *
+ * Inputs hold one slot per spacecraft. Outputs are point-major
+ * ({@code [point * size + spacecraft]}) so that, for a given point, the
+ * kernels sweep contiguous arrays across spacecraft. Instances are reused
+ * between ticks: arrays only grow.
+ */
+public final class OrbitBatch {
+
+    int size;
+    int steps;
+    int stepSeconds;
+    int numPoints;
+
+    // inputs, one per spacecraft
+    long[] externalIds = new long[0];
+    /** semi-major axis, eccentricity, semi-minor axis a·√(1−e²), mean anomaly at epoch, period (s) */
+    double[] a = new double[0], e = new double[0], b = new double[0], m0 = new double[0], period = new double[0];
+    /** orbital-plane → ECEF rotation, as in {@link PredictionService.OrbitState} */
+    double[] xx = new double[0], xy = new double[0], yx = new double[0],
+             yy = new double[0], zx = new double[0], zy = new double[0];
+    long[] epoch = new long[0];
+    double[] lat0 = new double[0], lon0 = new double[0], alt0 = new double[0];
+    double[] dLat = new double[0], dLon = new double[0], dAlt = new double[0];
+    boolean[] hasRate = new boolean[0];
+
+    // kernel scratch, one per spacecraft
+    double[] anomaly = new double[0], eccentric = new double[0];
+    double[] x = new double[0], y = new double[0], z = new double[0], r = new double[0];
+
+    // outputs, point-major
+    double[] shortLat = new double[0], shortLon = new double[0], shortAlt = new double[0];
+    double[] fullLat = new double[0], fullLon = new double[0], fullAlt = new double[0];
+    long[] fullTime = new long[0];
+
+    private final OrbitSeries shortView = new OrbitSeries(61, false);
+    private final OrbitSeries fullView = new OrbitSeries(121, true);
+
+    /** Empty the batch and make room for {@code capacity} spacecraft at these sampling settings. */
+    void reset(int capacity, int steps, int stepSeconds, int numPoints) {
+        this.size = 0;
+        this.steps = steps;
+        this.stepSeconds = stepSeconds;
+        this.numPoints = numPoints;
+
+        if (externalIds.length < capacity) {
+            externalIds = new long[capacity];
+            a = new double[capacity];
+            e = new double[capacity];
+            b = new double[capacity];
+            m0 = new double[capacity];
+            period = new double[capacity];
+            xx = new double[capacity];
+            xy = new double[capacity];
+            yx = new double[capacity];
+            yy = new double[capacity];
+            zx = new double[capacity];
+            zy = new double[capacity];
+            epoch = new long[capacity];
+            lat0 = new double[capacity];
+            lon0 = new double[capacity];
+            alt0 = new double[capacity];
+            dLat = new double[capacity];
+            dLon = new double[capacity];
+            dAlt = new double[capacity];
+            hasRate = new boolean[capacity];
+            anomaly = new double[capacity];
+            eccentric = new double[capacity];
+            x = new double[capacity];
+            y = new double[capacity];
+            z = new double[capacity];
+            r = new double[capacity];
+        }
+        int shortCells = (steps + 1) * capacity;
+        if (shortLat.length < shortCells) {
+            shortLat = new double[shortCells];
+            shortLon = new double[shortCells];
+            shortAlt = new double[shortCells];
+        }
+        int fullCells = (numPoints + 1) * capacity;
+        if (fullLat.length < fullCells) {
+            fullLat = new double[fullCells];
+            fullLon = new double[fullCells];
+            fullAlt = new double[fullCells];
+            fullTime = new long[fullCells];
+        }
+    }
+
+    /** Append a fitted spacecraft. */
+    void add(long externalId, PredictionService.OrbitState s) {
+        int i = size++;
+        double ecc = s.elements[1];
+        externalIds[i] = externalId;
+        a[i]      = s.elements[0];
+        e[i]      = ecc;
+        b[i]      = s.elements[0] * Math.sqrt(1 - ecc * ecc);
+        m0[i]     = s.elements[5];
+        period[i] = s.period;
+        xx[i] = s.xx;
+        xy[i] = s.xy;
+        yx[i] = s.yx;
+        yy[i] = s.yy;
+        zx[i] = s.zx;
+        zy[i] = s.zy;
+        epoch[i]   = s.last.getTimestamp().getTime();
+        lat0[i]    = s.last.getLatitude();
+        lon0[i]    = s.last.getLongitude();
+        alt0[i]    = s.last.getAltitude();
+        hasRate[i] = s.hasRate;
+        dLat[i]    = s.dLat;
+        dLon[i]    = s.dLon;
+        dAlt[i]    = s.dAlt + s.radiusRate(stepSeconds);
+    }
+
+    /** Linear short-term series for every spacecraft; plain arithmetic the JIT vectorizes. */
+    void fillLinear() {
+        int n = size;
+        for (int j = 0; j <= steps; j++) {
+            int row = j * n;
+            for (int i = 0; i < n; i++) {
+                shortLat[row + i] = lat0[i] + dLat[i] * j * stepSeconds;
+                shortLon[row + i] = lon0[i] + dLon[i] * j * stepSeconds;
+                shortAlt[row + i] = alt0[i] + dAlt[i] * j * stepSeconds;
+            }
+        }
+    }
+
+    /** Full-orbit timestamps: one revolution from each spacecraft's epoch. */
+    void fillFullOrbitTimes() {
+        int n = size;
+        for (int j = 0; j <= numPoints; j++) {
+            double frac = (double) j / numPoints;
+            int row = j * n;
+            for (int i = 0; i < n; i++) {
+                fullTime[row + i] = epoch[i] + (long)(frac * period[i] * 1000);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long externalId(int i) {
+        return externalIds[i];
+    }
+
+    /**
+     * Short-term series of spacecraft {@code i}, copied into a view owned by
+     * this batch and overwritten by the next call.
+     */
+    public OrbitSeries shortTerm(int i) {
+        int points = hasRate[i] ? steps + 1 : 1;
+        shortView.reset(points);
+        for (int j = 0; j < points; j++) {
+            int cell = j * size + i;
+            shortView.add(shortLat[cell], shortLon[cell], shortAlt[cell],
+                    epoch[i] + (long) j * stepSeconds * 1000);
+        }
+        return shortView;
+    }
+
+    /** Full-orbit series of spacecraft {@code i}; same view semantics as {@link #shortTerm(int)}. */
+    public OrbitSeries fullOrbit(int i) {
+        fullView.reset(numPoints + 1);
+        for (int j = 0; j <= numPoints; j++) {
+            int cell = j * size + i;
+            fullView.add(fullLat[cell], fullLon[cell], fullAlt[cell], fullTime[cell]);
+        }
+        return fullView;
+    }
+}
@@ -0,0 +1,12 @@
+// src/main/java/com/telemetry/service/OrbitKernel.java
+package com.telemetry.service;
+
+/**
+ * Keplerian full-orbit propagation over an {@link OrbitBatch}, one point
+ * ({@code j}) at a time across every spacecraft in the batch.
+ */
+interface OrbitKernel {
+
+    /** Fill lat/lon/alt of full-orbit point {@code j} for every spacecraft. */
+    void fullOrbitRow(OrbitBatch batch, int j);
+}
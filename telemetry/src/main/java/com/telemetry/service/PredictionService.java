@@ -1,9 +1,8 @@
 // src/main/java/com/telemetry/service/PredictionService.java
 package com.telemetry.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.telemetry.client.SpacecraftClient;
+import com.telemetry.dto.OrbitPredictions;
+import com.telemetry.dto.OrbitSeries;
 import com.telemetry.dto.PredictiveOrbitPoint;
 import com.telemetry.dto.TelemetryPosition;
 import com.telemetry.model.SatelliteReference;
@@ -15,22 +14,23 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
 public class PredictionService {
 
     private static final Logger log = LoggerFactory.getLogger(PredictionService.class);
-    private static final double EARTH_MU      = 398600.4418; // km³/s²
-    private static final double EARTH_RADIUS  = 6371.0;      // km
-    private static final double MIN_ALTITUDE  = 350.0;       // km
+    static final double EARTH_MU      = 398600.4418; // km³/s²
+    static final double EARTH_RADIUS  = 6371.0;      // km
+    static final double MIN_ALTITUDE  = 350.0;       // km
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    /** Last orbit fit per spacecraft, reused while no newer observation has arrived. */
+    private final Map<StateKey, OrbitState> orbitStates = new ConcurrentHashMap<>();
 
     @Autowired
     private SatelliteReferenceRepository satRefRepo;
@@ -39,7 +39,7 @@ public class PredictionService {
     private TrajectoryDataRepository    trajRepo;
 
     @Autowired
-    private SpacecraftClient spacecraftClient;
+    private CommandAdjustmentCache commandCache;
 
     /**
      * Public API: fetch stored telemetry for this satellite (by its local UUID),
@@ -96,225 +96,251 @@ public class PredictionService {
 
     public List<PredictiveOrbitPoint> predictFullOrbit(List<TelemetryPosition> positions,
                                                        int numPoints, Long externalId, UUID enterpriseId) {
-        List<PredictiveOrbitPoint> predictions = new ArrayList<>();
-        if (positions.size() < 2) return predictions;
+        OrbitState state = prepare(positions, externalId, enterpriseId);
+        if (state == null) return new ArrayList<>();
+        OrbitSeries series = new OrbitSeries(numPoints + 1, true);
+        sampleFullOrbit(state, numPoints, series);
+        return series.toPoints();
+    }
+
+    // Internal overload: linear‐step prediction
+    public List<PredictiveOrbitPoint> predictOrbit(List<TelemetryPosition> positions,
+                                                   int steps,
+                                                   int stepSeconds) {
+        return predictOrbit(positions, steps, stepSeconds, null, null);
+    }
+
+    public List<PredictiveOrbitPoint> predictOrbit(List<TelemetryPosition> positions,
+                                                   int steps,
+                                                   int stepSeconds, Long externalId, UUID enterpriseId) {
+        OrbitState state = prepare(positions, externalId, enterpriseId);
+        if (state == null) return new ArrayList<>();
+        OrbitSeries series = new OrbitSeries(steps + 1, false);
+        sampleLinear(state, steps, stepSeconds, series);
+        return series.toPoints();
+    }
+
+    /**
+     * Short-term and full-orbit series from a single propagation: command
+     * adjustments, velocity and orbital elements are derived once and both
+     * series are sampled from them.
+     */
+    public OrbitPredictions predict(List<TelemetryPosition> positions,
+                                    int steps, int stepSeconds, int numPoints,
+                                    Long externalId, UUID enterpriseId) {
+        OrbitSeries shortTerm = new OrbitSeries(steps + 1, false);
+        OrbitSeries fullOrbit = new OrbitSeries(numPoints + 1, true);
+        propagate(positions, steps, stepSeconds, numPoints, externalId, enterpriseId, shortTerm, fullOrbit);
+        return new OrbitPredictions(shortTerm.toPoints(), fullOrbit.toPoints());
+    }
+
+    /**
+     * Allocation-free form of {@link #predict}: writes both series into the
+     * caller's buffers, which are emptied first and left empty with fewer than
+     * two positions. Callers on a hot path reuse the buffers across ticks.
+     */
+    public void propagate(List<TelemetryPosition> positions,
+                          int steps, int stepSeconds, int numPoints,
+                          Long externalId, UUID enterpriseId,
+                          OrbitSeries shortTerm, OrbitSeries fullOrbit) {
+        shortTerm.reset(steps + 1);
+        fullOrbit.reset(numPoints + 1);
+        OrbitState state = prepare(positions, externalId, enterpriseId);
+        if (state == null) return;
+        sampleLinear(state, steps, stepSeconds, shortTerm);
+        sampleFullOrbit(state, numPoints, fullOrbit);
+    }
+
+    /**
+     * Derive the state both series are sampled from, or {@code null} with fewer
+     * than two positions. The fit is reused until a newer observation or a
+     * different command arrives, so between polls a tick only re-samples the
+     * mean anomaly.
+     */
+    OrbitState prepare(List<TelemetryPosition> positions, Long externalId, UUID enterpriseId) {
+        if (positions.size() < 2) return null;
+
+        TelemetryPosition prev = positions.get(positions.size() - 2);
+        TelemetryPosition last = positions.get(positions.size() - 1);
+        CommandAdjustments adjustments = commandCache.get(externalId, enterpriseId);
+
+        StateKey key = externalId == null ? null : new StateKey(externalId, enterpriseId);
+        if (key != null) {
+            OrbitState cached = orbitStates.get(key);
+            if (cached != null && cached.fittedFrom(prev, last, adjustments)) {
+                return cached;
+            }
+        }
 
-        TelemetryPosition latest = positions.get(positions.size() - 1);
         double[] r = latLongAltToCartesian(
-                latest.getLatitude(),
-                latest.getLongitude(),
-                latest.getAltitude()
+                last.getLatitude(),
+                last.getLongitude(),
+                last.getAltitude()
         );
         double[] v = estimateVelocityVector(positions);
 
         // Apply command adjustments if available
-        CommandAdjustments adjustments = getLatestTrajectoryCommand(externalId, enterpriseId);
         if (adjustments != null) {
             log.info("Applying command adjustments for spacecraft {}: {}", externalId, adjustments);
             v = applyVelocityAdjustments(v, adjustments);
             r = applyPositionAdjustments(r, adjustments);
         }
 
-        double[] elements = calculateOrbitalElements(r, v);
-
-        double a     = elements[0];
-        double e     = elements[1];
-        double inc   = elements[2];
-        double Omega = elements[3];
-        double omega = elements[4];
-        double M0    = elements[5];
+        OrbitState state = new OrbitState(prev, last, adjustments, calculateOrbitalElements(r, v));
+        if (key != null) {
+            orbitStates.put(key, state);
+        }
+        return state;
+    }
 
-        double period = 2 * Math.PI * Math.sqrt(Math.pow(a, 3) / EARTH_MU);
-        long baseTime = latest.getTimestamp().getTime();
+    /** One revolution from the fitted epoch; scalar math only, nothing allocated per point. */
+    private void sampleFullOrbit(OrbitState s, int numPoints, OrbitSeries out) {
+        double a  = s.elements[0];
+        double e  = s.elements[1];
+        double M0 = s.elements[5];
+        double sqrtPlus  = Math.sqrt(1 + e);
+        double sqrtMinus = Math.sqrt(1 - e);
+        long baseTime = s.last.getTimestamp().getTime();
 
         for (int j = 0; j <= numPoints; j++) {
             double frac = (double) j / numPoints;
             double M    = normalizeAngle(M0 + 2 * Math.PI * frac);
             double E    = solveKepler(M, e);
             double nu   = 2 * Math.atan2(
-                    Math.sqrt(1 + e) * Math.sin(E / 2),
-                    Math.sqrt(1 - e) * Math.cos(E / 2)
+                    sqrtPlus * Math.sin(E / 2),
+                    sqrtMinus * Math.cos(E / 2)
             );
             double rMag = a * (1 - e * Math.cos(E));
             double xOrb = rMag * Math.cos(nu);
             double yOrb = rMag * Math.sin(nu);
 
-            double[] pos = rotateToECEF(xOrb, yOrb, 0, inc, Omega, omega);
-            double[] lla = cartesianToLatLongAlt(pos[0], pos[1], pos[2]);
+            // orbital plane → ECEF (z = 0 in the plane)
+            double x = s.xx * xOrb + s.xy * yOrb;
+            double y = s.yx * xOrb + s.yy * yOrb;
+            double z = s.zx * xOrb + s.zy * yOrb;
 
-            double alt = Math.max(lla[2], MIN_ALTITUDE);
-            long t    = baseTime + (long)(frac * period * 1000);
+            // ECEF → lat/lon/alt
+            double r   = Math.hypot(x, Math.hypot(y, z));
+            double lat = Math.toDegrees(Math.asin(z / r));
+            double lon = Math.toDegrees(Math.atan2(y, x));
+            double alt = Math.max(r - EARTH_RADIUS, MIN_ALTITUDE);
+            long t     = baseTime + (long)(frac * s.period * 1000);
 
-            predictions.add(new PredictiveOrbitPoint(
-                    lla[0], lla[1], alt,
-                    new Timestamp(t),
-                    true
-            ));
+            out.add(lat, lon, alt, t);
         }
-
-        return predictions;
-    }
-
-    // Internal overload: linear‐step prediction
-    public List<PredictiveOrbitPoint> predictOrbit(List<TelemetryPosition> positions,
-                                                   int steps,
-                                                   int stepSeconds) {
-        return predictOrbit(positions, steps, stepSeconds, null, null);
     }
 
-    public List<PredictiveOrbitPoint> predictOrbit(List<TelemetryPosition> positions,
-                                                   int steps,
-                                                   int stepSeconds, Long externalId, UUID enterpriseId) {
-        List<PredictiveOrbitPoint> predictions = new ArrayList<>();
-        if (positions.size() < 2) return predictions;
-
-        TelemetryPosition prev = positions.get(positions.size() - 2);
-        TelemetryPosition last = positions.get(positions.size() - 1);
+    private void sampleLinear(OrbitState s, int steps, int stepSeconds, OrbitSeries out) {
+        TelemetryPosition last = s.last;
 
         // current point
-        predictions.add(new PredictiveOrbitPoint(
-                last.getLatitude(),
-                last.getLongitude(),
-                last.getAltitude(),
-                last.getTimestamp(),
-                false
-        ));
-
-        long dtSec = (last.getTimestamp().getTime() - prev.getTimestamp().getTime()) / 1000;
-        if (dtSec <= 0) return predictions;
-
-        double dLat = (last.getLatitude()  - prev.getLatitude())  / dtSec;
-        double dLon = (last.getLongitude() - prev.getLongitude()) / dtSec;
-        double dAlt = (last.getAltitude()  - prev.getAltitude())  / dtSec;
+        out.add(last.getLatitude(), last.getLongitude(), last.getAltitude(), last.getTimestamp().getTime());
 
-        // Apply command adjustments if available
-        CommandAdjustments adjustments = getLatestTrajectoryCommand(externalId, enterpriseId);
-        if (adjustments != null) {
-            log.info("Applying command adjustments for spacecraft {}: {}", externalId, adjustments);
-
-            // Apply speed adjustment to velocity deltas
-            if (adjustments.speedMultiplier != 1.0) {
-                dLat *= adjustments.speedMultiplier;
-                dLon *= adjustments.speedMultiplier;
-                dAlt *= adjustments.speedMultiplier;
-            }
-
-            // Apply acceleration (velocity change over time)
-            if (adjustments.acceleration != 0.0) {
-                // Convert lat/lon changes to approximate velocity in km/s
-                double totalVelocity = Math.sqrt(dLat*dLat + dLon*dLon + dAlt*dAlt);
-                if (totalVelocity > 0) {
-                    double accelerationFactor = 1.0 + (adjustments.acceleration / totalVelocity);
-                    dLat *= accelerationFactor;
-                    dLon *= accelerationFactor;
-                    dAlt *= accelerationFactor;
-                }
-            }
+        if (!s.hasRate) return;
 
-            // Apply orbit radius adjustment to altitude
-            if (adjustments.orbitRadiusAdjustment != 0.0) {
-                dAlt += adjustments.orbitRadiusAdjustment / stepSeconds;
-            }
-        }
+        double dLat = s.dLat;
+        double dLon = s.dLon;
+        double dAlt = s.dAlt + s.radiusRate(stepSeconds);
 
         long base = last.getTimestamp().getTime();
         for (int i = 1; i <= steps; i++) {
             long t = base + (long)i * stepSeconds * 1000;
-            predictions.add(new PredictiveOrbitPoint(
+            out.add(
                     last.getLatitude()  + dLat * i * stepSeconds,
                     last.getLongitude() + dLon * i * stepSeconds,
                     last.getAltitude()  + dAlt * i * stepSeconds,
-                    new Timestamp(t),
-                    false
-            ));
+                    t
+            );
         }
-
-        return predictions;
     }
 
     /**
-     * Fetch and parse the latest executed ADJUST_TRAJECTORY command for a spacecraft
+     * Latest two observations, the applied command, the Keplerian elements
+     * {a, e, i, Ω, ω, M0} and the per-second lat/lon/alt rates of the linear series.
      */
-    private CommandAdjustments getLatestTrajectoryCommand(Long externalId, UUID enterpriseId) {
-        if (externalId == null || enterpriseId == null) {
-            return null;
-        }
-
-        try {
-            List<SpacecraftClient.CommandDto> commands = spacecraftClient.findCommandsForSpacecraft(externalId, enterpriseId);
-
-            Optional<SpacecraftClient.CommandDto> latestCommand = commands.stream()
-                    .filter(cmd -> cmd.commandType() == SpacecraftClient.CommandType.ADJUST_TRAJECTORY)
-                    .filter(cmd -> Boolean.TRUE.equals(cmd.status()))
-                    .filter(cmd -> cmd.executedAt() != null)
-                    .max((c1, c2) -> c1.executedAt().compareTo(c2.executedAt()));
+    static final class OrbitState {
+        final TelemetryPosition prev;
+        final TelemetryPosition last;
+        final CommandAdjustments adjustments;
+        final double[] elements;
+        final double period;
+        /** Orbital-plane → ECEF rotation (3-1-3: Ω → i → ω); the z column is unused since z = 0. */
+        final double xx, xy, yx, yy, zx, zy;
+        /** false when the two observations share a second; the linear series is then just the current point */
+        final boolean hasRate;
+        /** Linear rates per second, speed and acceleration commands applied */
+        final double dLat, dLon, dAlt;
+
+        OrbitState(TelemetryPosition prev, TelemetryPosition last,
+                   CommandAdjustments adjustments, double[] elements) {
+            this.prev        = prev;
+            this.last        = last;
+            this.adjustments = adjustments;
+            this.elements    = elements;
+            this.period      = 2 * Math.PI * Math.sqrt(Math.pow(elements[0], 3) / EARTH_MU);
+
+            double cosO = Math.cos(elements[3]), sinO = Math.sin(elements[3]);
+            double cosw = Math.cos(elements[4]), sinw = Math.sin(elements[4]);
+            double cosI = Math.cos(elements[2]), sinI = Math.sin(elements[2]);
+            this.xx = cosO*cosw - sinO*sinw*cosI;
+            this.xy = -cosO*sinw - sinO*cosw*cosI;
+            this.yx = sinO*cosw + cosO*sinw*cosI;
+            this.yy = -sinO*sinw + cosO*cosw*cosI;
+            this.zx = sinw*sinI;
+            this.zy = cosw*sinI;
+
+            long dtSec = (last.getTimestamp().getTime() - prev.getTimestamp().getTime()) / 1000;
+            this.hasRate = dtSec > 0;
+            if (!hasRate) {
+                this.dLat = this.dLon = this.dAlt = 0;
+                return;
+            }
+            double dLat = (last.getLatitude()  - prev.getLatitude())  / dtSec;
+            double dLon = (last.getLongitude() - prev.getLongitude()) / dtSec;
+            double dAlt = (last.getAltitude()  - prev.getAltitude())  / dtSec;
+
+            if (adjustments != null) {
+                // Apply speed adjustment to velocity deltas
+                if (adjustments.speedMultiplier != 1.0) {
+                    dLat *= adjustments.speedMultiplier;
+                    dLon *= adjustments.speedMultiplier;
+                    dAlt *= adjustments.speedMultiplier;
+                }
 
-            if (latestCommand.isPresent()) {
-                return parseCommandPayload(latestCommand.get().payload());
+                // Apply acceleration (velocity change over time)
+                if (adjustments.acceleration != 0.0) {
+                    // Convert lat/lon changes to approximate velocity in km/s
+                    double totalVelocity = Math.sqrt(dLat*dLat + dLon*dLon + dAlt*dAlt);
+                    if (totalVelocity > 0) {
+                        double accelerationFactor = 1.0 + (adjustments.acceleration / totalVelocity);
+                        dLat *= accelerationFactor;
+                        dLon *= accelerationFactor;
+                        dAlt *= accelerationFactor;
+                    }
+                }
             }
-        } catch (Exception e) {
-            log.warn("Failed to fetch commands for spacecraft {}: {}", externalId, e.getMessage(), e);
+            this.dLat = dLat;
+            this.dLon = dLon;
+            this.dAlt = dAlt;
         }
 
-        return null;
-    }
-
-    /**
-     * Parse command payload for trajectory adjustments
-     */
-    private CommandAdjustments parseCommandPayload(String payload) {
-        if (payload == null || payload.trim().isEmpty() || "{}".equals(payload.trim())) {
-            log.debug("Skipping empty or null command payload");
-            return null;
+        /** Orbit radius command spread over one step, added to the altitude rate. */
+        double radiusRate(int stepSeconds) {
+            return adjustments == null || adjustments.orbitRadiusAdjustment == 0.0
+                    ? 0.0
+                    : adjustments.orbitRadiusAdjustment / stepSeconds;
         }
 
-        try {
-            JsonNode payloadNode = objectMapper.readTree(payload);
-            CommandAdjustments adjustments = new CommandAdjustments();
-
-            // Prefer new format: speed, acceleration, orbitRadius
-            if (payloadNode.has("speed")) {
-                adjustments.speedMultiplier = payloadNode.get("speed").asDouble();
-            }
-            if (payloadNode.has("acceleration")) {
-                adjustments.acceleration = payloadNode.get("acceleration").asDouble();
-            }
-            if (payloadNode.has("orbitRadius")) {
-                adjustments.orbitRadiusAdjustment = payloadNode.get("orbitRadius").asDouble();
-            }
-
-            // Fallback to legacy format: altitude, inclination, targetOrbit
-            if (adjustments.speedMultiplier == 1.0 && payloadNode.has("altitude")) {
-                // Approximate altitude change as orbit radius adjustment
-                adjustments.orbitRadiusAdjustment = payloadNode.get("altitude").asDouble();
-            }
-            if (adjustments.orbitRadiusAdjustment == 0.0 && payloadNode.has("targetOrbit")) {
-                adjustments.orbitRadiusAdjustment = payloadNode.get("targetOrbit").asDouble();
-            }
-            // Note: inclination adjustments would require more complex orbital mechanics
-            // For now, we'll log and ignore them
-            if (payloadNode.has("inclination")) {
-                log.info("Inclination adjustment requested but not implemented: {}",
-                        payloadNode.get("inclination").asDouble());
-            }
-
-            // Return null if no useful adjustments were found
-            if (adjustments.speedMultiplier == 1.0 &&
-                    adjustments.acceleration == 0.0 &&
-                    adjustments.orbitRadiusAdjustment == 0.0) {
-                log.debug("No usable trajectory adjustments found in payload: {}", payload);
-                return null;
-            }
-
-            log.info("Parsed command adjustments: {}", adjustments);
-            return adjustments;
-
-        } catch (Exception e) {
-            log.warn("Failed to parse command payload '{}': {}", payload, e.getMessage());
-            return null;
+        /** Same newest observations and the same command instance as this fit. */
+        boolean fittedFrom(TelemetryPosition prev, TelemetryPosition last, CommandAdjustments adjustments) {
+            return this.adjustments == adjustments
+                    && this.last.getTimestamp().getTime() == last.getTimestamp().getTime()
+                    && this.prev.getTimestamp().getTime() == prev.getTimestamp().getTime();
         }
     }
 
+    private record StateKey(long externalId, UUID enterpriseId) { }
+
     /**
      * Apply velocity adjustments based on command
      */
@@ -357,21 +383,6 @@ public class PredictionService {
         };
     }
 
-    /**
-     * Helper class to hold command-based adjustments
-     */
-    private static class CommandAdjustments {
-        double speedMultiplier = 1.0;
-        double acceleration = 0.0;
-        double orbitRadiusAdjustment = 0.0;
-
-        @Override
-        public String toString() {
-            return String.format("CommandAdjustments{speed=%.3f, accel=%.3f, orbit=%.3f}",
-                    speedMultiplier, acceleration, orbitRadiusAdjustment);
-        }
-    }
-
     // ────────────────────────────────────────────────────────────────────────────
     // Utility methods for coordinate transforms & Kepler's equation:
 
@@ -384,16 +395,6 @@ public class PredictionService {
         };
     }
 
-    private double[] cartesianToLatLongAlt(double x, double y, double z) {
-        double r = Math.hypot(x, Math.hypot(y, z));
-        double φ = Math.asin(z / r), λ = Math.atan2(y, x);
-        return new double[]{
-                Math.toDegrees(φ),
-                Math.toDegrees(λ),
-                r - EARTH_RADIUS
-        };
-    }
-
     private double[] estimateVelocityVector(List<TelemetryPosition> pos) {
         if (pos.size() < 2) return new double[]{0,0,0};
         TelemetryPosition p1 = pos.get(pos.size() - 2);
@@ -408,7 +409,7 @@ public class PredictionService {
         };
     }
 
-    private double[] calculateOrbitalElements(double[] r, double[] v) {
+    double[] calculateOrbitalElements(double[] r, double[] v) {
         double rMag = Math.hypot(r[0], Math.hypot(r[1], r[2]));
         double vMag = Math.hypot(v[0], Math.hypot(v[1], v[2]));
 
@@ -461,7 +462,7 @@ public class PredictionService {
         return new double[]{a, eMag, inc, Omega, omega, M};
     }
 
-    private double solveKepler(double M, double e) {
+    double solveKepler(double M, double e) {
         double E = M;
         for (int i = 0; i < 10; i++) {
             double f  = E - e*Math.sin(E) - M;
@@ -476,30 +477,4 @@ public class PredictionService {
         θ %= 2*Math.PI;
         return θ < 0 ? θ + 2*Math.PI : θ;
     }
-
-    private double[] rotateToECEF(double x, double y, double z,
-                                  double inc, double Omega, double ω) {
-        double cosO = Math.cos(Omega), sinO = Math.sin(Omega);
-        double cosw = Math.cos(ω),    sinw = Math.sin(ω);
-        double cosI = Math.cos(inc),  sinI = Math.sin(inc);
-
-        // 3-1-3 rotation: Ω → i → ω
-        double xx = cosO*cosw - sinO*sinw*cosI;
-        double xy = -cosO*sinw - sinO*cosw*cosI;
-        double xz = sinO*sinI;
-
-        double yx = sinO*cosw + cosO*sinw*cosI;
-        double yy = -sinO*sinw + cosO*cosw*cosI;
-        double yz = -cosO*sinI;
-
-        double zx = sinw*sinI;
-        double zy = cosw*sinI;
-        double zz = cosI;
-
-        return new double[]{
-                xx*x + xy*y + xz*z,
-                yx*x + yy*y + yz*z,
-                zx*x + zy*y + zz*z
-        };
-    }
-}
\ No newline at end of file
+}
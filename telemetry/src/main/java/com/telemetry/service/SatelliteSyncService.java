@@ -15,17 +15,21 @@ public class SatelliteSyncService {
 
     private final SpacecraftClient spacecraftClient;
     private final SatelliteReferenceRepository repo;
+    private final ShardLeaseCoordinator shards;
 
     public SatelliteSyncService(SpacecraftClient spacecraftClient,
-                                SatelliteReferenceRepository repo) {
+                                SatelliteReferenceRepository repo,
+                                ShardLeaseCoordinator shards) {
         this.spacecraftClient = spacecraftClient;
         this.repo             = repo;
+        this.shards           = shards;
     }
 
-    /** every 60 seconds */
+    /** every 60 seconds, on the leader replica only */
     @Transactional
     @Scheduled(fixedRate = 60_000)
     public void syncSpacecraft() {
+        if (!shards.isLeader()) return;
         var summaries = spacecraftClient.findAllSummary();
         for (var s : summaries) {
             if (!repo.existsByExternalId(s.getExternalId())) {
@@ -10,6 +10,8 @@ import com.telemetry.repository.TrajectoryDataRepository;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -17,9 +19,6 @@ import java.util.Map;
 import java.util.stream.Collectors;
 
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -29,8 +28,11 @@ public class SatelliteTelemetryService {
     private final SatelliteReferenceRepository referenceRepo;
     private final TrajectoryDataRepository     trajectoryRepo;
     private final TelemetryService             telemetryService;
-    private final RestTemplate                 restTemplate = new RestTemplate();
-    private final ExecutorService              executor     = Executors.newFixedThreadPool(10);
+    private final LatestTrajectoryCache        latestCache;
+    private final TrajectoryIngestWriter       ingestWriter;
+    private final TelemetryPollScheduler       pollScheduler;
+    private final ShardLeaseCoordinator        shards;
+    private final RestTemplate                 restTemplate;
 
     @Value("${n2yo.api.base-url}")
     private String apiBaseUrl;
@@ -38,36 +40,57 @@ public class SatelliteTelemetryService {
     @Value("${n2yo.api.key}")
     private String apiKey;
 
+    /** Seconds of positions requested per call (N2YO allows up to 300) */
+    @Value("${n2yo.api.duration:2}")
+    private int duration;
+
     public SatelliteTelemetryService(
             SatelliteReferenceRepository referenceRepo,
             TrajectoryDataRepository      trajectoryRepo,
-            TelemetryService              telemetryService
+            TelemetryService              telemetryService,
+            LatestTrajectoryCache         latestCache,
+            TrajectoryIngestWriter        ingestWriter,
+            TelemetryPollScheduler        pollScheduler,
+            ShardLeaseCoordinator         shards,
+            @Value("${n2yo.api.timeout-ms:10000}") int requestTimeoutMs
     ) {
         this.referenceRepo    = referenceRepo;
         this.trajectoryRepo   = trajectoryRepo;
         this.telemetryService = telemetryService;
+        this.latestCache      = latestCache;
+        this.ingestWriter     = ingestWriter;
+        this.pollScheduler    = pollScheduler;
+        this.shards           = shards;
+
+        // bound every provider call so one slow satellite only holds its own slot
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(requestTimeoutMs);
+        requestFactory.setReadTimeout(requestTimeoutMs);
+        this.restTemplate = new RestTemplate(requestFactory);
     }
 
     /**
-     * Poll every ${telemetry.poll.rate:60000}ms:
-     * for each SatelliteReference.externalId → fetch & persist.
+     * Every ${telemetry.poll.rate:60000}ms hand the current SatelliteReference
+     * set to the poll scheduler, which staggers the fetch & persist of each
+     * externalId across the interval under the provider quota. Only the
+     * satellites of operators whose shard this replica holds are polled.
      */
     @Scheduled(fixedRateString = "${telemetry.poll.rate:60000}")
     public void fetchAllSatelliteTelemetry() {
-        List<CompletableFuture<Void>> jobs = referenceRepo.findAll()
+        List<Long> externalIds = referenceRepo.findAll()
                 .stream()
-                .map(ref -> CompletableFuture.runAsync(() -> {
-                    try {
-                        TelemetryResponse resp = fetchTelemetry(ref.getExternalId());
-                        saveTrajectory(ref.getExternalId(), resp);
-                    } catch (Exception e) {
-                        // TODO: replace with your logger
-                        System.err.println("Telemetry error for " + ref.getExternalId() + ": " + e);
-                    }
-                }, executor))
+                .filter(ref -> shards.ownsOperator(ref.getEnterpriseId()))
+                .map(SatelliteReference::getExternalId)
+                .distinct()
                 .collect(Collectors.toList());
 
-        CompletableFuture.allOf(jobs.toArray(new CompletableFuture[0])).join();
+        // write whatever the cycle left below a full batch once its last fetch is done
+        pollScheduler.runCycle(externalIds, this::pollSatellite, ingestWriter::flush);
+    }
+
+    private void pollSatellite(long externalId) throws Exception {
+        TelemetryResponse resp = fetchTelemetry(externalId);
+        saveTrajectory(externalId, resp);
     }
 
     /**
@@ -100,11 +123,28 @@ public class SatelliteTelemetryService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * The two newest positions of a spacecraft, oldest first, from the
+     * latest-state cache: what a prediction is fitted from.
+     */
+    public List<TelemetryPosition> getLatestPositionPair(long externalId) {
+        return latestCache.getLatestTwo(externalId).stream()
+                .filter(td -> td.getSatLatitude() != null
+                        && td.getSatLongitude() != null
+                        && td.getSatAltitude() != null)
+                .map(td -> new TelemetryPosition(
+                        td.getSatLatitude(),
+                        td.getSatLongitude(),
+                        td.getSatAltitude(),
+                        td.getTimestamp()
+                ))
+                .collect(Collectors.toList());
+    }
+
     private TelemetryResponse fetchTelemetry(long externalId) throws Exception {
         double obsLat   = 41.702;
         double obsLng   = -76.014;
         double obsAltKm = 0.0;
-        int    duration = 2;
 
         // now insert the missing /satellite/positions
         String url = String.format(
@@ -118,18 +158,20 @@ public class SatelliteTelemetryService {
                 apiKey
         );
 
-        String json = restTemplate.getForObject(url, String.class);
-        return telemetryService.parseTelemetryResponse(json);
+        // stream the body into the parser rather than buffering it as a String
+        return restTemplate.execute(url, HttpMethod.GET, null,
+                response -> telemetryService.parseTelemetryResponse(response.getBody()));
     }
 
 
 
     /**
-     * Save the batch of TrajectoryData built by your TelemetryService helper.
+     * Hand the batch of TrajectoryData built by your TelemetryService helper
+     * to the ingest writer; the latest-state cache is fed once it is written.
      */
     private void saveTrajectory(long externalId, TelemetryResponse resp) {
         List<TrajectoryData> batch = telemetryService.toTrajectoryEntities(externalId, resp);
-        trajectoryRepo.saveAll(batch);
+        ingestWriter.enqueue(batch);
     }
 
     /**
@@ -139,8 +181,8 @@ public class SatelliteTelemetryService {
         return referenceRepo.findAll()
                 .stream()
                 .map(ref ->
-                        trajectoryRepo
-                                .findFirstByIdExternalIdOrderByIdTimestampDesc(ref.getExternalId())
+                        latestCache
+                                .getLatest(ref.getExternalId())
                                 .map(telemetryService::toDto)
                                 .orElse(null)
                 )
@@ -151,8 +193,8 @@ public class SatelliteTelemetryService {
     public Map<Long, TrajectoryData> getLatestForEnterprise(UUID enterpriseId) {
         return referenceRepo.findByEnterpriseId(enterpriseId).stream()
                 .flatMap(ref ->
-                        trajectoryRepo
-                                .findFirstByIdExternalIdOrderByIdTimestampDesc(ref.getExternalId()).stream().map(dto -> new AbstractMap.SimpleEntry<>(ref.getExternalId(), dto))
+                        latestCache
+                                .getLatest(ref.getExternalId()).stream().map(dto -> new AbstractMap.SimpleEntry<>(ref.getExternalId(), dto))
                 )
                 .collect(Collectors.toMap(
                         AbstractMap.SimpleEntry::getKey,
@@ -0,0 +1,73 @@
+// src/main/java/com/telemetry/service/ScalarOrbitKernel.java
+package com.telemetry.service;
+
+import static com.telemetry.service.PredictionService.EARTH_RADIUS;
+import static com.telemetry.service.PredictionService.MIN_ALTITUDE;
+
+/**
+ * Plain-Java kernel. Each step is its own pass over the spacecraft columns so
+ * the arithmetic-only passes (anomaly, rotation, radius) stay simple counted
+ * loops the JIT can auto-vectorize; the trigonometric passes stay scalar.
+ *
+ * Position in the orbital plane comes straight from the eccentric anomaly,
+ * (a(cos E − e), b sin E), which is the same point the single-spacecraft path
+ * reaches through the true anomaly, without the atan2 and second sin/cos.
+ */
+final class ScalarOrbitKernel implements OrbitKernel {
+
+    static final int KEPLER_ITERATIONS = 10;
+    static final double KEPLER_TOLERANCE = 1e-8;
+
+    @Override
+    public void fullOrbitRow(OrbitBatch batch, int j) {
+        range(batch, j, 0, batch.size);
+    }
+
+    /** Point {@code j} for spacecraft {@code [from, to)}; also the vector kernel's tail. */
+    static void range(OrbitBatch b, int j, int from, int to) {
+        double dM = 2 * Math.PI * ((double) j / b.numPoints);
+        double[] M = b.anomaly, E = b.eccentric, ecc = b.e;
+        double[] x = b.x, y = b.y, z = b.z, r = b.r;
+        int row = j * b.size;
+
+        for (int i = from; i < to; i++) {
+            M[i] = b.m0[i] + dM;
+            E[i] = M[i];
+        }
+
+        // Newton on Kepler's equation until every spacecraft has converged
+        for (int iter = 0; iter < KEPLER_ITERATIONS; iter++) {
+            double maxStep = 0;
+            for (int i = from; i < to; i++) {
+                double d = (E[i] - ecc[i] * Math.sin(E[i]) - M[i]) / (1 - ecc[i] * Math.cos(E[i]));
+                E[i] -= d;
+                maxStep = Math.max(maxStep, Math.abs(d));
+            }
+            if (maxStep < KEPLER_TOLERANCE) break;
+        }
+
+        for (int i = from; i < to; i++) {
+            x[i] = Math.cos(E[i]);
+            y[i] = Math.sin(E[i]);
+        }
+
+        // orbital plane → ECEF, radius and altitude
+        for (int i = from; i < to; i++) {
+            double xOrb = b.a[i] * (x[i] - ecc[i]);
+            double yOrb = b.b[i] * y[i];
+            double xe = b.xx[i] * xOrb + b.xy[i] * yOrb;
+            double ye = b.yx[i] * xOrb + b.yy[i] * yOrb;
+            double ze = b.zx[i] * xOrb + b.zy[i] * yOrb;
+            x[i] = xe;
+            y[i] = ye;
+            z[i] = ze;
+            r[i] = Math.sqrt(xe * xe + ye * ye + ze * ze);
+            b.fullAlt[row + i] = Math.max(r[i] - EARTH_RADIUS, MIN_ALTITUDE);
+        }
+
+        for (int i = from; i < to; i++) {
+            b.fullLat[row + i] = Math.toDegrees(Math.asin(z[i] / r[i]));
+            b.fullLon[row + i] = Math.toDegrees(Math.atan2(y[i], x[i]));
+        }
+    }
+}
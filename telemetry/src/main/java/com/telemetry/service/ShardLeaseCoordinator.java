@@ -0,0 +1,227 @@
+// src/main/java/com/telemetry/service/ShardLeaseCoordinator.java
+package com.telemetry.service;
+
+import com.telemetry.config.OperatorPartitions;
+import com.telemetry.model.ShardLease;
+import com.telemetry.repository.ShardLeaseRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Splits the scheduled work across telemetry replicas with leases in the
+ * shard_lease table.
+ *
+ * The operator keyspace is cut into the same shards as the Kafka topics
+ * (one per partition, see {@link OperatorPartitions}), so the replica
+ * polling an operator's satellites is normally also the one serving their
+ * WebSockets. Shard p belongs to replica {@code p % count} while that
+ * replica is alive (its {@code replica-i} lease is current) and otherwise
+ * fails over to the next live one; a returning replica gets its shards back
+ * once the stand-in lets them go. Work that is not sharded (the spacecraft
+ * sync) runs on the {@code leader}, the lowest live replica.
+ *
+ * Failover covers the N2YO polling and the spacecraft sync only. The
+ * WebSocket tier has none: the gateway routes an operator's sessions to its
+ * fixed replica, whose listeners read that shard's partitions and whose
+ * publisher serves only its own sessions. While a replica is down, its
+ * operators' satellites keep being polled and stored, but their live
+ * streams are down until it returns.
+ *
+ * A lease is only trusted until it expires, so a replica cut off from the
+ * database stops working its shards before anyone else takes them over.
+ */
+@Component
+public class ShardLeaseCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardLeaseCoordinator.class);
+
+    static final String LEADER = "leader";
+
+    private final ShardLeaseRepository repo;
+    private final OperatorPartitions partitions;
+    private final Clock clock;
+    private final boolean enabled;
+    private final long leaseTtlMs;
+    private final String owner;
+
+    /** Lease name to the instant our hold on it runs out. */
+    private final Map<String, Instant> held = new ConcurrentHashMap<>();
+    private volatile boolean rowsCreated;
+
+    @Autowired
+    public ShardLeaseCoordinator(
+            ShardLeaseRepository repo,
+            OperatorPartitions partitions,
+            MeterRegistry registry,
+            @Value("${telemetry.shards.enabled:true}") boolean enabled,
+            @Value("${telemetry.shards.lease-ttl-ms:30000}") long leaseTtlMs
+    ) {
+        this(repo, partitions, registry, enabled, leaseTtlMs, Clock.systemUTC());
+    }
+
+    ShardLeaseCoordinator(ShardLeaseRepository repo, OperatorPartitions partitions, MeterRegistry registry,
+                          boolean enabled, long leaseTtlMs, Clock clock) {
+        this.repo       = repo;
+        this.partitions = partitions;
+        this.clock      = clock;
+        this.enabled    = enabled;
+        this.leaseTtlMs = leaseTtlMs;
+        this.owner      = "replica-" + partitions.replicaIndex() + "@" + UUID.randomUUID().toString().substring(0, 8);
+
+        Gauge.builder("telemetry.shards.owned", this, c -> c.ownedShards().size())
+                .description("Operator shards this replica currently holds")
+                .register(registry);
+        Gauge.builder("telemetry.shards.leader", this, c -> c.isLeader() ? 1 : 0)
+                .description("1 while this replica holds the leader lease")
+                .register(registry);
+    }
+
+    /** Whether this replica should poll and publish for the operator right now. */
+    public boolean ownsOperator(UUID operatorId) {
+        return !enabled || holds(shard(partitions.partitionOf(operatorId)));
+    }
+
+    /** Whether this replica runs the unsharded jobs right now. */
+    public boolean isLeader() {
+        return !enabled || holds(LEADER);
+    }
+
+    public Set<Integer> ownedShards() {
+        Set<Integer> owned = new TreeSet<>();
+        for (int p = 0; p < partitions.partitions(); p++) {
+            if (!enabled || holds(shard(p))) owned.add(p);
+        }
+        return owned;
+    }
+
+    /**
+     * Renew this replica's liveness, then take or extend the leases it
+     * should hold and release the ones a returned replica should have.
+     * Runs at a third of the lease TTL so one missed round is harmless.
+     */
+    @Scheduled(fixedDelayString = "${telemetry.shards.renew-interval-ms:10000}")
+    public void rebalance() {
+        if (!enabled) return;
+        try {
+            Instant now = clock.instant();
+            ensureRows(now);
+
+            int self = partitions.replicaIndex();
+            acquire(replica(self), now);
+
+            boolean[] alive = new boolean[partitions.replicaCount()];
+            alive[self] = true;
+            for (ShardLease lease : repo.findAll()) {
+                int r = replicaOf(lease.getName());
+                if (r >= 0 && r < alive.length && lease.getExpiresAt().isAfter(now)) alive[r] = true;
+            }
+
+            for (int p = 0; p < partitions.partitions(); p++) {
+                claimOrRelease(shard(p), standIn(p % alive.length, alive) == self, now);
+            }
+            claimOrRelease(LEADER, standIn(0, alive) == self, now);
+        } catch (Exception e) {
+            // keep what we hold until it expires; the next round retries
+            log.warn("Shard lease round failed: {}", e.getMessage());
+        }
+    }
+
+    /** Give every lease back on a clean shutdown so failover is immediate. */
+    @PreDestroy
+    public void releaseAll() {
+        if (!enabled) return;
+        Instant now = clock.instant();
+        for (String name : new ArrayList<>(held.keySet())) {
+            try {
+                repo.release(name, owner, now);
+            } catch (Exception e) {
+                log.debug("Lease {} not released: {}", name, e.getMessage());
+            }
+        }
+        held.clear();
+    }
+
+    private void claimOrRelease(String name, boolean mine, Instant now) {
+        if (mine) {
+            boolean had = held.containsKey(name);
+            if (acquire(name, now) && !had) log.info("Took lease {}", name);
+        } else if (held.remove(name) != null) {
+            repo.release(name, owner, now);
+            log.info("Released lease {}", name);
+        }
+    }
+
+    private boolean acquire(String name, Instant now) {
+        Instant expiresAt = now.plusMillis(leaseTtlMs);
+        if (repo.acquire(name, owner, expiresAt, now) == 1) {
+            held.put(name, expiresAt);
+            return true;
+        }
+        held.remove(name);
+        return false;
+    }
+
+    private boolean holds(String name) {
+        Instant until = held.get(name);
+        return until != null && until.isAfter(clock.instant());
+    }
+
+    /** The preferred replica if alive, else the next live one after it. */
+    private static int standIn(int preferred, boolean[] alive) {
+        for (int i = 0; i < alive.length; i++) {
+            int r = (preferred + i) % alive.length;
+            if (alive[r]) return r;
+        }
+        return preferred;
+    }
+
+    private void ensureRows(Instant now) {
+        if (rowsCreated) return;
+        Set<String> existing = new HashSet<>();
+        repo.findAll().forEach(l -> existing.add(l.getName()));
+
+        List<String> names = new ArrayList<>();
+        names.add(LEADER);
+        for (int r = 0; r < partitions.replicaCount(); r++) names.add(replica(r));
+        for (int p = 0; p < partitions.partitions(); p++) names.add(shard(p));
+        for (String name : names) {
+            if (existing.contains(name)) continue;
+            try {
+                repo.create(name, Instant.EPOCH);
+            } catch (DataIntegrityViolationException e) {
+                // another replica created it first
+            }
+        }
+        rowsCreated = true;
+    }
+
+    static String shard(int partition) {
+        return "shard-" + partition;
+    }
+
+    static String replica(int index) {
+        return "replica-" + index;
+    }
+
+    private static int replicaOf(String leaseName) {
+        if (!leaseName.startsWith("replica-")) return -1;
+        try {
+            return Integer.parseInt(leaseName.substring("replica-".length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
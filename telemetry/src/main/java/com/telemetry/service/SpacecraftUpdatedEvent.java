@@ -0,0 +1,11 @@
+// src/main/java/com/telemetry/service/SpacecraftUpdatedEvent.java
+package com.telemetry.service;
+
+import java.util.Set;
+
+/**
+ * Spacecraft whose frame content may have changed: new trajectory rows were
+ * written for them, or one of their commands changed. The telemetry
+ * publisher recomputes and republishes only these.
+ */
+public record SpacecraftUpdatedEvent(Set<Long> externalIds) {}
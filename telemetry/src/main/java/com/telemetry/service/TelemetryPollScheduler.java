@@ -0,0 +1,254 @@
+// src/main/java/com/telemetry/service/TelemetryPollScheduler.java
+package com.telemetry.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-satellite scheduler for external telemetry fetches.
+ *
+ * Each cycle spreads the due satellites evenly across the poll interval
+ * instead of firing them all at once, gates every request on a token bucket
+ * sized to the provider's quota, and backs a failing satellite off
+ * exponentially. Satellites that have waited longest go first, so when the
+ * quota cannot cover the whole fleet the stale ones catch up first. A slow
+ * call only holds its own slot; the cycle is never joined on.
+ *
+ * Metrics: telemetry.poll.cycle.duration, telemetry.poll.queue.depth,
+ * telemetry.poll.lag (per externalId), telemetry.poll.quota.headroom and
+ * telemetry.poll.requests by outcome.
+ */
+@Component
+public class TelemetryPollScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(TelemetryPollScheduler.class);
+
+    /** One fetch-and-persist for a satellite. */
+    @FunctionalInterface
+    public interface PollTask {
+        void poll(long externalId) throws Exception;
+    }
+
+    private final MeterRegistry registry;
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    private final ExecutorService workers;
+    private final TokenBucket quota;
+
+    private final long pollIntervalMs;
+    private final double staggerFraction;
+    private final long backoffInitialMs;
+    private final long backoffMaxMs;
+
+    private final Map<Long, SatelliteState> states = new ConcurrentHashMap<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    private final Timer cycleTimer;
+    private final Counter successCounter;
+    private final Counter failureCounter;
+    private final Counter throttledCounter;
+    private final Counter backoffCounter;
+
+    public TelemetryPollScheduler(
+            MeterRegistry registry,
+            @Qualifier("pollExecutor") ExecutorService workers,
+            @Value("${telemetry.poll.rate:60000}") long pollIntervalMs,
+            @Value("${telemetry.poll.stagger-fraction:0.8}") double staggerFraction,
+            @Value("${telemetry.poll.backoff.initial-ms:30000}") long backoffInitialMs,
+            @Value("${telemetry.poll.backoff.max-ms:900000}") long backoffMaxMs,
+            @Value("${n2yo.api.quota.requests-per-hour:1000}") int requestsPerHour,
+            @Value("${n2yo.api.quota.burst:20}") int burst
+    ) {
+        this.registry         = registry;
+        this.workers          = workers;
+        this.quota            = new TokenBucket(burst, requestsPerHour / 3_600_000.0);
+        this.pollIntervalMs   = pollIntervalMs;
+        this.staggerFraction  = staggerFraction;
+        this.backoffInitialMs = backoffInitialMs;
+        this.backoffMaxMs     = backoffMaxMs;
+
+        this.cycleTimer = Timer.builder("telemetry.poll.cycle.duration")
+                .description("Time from cycle start until its last fetch finished")
+                .register(registry);
+        this.successCounter   = requests("success");
+        this.failureCounter   = requests("failure");
+        this.throttledCounter = requests("throttled");
+        this.backoffCounter   = requests("backoff");
+
+        Gauge.builder("telemetry.poll.queue.depth", queueDepth, AtomicInteger::get)
+                .description("Fetches scheduled but not yet finished")
+                .register(registry);
+        Gauge.builder("telemetry.poll.quota.headroom", quota, TokenBucket::available)
+                .description("Requests currently available in the provider quota bucket")
+                .register(registry);
+    }
+
+    private Counter requests(String outcome) {
+        return Counter.builder("telemetry.poll.requests")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * Schedule one poll cycle for the given satellites. Returns immediately;
+     * {@code onCycleComplete} runs on the worker that finishes the last fetch.
+     */
+    public void runCycle(List<Long> externalIds, PollTask task, Runnable onCycleComplete) {
+        long cycleStart = System.nanoTime();
+        long now = System.currentTimeMillis();
+
+        Set<Long> tracked = new HashSet<>(externalIds);
+        states.values().removeIf(s -> {
+            if (tracked.contains(s.externalId)) return false;
+            registry.remove(s.lagGauge);
+            return true;
+        });
+
+        List<SatelliteState> due = externalIds.stream()
+                .map(id -> states.computeIfAbsent(id, this::newState))
+                .filter(s -> !s.inFlight)
+                .filter(s -> {
+                    if (s.nextAttemptAt <= now) return true;
+                    backoffCounter.increment();
+                    return false;
+                })
+                .sorted(Comparator.comparingLong(s -> s.lastSuccessAt))
+                .toList();
+
+        if (due.isEmpty()) {
+            onCycleComplete.run();
+            return;
+        }
+
+        long spacingMs = (long) (pollIntervalMs * staggerFraction) / due.size();
+        AtomicInteger remaining = new AtomicInteger(due.size());
+
+        for (int i = 0; i < due.size(); i++) {
+            SatelliteState s = due.get(i);
+            s.inFlight = true;
+            queueDepth.incrementAndGet();
+            // the timer thread only paces the requests; the blocking fetch runs on the shared executor
+            timer.schedule(() -> workers.execute(() -> {
+                try {
+                    execute(s, task);
+                } finally {
+                    s.inFlight = false;
+                    queueDepth.decrementAndGet();
+                    if (remaining.decrementAndGet() == 0) {
+                        cycleTimer.record(System.nanoTime() - cycleStart, TimeUnit.NANOSECONDS);
+                        onCycleComplete.run();
+                    }
+                }
+            }), i * spacingMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void execute(SatelliteState s, PollTask task) {
+        if (!quota.tryAcquire()) {
+            throttledCounter.increment();
+            return;
+        }
+        try {
+            task.poll(s.externalId);
+            s.failures = 0;
+            s.nextAttemptAt = 0L;
+            s.lastSuccessAt = System.currentTimeMillis();
+            successCounter.increment();
+        } catch (Exception e) {
+            s.failures++;
+            long backoff = Math.min(backoffMaxMs, backoffInitialMs << Math.min(s.failures - 1, 20));
+            s.nextAttemptAt = System.currentTimeMillis() + backoff;
+            failureCounter.increment();
+            log.warn("Telemetry fetch failed for {} (attempt {}), backing off {} ms: {}",
+                    s.externalId, s.failures, backoff, e.getMessage());
+        }
+    }
+
+    private SatelliteState newState(long externalId) {
+        SatelliteState s = new SatelliteState(externalId);
+        s.lagGauge = Gauge.builder("telemetry.poll.lag", s, SatelliteState::lagSeconds)
+                .description("Seconds since the last successful fetch")
+                .baseUnit("seconds")
+                .tag("externalId", Long.toString(externalId))
+                .register(registry);
+        return s;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    // ────────────────────────────────────────────────────────────────────────────
+
+    private static final class SatelliteState {
+        final long externalId;
+        volatile boolean inFlight;
+        volatile int failures;
+        volatile long nextAttemptAt;
+        volatile long lastSuccessAt;
+        Gauge lagGauge;
+
+        SatelliteState(long externalId) {
+            this.externalId = externalId;
+        }
+
+        double lagSeconds() {
+            return lastSuccessAt == 0L
+                    ? Double.NaN
+                    : (System.currentTimeMillis() - lastSuccessAt) / 1000.0;
+        }
+    }
+
+    /** Classic token bucket: {@code capacity} burst, refilled continuously. */
+    static final class TokenBucket {
+        private final double capacity;
+        private final double refillPerMs;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(double capacity, double refillPerMs) {
+            this.capacity    = capacity;
+            this.refillPerMs = refillPerMs;
+            this.tokens      = capacity;
+            this.lastRefill  = System.currentTimeMillis();
+        }
+
+        synchronized boolean tryAcquire() {
+            refill();
+            if (tokens < 1.0) return false;
+            tokens -= 1.0;
+            return true;
+        }
+
+        synchronized double available() {
+            refill();
+            return tokens;
+        }
+
+        private void refill() {
+            long now = System.currentTimeMillis();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerMs);
+            lastRefill = now;
+        }
+    }
+}
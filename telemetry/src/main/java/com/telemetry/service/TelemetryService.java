@@ -1,8 +1,6 @@
 // src/main/java/com/telemetry/service/TelemetryService.java
 package com.telemetry.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.telemetry.client.SpacecraftClient;
 import com.telemetry.dto.*;
 import com.telemetry.model.SatelliteReference;
@@ -14,10 +12,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class TelemetryService {
@@ -25,50 +26,44 @@ public class TelemetryService {
     private static final Logger log = LoggerFactory.getLogger(TelemetryService.class);
     private static final double EARTH_RADIUS_M = 6_378_137.0;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final N2yoPositionsParser positionsParser = new N2yoPositionsParser();
     private final PredictionService predictionService;
     private final SpacecraftClient spacecraftClient;
 
     private final TrajectoryDataRepository trajectoryDataRepository;
+    private final LatestTrajectoryCache latestCache;
 
-    /** Now keyed by externalId (long) instead of UUID */
-    private final Map<Long, double[]> previousVelocityECEF = new HashMap<>();
+    /** Now keyed by externalId (long) instead of UUID; written from the poll pool */
+    private final Map<Long, double[]> previousVelocityECEF = new ConcurrentHashMap<>();
     private final SatelliteReferenceRepository satelliteReferenceRepository;
 
-    public TelemetryService(PredictionService predictionService, SpacecraftClient spacecraftClient, TrajectoryDataRepository trajectoryDataRepository, SatelliteReferenceRepository satelliteReferenceRepository) {
+    public TelemetryService(PredictionService predictionService, SpacecraftClient spacecraftClient, TrajectoryDataRepository trajectoryDataRepository, SatelliteReferenceRepository satelliteReferenceRepository, LatestTrajectoryCache latestCache) {
         this.predictionService = predictionService;
         this.spacecraftClient = spacecraftClient;
         this.trajectoryDataRepository = trajectoryDataRepository;
         this.satelliteReferenceRepository = satelliteReferenceRepository;
+        this.latestCache = latestCache;
     }
 
     public TelemetryResponse parseTelemetryResponse(String response) throws Exception {
-        JsonNode root = objectMapper.readTree(response);
-        if (root.has("error")) {
-            throw new Exception("API Error: " + root.get("error").asText());
-        }
-
-        TelemetryInfo info = objectMapper.treeToValue(root.get("info"), TelemetryInfo.class);
-
-        JsonNode positionsNode = root.get("positions");
-        if (positionsNode == null || !positionsNode.isArray() || positionsNode.size() < 2) {
-            throw new Exception("Not enough positions in response");
-        }
-
-        List<TelemetryPosition> positions = new ArrayList<>();
-        for (JsonNode n : positionsNode) {
-            TelemetryPosition pos = objectMapper.treeToValue(n, TelemetryPosition.class);
-            long unixSec = n.get("timestamp").asLong();
-            pos.setTimestamp(new Timestamp(unixSec * 1000L));
-            positions.add(pos);
-        }
+        return positionsParser.parse(response);
+    }
 
-        return new TelemetryResponse(positions, info);
+    /**
+     * Parse an N2YO positions payload straight off the HTTP response stream.
+     */
+    public TelemetryResponse parseTelemetryResponse(InputStream response) throws IOException {
+        return positionsParser.parse(response);
     }
 
     /**
-     * Converts one TelemetryResponse into one or more TrajectoryData entities
-     * keyed by the numeric externalId.
+     * Converts one TelemetryResponse into one TrajectoryData entity per
+     * position, keyed by the numeric externalId.
+     *
+     * Walks the positions once, deriving velocity by forward difference over
+     * each consecutive pair (the last point reuses the final segment) and
+     * acceleration from the change in velocity. The last velocity is kept per
+     * externalId so the first point of the next poll continues the series.
      */
     public List<TrajectoryData> toTrajectoryEntities(long externalId,
                                                      TelemetryResponse resp) {
@@ -78,69 +73,96 @@ public class TelemetryService {
             return Collections.emptyList();
         }
 
-        TelemetryPosition p1 = pos.get(0);
-        TelemetryPosition p2 = pos.get(1);
+        List<TrajectoryData> out = new ArrayList<>(pos.size());
 
-        // ECEF for the first point
+        // previous velocity as {vx, vy, vz, epochMillis}
+        double[] prevV = previousVelocityECEF.get(externalId);
+
+        TelemetryPosition p1 = pos.get(0);
         double[] e1 = toECEF(p1.getSatlatitude(),
                 p1.getSatlongitude(),
                 p1.getSataltitude() * 1000.0);
 
-        // Δt
-        long dtMs = p2.getTimestamp().getTime() - p1.getTimestamp().getTime();
-        if (dtMs <= 0) {
+        double vx = 0, vy = 0, vz = 0;
+        float accel = 0f;
+        boolean haveVelocity = false;
+
+        for (int i = 1; i < pos.size(); i++) {
+            TelemetryPosition p2 = pos.get(i);
+
+            // Δt
+            long dtMs = p2.getTimestamp().getTime() - p1.getTimestamp().getTime();
+            if (dtMs <= 0) {
+                log.debug("Non-positive Δt for {} at index {}, skipping point", externalId, i);
+                continue;
+            }
+            double dt = dtMs / 1_000.0;
+
+            double[] e2 = toECEF(p2.getSatlatitude(),
+                    p2.getSatlongitude(),
+                    p2.getSataltitude() * 1000.0);
+
+            // Velocity vector over [p1, p2]
+            vx = (e2[0] - e1[0]) / dt;
+            vy = (e2[1] - e1[1]) / dt;
+            vz = (e2[2] - e1[2]) / dt;
+
+            // Acceleration against the previous velocity sample
+            long t1 = p1.getTimestamp().getTime();
+            accel = 0f;
+            if (prevV != null && t1 > prevV[3]) {
+                double dtv = (t1 - prevV[3]) / 1_000.0;
+                double ax = (vx - prevV[0]) / dtv;
+                double ay = (vy - prevV[1]) / dtv;
+                double az = (vz - prevV[2]) / dtv;
+                accel = (float) Math.sqrt(ax*ax + ay*ay + az*az);
+            }
+
+            out.add(buildEntity(externalId, p1, e1, vx, vy, vz, accel));
+
+            prevV = new double[]{vx, vy, vz, t1};
+            p1 = p2;
+            e1 = e2;
+            haveVelocity = true;
+        }
+
+        if (!haveVelocity) {
             log.warn("Non-positive Δt for {}", externalId);
             return Collections.emptyList();
         }
-        double dt = dtMs / 1_000.0;
-
-        // ECEF for the second point
-        double[] e2 = toECEF(p2.getSatlatitude(),
-                p2.getSatlongitude(),
-                p2.getSataltitude() * 1000.0);
-
-        // Velocity vector
-        double vx = (e2[0] - e1[0]) / dt;
-        double vy = (e2[1] - e1[1]) / dt;
-        double vz = (e2[2] - e1[2]) / dt;
-        float vX = (float) vx, vY = (float) vy, vZ = (float) vz;
-        float speed = (float) Math.sqrt(vx*vx + vy*vy + vz*vz);
 
-        // Acceleration
-        float accel = 0f;
-        if (previousVelocityECEF.containsKey(externalId)) {
-            double[] prev = previousVelocityECEF.get(externalId);
-            double ax = (vx - prev[0]) / dt;
-            double ay = (vy - prev[1]) / dt;
-            double az = (vz - prev[2]) / dt;
-            accel = (float) Math.sqrt(ax*ax + ay*ay + az*az);
-        }
-        previousVelocityECEF.put(externalId, new double[]{vx, vy, vz});
+        // Last position: backward difference, i.e. the final segment's velocity
+        out.add(buildEntity(externalId, p1, e1, vx, vy, vz, accel));
+        previousVelocityECEF.put(externalId, prevV);
+
+        return out;
+    }
+
+    private TrajectoryData buildEntity(long externalId, TelemetryPosition p, double[] ecef,
+                                       double vx, double vy, double vz, float accel) {
+        float speed = (float) Math.sqrt(vx*vx + vy*vy + vz*vz);
 
         // Orbit radius
-        float orbitRadius = (float) Math.sqrt(e1[0]*e1[0]
-                + e1[1]*e1[1]
-                + e1[2]*e1[2]);
+        float orbitRadius = (float) Math.sqrt(ecef[0]*ecef[0]
+                + ecef[1]*ecef[1]
+                + ecef[2]*ecef[2]);
 
         // Build the embedded key
-        TrajectoryDataKey key = new TrajectoryDataKey(externalId, p1.getTimestamp());
+        TrajectoryDataKey key = new TrajectoryDataKey(externalId, p.getTimestamp());
 
-        // Build one TrajectoryData record
-        TrajectoryData traj = new TrajectoryData(
+        return new TrajectoryData(
                 key,
-                (float)e1[0], (float)e1[1], (float)e1[2],
-                vX, vY, vZ, speed,
+                (float)ecef[0], (float)ecef[1], (float)ecef[2],
+                (float)vx, (float)vy, (float)vz, speed,
                 accel, orbitRadius,
-                p1.getSatlatitude(),
-                p1.getSatlongitude(),
-                p1.getSataltitude(),
-                p1.getAzimuth(),
-                p1.getElevation(),
-                p1.getRightAscension(),
-                p1.getDeclination()
+                p.getSatlatitude(),
+                p.getSatlongitude(),
+                p.getSataltitude(),
+                p.getAzimuth(),
+                p.getElevation(),
+                p.getRightAscension(),
+                p.getDeclination()
         );
-
-        return List.of(traj);
     }
 
     /** Delegate to PredictionService for short‐term extrapolation */
@@ -201,10 +223,7 @@ public class TelemetryService {
 
         for (SatelliteReference ref : refs) {
             Long externalId = ref.getExternalId();
-            TrajectoryData latest =
-                    trajectoryDataRepository
-                            .findTopByIdExternalIdOrderByIdTimestampDesc(externalId)
-                            .orElse(null);
+            TrajectoryData latest = latestCache.getLatest(externalId).orElse(null);
 
             if (latest != null) {
                 sum   += latest.getOrbitRadius();
@@ -236,8 +255,7 @@ public class TelemetryService {
             entry.setSpacecraftName(null); // set if you have a name
 
             // fetch latest trajectory data
-            Optional<TrajectoryData> latestOpt =
-                    trajectoryDataRepository.findTopByIdExternalIdOrderByIdTimestampDesc(externalId);
+            Optional<TrajectoryData> latestOpt = latestCache.getLatest(externalId);
 
             if (latestOpt.isPresent()) {
                 TrajectoryData latest = latestOpt.get();
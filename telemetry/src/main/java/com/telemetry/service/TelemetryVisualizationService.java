@@ -313,7 +313,7 @@ public class TelemetryVisualizationService {
     /**
      * Keep first & last, plus evenly-spaced picks.
      */
-    private List<TrajectoryData> downsample(List<TrajectoryData> list, int max) {
+    List<TrajectoryData> downsample(List<TrajectoryData> list, int max) {
         if (list.size() <= max) {
             return list;
         }
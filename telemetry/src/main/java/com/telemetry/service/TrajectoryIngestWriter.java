@@ -0,0 +1,192 @@
+// src/main/java/com/telemetry/service/TrajectoryIngestWriter.java
+package com.telemetry.service;
+
+import com.telemetry.model.TrajectoryData;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dedicated ingest path for the trajectory_data hypertable.
+ *
+ * Rows from every per-satellite job of a poll cycle are buffered here and
+ * written with plain JDBC batches of
+ * {@code INSERT ... ON CONFLICT (external_id, timestamp) DO NOTHING},
+ * bypassing Hibernate's SELECT-then-INSERT merge for assigned ids. With
+ * {@code reWriteBatchedInserts=true} on the JDBC URL the Postgres driver folds
+ * each batch into multi-row INSERTs, so round trips scale with the number of
+ * batches rather than the number of rows.
+ *
+ * A chunk whose write fails goes back for the next flush, up to
+ * telemetry.ingest.max-attempts writes, and whatever is buffered is written
+ * on shutdown.
+ *
+ * Once rows are written a {@link SpacecraftUpdatedEvent} names their
+ * spacecraft, which is what drives telemetry publishing.
+ */
+@Component
+public class TrajectoryIngestWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(TrajectoryIngestWriter.class);
+
+    static final String INSERT_SQL = """
+            INSERT INTO trajectory_data (
+                external_id, timestamp,
+                position_x, position_y, position_z,
+                velocity_x, velocity_y, velocity_z, velocity,
+                acceleration, orbit_radius,
+                sat_latitude, sat_longitude, sat_altitude,
+                azimuth, elevation, right_ascension, declination)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (external_id, timestamp) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LatestTrajectoryCache latestCache;
+    private final ApplicationEventPublisher events;
+
+    private final Queue<TrajectoryData> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final Queue<FailedChunk> retries = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    @Value("${telemetry.ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${telemetry.ingest.max-attempts:5}")
+    private int maxAttempts;
+
+    /** Rows of a failed statement batch and how often writing them failed. */
+    private record FailedChunk(List<TrajectoryData> rows, int attempts) {}
+
+    public TrajectoryIngestWriter(JdbcTemplate jdbcTemplate, LatestTrajectoryCache latestCache,
+                                  ApplicationEventPublisher events) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.latestCache  = latestCache;
+        this.events       = events;
+    }
+
+    /**
+     * Queue rows for the next flush. The calling job flushes inline once a
+     * full batch has accumulated; anything smaller waits for the interval
+     * flush or the end of the poll cycle.
+     */
+    public void enqueue(Collection<TrajectoryData> rows) {
+        if (rows.isEmpty()) return;
+        buffer.addAll(rows);
+        if (buffered.addAndGet(rows.size()) >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Write everything buffered so far, batchSize rows per statement batch,
+     * after retrying earlier failures. Waits for a flush already running, so
+     * rows queued meanwhile are never left for the next interval.
+     */
+    @Scheduled(fixedDelayString = "${telemetry.ingest.flush-interval-ms:1000}")
+    public void flush() {
+        if (buffer.isEmpty() && retries.isEmpty()) return;
+        Set<Long> written = new HashSet<>();
+        flushLock.lock();
+        try {
+            List<FailedChunk> retrying = new ArrayList<>();
+            FailedChunk failed;
+            while ((failed = retries.poll()) != null) {
+                retrying.add(failed);
+            }
+            for (FailedChunk chunk : retrying) {
+                write(chunk.rows(), chunk.attempts(), written);
+            }
+
+            List<TrajectoryData> rows = new ArrayList<>();
+            TrajectoryData row;
+            while ((row = buffer.poll()) != null) {
+                rows.add(row);
+            }
+            buffered.addAndGet(-rows.size());
+
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                write(rows.subList(from, Math.min(from + batchSize, rows.size())), 0, written);
+            }
+            log.debug("Flushed {} trajectory rows", rows.size());
+        } finally {
+            flushLock.unlock();
+        }
+        // outside the lock: listeners must not hold up the next flush
+        if (!written.isEmpty()) {
+            events.publishEvent(new SpacecraftUpdatedEvent(written));
+        }
+    }
+
+    /** Write what is still buffered before the datasource goes away. */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        int lost = buffered.get() + retries.stream().mapToInt(c -> c.rows().size()).sum();
+        if (lost > 0) {
+            log.error("Shutting down with {} trajectory rows unwritten", lost);
+        }
+    }
+
+    private void write(List<TrajectoryData> chunk, int attempts, Set<Long> written) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, chunk, chunk.size(), this::bind);
+            latestCache.recordAll(chunk);
+            chunk.forEach(d -> written.add(d.getExternalId()));
+        } catch (Exception e) {
+            if (attempts + 1 < maxAttempts) {
+                log.warn("Failed to write {} trajectory rows (attempt {}), retrying on next flush: {}",
+                        chunk.size(), attempts + 1, e.getMessage());
+                retries.add(new FailedChunk(List.copyOf(chunk), attempts + 1));
+            } else {
+                log.error("Dropping {} trajectory rows after {} failed writes: {}",
+                        chunk.size(), attempts + 1, e.getMessage(), e);
+            }
+        }
+    }
+
+    private void bind(PreparedStatement ps, TrajectoryData d) throws SQLException {
+        ps.setLong(1, d.getExternalId());
+        ps.setTimestamp(2, d.getTimestamp());
+        ps.setFloat(3, d.getPositionX());
+        ps.setFloat(4, d.getPositionY());
+        ps.setFloat(5, d.getPositionZ());
+        ps.setFloat(6, d.getVelocityX());
+        ps.setFloat(7, d.getVelocityY());
+        ps.setFloat(8, d.getVelocityZ());
+        ps.setFloat(9, d.getVelocity());
+        ps.setFloat(10, d.getAcceleration());
+        ps.setFloat(11, d.getOrbitRadius());
+        setNullableFloat(ps, 12, d.getSatLatitude());
+        setNullableFloat(ps, 13, d.getSatLongitude());
+        setNullableFloat(ps, 14, d.getSatAltitude());
+        setNullableFloat(ps, 15, d.getAzimuth());
+        setNullableFloat(ps, 16, d.getElevation());
+        setNullableFloat(ps, 17, d.getRightAscension());
+        setNullableFloat(ps, 18, d.getDeclination());
+    }
+
+    private static void setNullableFloat(PreparedStatement ps, int idx, Float value) throws SQLException {
+        if (value == null) ps.setNull(idx, Types.REAL);
+        else ps.setFloat(idx, value);
+    }
+}
@@ -0,0 +1,12 @@
+// src/main/java/com/telemetry/websocket/FrameFormat.java
+package com.telemetry.websocket;
+
+/** Wire format of telemetry frames; a session picks one with {@code ?format=} on the handshake. */
+public enum FrameFormat {
+
+    /** {@link com.telemetry.dto.TelemetryFrame} as JSON text messages. */
+    JSON,
+
+    /** {@link com.telemetry.dto.BinaryTelemetryFrame} layout as binary messages. */
+    BINARY
+}
@@ -0,0 +1,111 @@
+// src/main/java/com/telemetry/websocket/KeyframeCache.java
+package com.telemetry.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telemetry.dto.BinaryTelemetryFrame;
+import com.telemetry.dto.TelemetryDelta;
+import com.telemetry.dto.TelemetryFrame;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The newest complete telemetry frame of each operator and wire format,
+ * for full-stream sessions: the producer sends a keyframe only now and
+ * then and deltas in between, so the frame is rebuilt here from the last
+ * keyframe and the deltas since. A keyframe is passed on as it is; it is
+ * only decoded once a delta has to be applied to it.
+ */
+final class KeyframeCache {
+
+    /** The last frame of one operator and format, serialized and, once needed, decoded. */
+    private static final class Latest {
+        long seq;
+        byte[] payload;
+        TelemetryFrame frame;
+    }
+
+    private record Key(UUID operatorId, FrameFormat format) {}
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<Key, Latest> frames = new ConcurrentHashMap<>();
+
+    /**
+     * Run the operator's records of {@code format} through its cached frame.
+     * Returns the serialized frame they end on, or null when they bring no
+     * new one; {@code missed} runs when a delta does not follow the cached
+     * frame, which is then dropped until the next keyframe. Deltas arriving
+     * before any keyframe are skipped, as one is already on its way for a
+     * new session.
+     */
+    byte[] advance(UUID operatorId, FrameFormat format,
+                   List<TelemetryWebSocketHandler.TelemetryRecord> records, Runnable missed) {
+        Key key = new Key(operatorId, format);
+        Latest latest = frames.computeIfAbsent(key, k -> new Latest());
+        byte[] out = null;
+        synchronized (latest) {
+            for (TelemetryWebSocketHandler.TelemetryRecord r : records) {
+                if (r.format() != format) continue;
+                if (!r.isDelta()) {
+                    latest.seq = r.seq();
+                    latest.payload = r.payload();
+                    latest.frame = null;
+                    out = r.payload();
+                } else if (latest.payload != null && latest.seq == r.baseSeq()) {
+                    try {
+                        TelemetryFrame base = latest.frame != null
+                                ? latest.frame : decodeFrame(format, latest.payload);
+                        latest.frame = base.apply(decodeDelta(format, r.payload()));
+                        latest.payload = encode(format, latest.frame);
+                        latest.seq = r.seq();
+                        out = latest.payload;
+                    } catch (IOException | RuntimeException e) {
+                        // unreadable; treat like a missed delta
+                        latest.payload = null;
+                        latest.frame = null;
+                        missed.run();
+                    }
+                } else if (latest.payload != null && latest.seq != r.seq()) {
+                    latest.payload = null;
+                    latest.frame = null;
+                    missed.run();
+                }
+            }
+        }
+        return out;
+    }
+
+    /** Drop an operator's frame in one format, once it has no full-stream session in it. */
+    void forget(UUID operatorId, FrameFormat format) {
+        frames.remove(new Key(operatorId, format));
+    }
+
+    /** Drop every frame of an operator. */
+    void forget(UUID operatorId) {
+        for (FrameFormat format : FrameFormat.values()) {
+            forget(operatorId, format);
+        }
+    }
+
+    private TelemetryFrame decodeFrame(FrameFormat format, byte[] payload) throws IOException {
+        return format == FrameFormat.BINARY
+                ? BinaryTelemetryFrame.decodeFrame(payload)
+                : objectMapper.readValue(payload, TelemetryFrame.class);
+    }
+
+    private TelemetryDelta decodeDelta(FrameFormat format, byte[] payload) throws IOException {
+        return format == FrameFormat.BINARY
+                ? BinaryTelemetryFrame.decodeDelta(payload)
+                : objectMapper.readValue(payload, TelemetryDelta.class);
+    }
+
+    private byte[] encode(FrameFormat format, TelemetryFrame frame) throws IOException {
+        return format == FrameFormat.BINARY
+                ? BinaryTelemetryFrame.encode(frame)
+                : objectMapper.writeValueAsBytes(frame);
+    }
+}
@@ -0,0 +1,16 @@
+// src/main/java/com/telemetry/websocket/OverflowPolicy.java
+package com.telemetry.websocket;
+
+/** What a session's send queue does with a new frame when it is full. */
+public enum OverflowPolicy {
+
+    /** Discard the oldest queued frame to make room. */
+    DROP_OLDEST,
+
+    /**
+     * Replace a queued frame carrying the same coalescing key (e.g. the same
+     * spacecraft), since only the newest state matters; frames without a key
+     * or with a new key fall back to dropping the oldest.
+     */
+    COALESCE
+}
@@ -0,0 +1,171 @@
+// src/main/java/com/telemetry/websocket/SessionSendQueue.java
+package com.telemetry.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Bounded outbound queue of one WebSocket session.
+ *
+ * {@link #offer} never blocks: it queues the frame and, if no writer is
+ * running, starts one on the writer executor. The writer sends frames in
+ * order until the queue is empty, so a session has at most one write in
+ * flight and the socket is never written from two threads.
+ */
+final class SessionSendQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionSendQueue.class);
+
+    /** Callbacks for the handler's metrics. */
+    interface Listener {
+        void sent();
+
+        void dropped(String reason);
+
+        void failed(WebSocketSession session, Exception e);
+    }
+
+    private final WebSocketSession session;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final Executor writer;
+    private final Listener listener;
+
+    private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+    private boolean draining;            // guarded by this
+    private boolean closed;              // guarded by this
+    private boolean droppedSinceCheck;   // guarded by this
+    private volatile long sendingSince;  // System.nanoTime() of the write in flight, 0 when idle
+
+    SessionSendQueue(WebSocketSession session, int capacity, OverflowPolicy policy,
+                     Executor writer, Listener listener) {
+        this.session = session;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.writer = writer;
+        this.listener = listener;
+    }
+
+    /**
+     * Queue a frame for sending. {@code coalesceKey} identifies frames that
+     * supersede each other under {@link OverflowPolicy#COALESCE}; may be null.
+     */
+    void offer(String coalesceKey, WebSocketMessage<?> message) {
+        boolean startWriter;
+        synchronized (this) {
+            if (closed) return;
+
+            if (policy == OverflowPolicy.COALESCE && coalesceKey != null && replace(coalesceKey, message)) {
+                droppedSinceCheck = true;
+                listener.dropped("coalesced");
+                return;
+            }
+            if (frames.size() >= capacity) {
+                frames.pollFirst();
+                droppedSinceCheck = true;
+                listener.dropped("overflow");
+            }
+            frames.addLast(new Frame(coalesceKey, message, System.nanoTime()));
+
+            startWriter = !draining;
+            draining = true;
+        }
+        if (startWriter) {
+            try {
+                writer.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    draining = false;
+                }
+            }
+        }
+    }
+
+    /** Swap the message of a queued frame with the same key, keeping its place and age. */
+    private boolean replace(String key, WebSocketMessage<?> message) {
+        for (Frame f : frames) {
+            if (Objects.equals(f.key, key)) {
+                f.message = message;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drain() {
+        while (true) {
+            Frame next;
+            synchronized (this) {
+                next = closed ? null : frames.pollFirst();
+                if (next == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            sendingSince = System.nanoTime();
+            try {
+                if (session.isOpen()) {
+                    session.sendMessage(next.message);
+                    listener.sent();
+                }
+            } catch (Exception e) {
+                log.debug("WS {} send failed: {}", session.getId(), e.getMessage());
+                listener.failed(session, e);
+            } finally {
+                sendingSince = 0;
+            }
+        }
+    }
+
+    /**
+     * A write has been in flight, or the oldest frame has been waiting,
+     * for longer than {@code limitNanos}.
+     */
+    boolean isStalled(long limitNanos) {
+        long now = System.nanoTime();
+        long since = sendingSince;
+        if (since != 0 && now - since > limitNanos) {
+            return true;
+        }
+        synchronized (this) {
+            Frame head = frames.peekFirst();
+            return head != null && now - head.enqueuedAt > limitNanos;
+        }
+    }
+
+    /** Stop accepting and sending frames; anything still queued is discarded. */
+    synchronized void close() {
+        closed = true;
+        frames.clear();
+    }
+
+    /** Whether any frame was dropped or coalesced away since the last call. */
+    synchronized boolean takeDropped() {
+        boolean dropped = droppedSinceCheck;
+        droppedSinceCheck = false;
+        return dropped;
+    }
+
+    synchronized int depth() {
+        return frames.size();
+    }
+
+    private static final class Frame {
+        final String key;
+        final long enqueuedAt;
+        WebSocketMessage<?> message;
+
+        Frame(String key, WebSocketMessage<?> message, long enqueuedAt) {
+            this.key = key;
+            this.message = message;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+// src/main/java/com/telemetry/websocket/TelemetryField.java
+package com.telemetry.websocket;
+
+/**
+ * A part of each spacecraft in a telemetry frame that a session can
+ * subscribe to; named on the wire as in the frame itself.
+ */
+public enum TelemetryField {
+
+    TELEMETRY("telemetry"),
+    SHORT_PREDICTIONS("shortPredictions"),
+    FULL_ORBIT_PREDICTIONS("fullOrbitPredictions");
+
+    /** Every field, as a mask. */
+    public static final int ALL = (1 << values().length) - 1;
+
+    private final String wireName;
+
+    TelemetryField(String wireName) {
+        this.wireName = wireName;
+    }
+
+    public String wireName() {
+        return wireName;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public boolean in(int mask) {
+        return (mask & bit()) != 0;
+    }
+
+    /**
+     * @throws IllegalArgumentException for a name that is not a field
+     */
+    public static TelemetryField fromWireName(String name) {
+        for (TelemetryField f : values()) {
+            if (f.wireName.equals(name)) return f;
+        }
+        throw new IllegalArgumentException("Unknown telemetry field: " + name);
+    }
+}
@@ -0,0 +1,224 @@
+// src/main/java/com/telemetry/websocket/TelemetrySubscriptions.java
+package com.telemetry.websocket;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Which spacecraft, and which of their fields, each open telemetry session
+ * has subscribed to. A session starts out with everything; its first
+ * SUBSCRIBE naming spacecraft narrows it to just those. The producer reads
+ * the union per operator through {@link #interest(UUID)} and leaves out
+ * whatever no session is watching, and hears of every change through
+ * {@link #onChange(Consumer)} so a new selection is served right away.
+ * It also publishes only the wire formats the sessions negotiated, see
+ * {@link #formats(UUID)}.
+ */
+@Component
+public class TelemetrySubscriptions {
+
+    /** One session's choice: fields for every spacecraft, overridden per spacecraft. */
+    private static final class Selection {
+        final FrameFormat format;
+        int everyCraft = TelemetryField.ALL;
+        boolean narrowed;
+        final Map<Long, Integer> crafts = new HashMap<>();
+
+        Selection(FrameFormat format) {
+            this.format = format;
+        }
+
+        int fields(long spacecraftId) {
+            return crafts.getOrDefault(spacecraftId, everyCraft);
+        }
+
+        boolean isEmpty() {
+            if (everyCraft != 0) return false;
+            for (int f : crafts.values()) {
+                if (f != 0) return false;
+            }
+            return true;
+        }
+    }
+
+    /** The fields an operator's sessions want between them. */
+    public record Interest(int everyCraft, Map<Long, Integer> crafts) {
+
+        public static final Interest NONE = new Interest(0, Map.of());
+
+        /** Fields of the spacecraft at least one session wants; 0 when nobody does. */
+        public int fields(long spacecraftId) {
+            return crafts.getOrDefault(spacecraftId, everyCraft);
+        }
+
+        public boolean isWatched() {
+            return everyCraft != 0 || crafts.values().stream().anyMatch(f -> f != 0);
+        }
+    }
+
+    private final Map<UUID, Map<String, Selection>> operators = new ConcurrentHashMap<>();
+    private final List<Consumer<UUID>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Called with the operator whenever one of its sessions opens, changes
+     * its selection or closes, or a session needs a keyframe to resync.
+     */
+    public void onChange(Consumer<UUID> listener) {
+        listeners.add(listener);
+    }
+
+    public void open(UUID operatorId, String sessionId) {
+        open(operatorId, sessionId, FrameFormat.JSON);
+    }
+
+    /** A session receiving its telemetry frames in {@code format}. */
+    public void open(UUID operatorId, String sessionId, FrameFormat format) {
+        operators.computeIfAbsent(operatorId, k -> new ConcurrentHashMap<>())
+                .put(sessionId, new Selection(format));
+        changed(operatorId);
+    }
+
+    public void close(UUID operatorId, String sessionId) {
+        operators.computeIfPresent(operatorId, (k, sessions) -> {
+            sessions.remove(sessionId);
+            return sessions.isEmpty() ? null : sessions;
+        });
+        changed(operatorId);
+    }
+
+    /**
+     * Subscribe a session to {@code fields} (a {@link TelemetryField} mask)
+     * of the given spacecraft, or of every spacecraft when {@code spacecraft}
+     * is null, replacing what it had for them.
+     */
+    public void subscribe(UUID operatorId, String sessionId, Collection<Long> spacecraft, int fields) {
+        Selection s = selection(operatorId, sessionId);
+        if (s == null) return;
+        synchronized (s) {
+            if (spacecraft == null) {
+                s.everyCraft = fields;
+                s.crafts.clear();
+            } else {
+                if (!s.narrowed) s.everyCraft = 0;
+                for (Long id : spacecraft) {
+                    s.crafts.put(id, fields);
+                }
+            }
+            s.narrowed = true;
+        }
+        changed(operatorId);
+    }
+
+    /** Drop the given spacecraft from a session, or everything when {@code spacecraft} is null. */
+    public void unsubscribe(UUID operatorId, String sessionId, Collection<Long> spacecraft) {
+        Selection s = selection(operatorId, sessionId);
+        if (s == null) return;
+        synchronized (s) {
+            if (spacecraft == null) {
+                s.everyCraft = 0;
+                s.crafts.clear();
+            } else {
+                for (Long id : spacecraft) {
+                    if (s.everyCraft == 0) s.crafts.remove(id);
+                    else s.crafts.put(id, 0);
+                }
+            }
+            s.narrowed = true;
+        }
+        changed(operatorId);
+    }
+
+    /**
+     * A session of the operator lost track of the frame sequence; the next
+     * frame should be a keyframe.
+     */
+    public void requestKeyframe(UUID operatorId) {
+        changed(operatorId);
+    }
+
+    /** False once a session has unsubscribed from everything; it then gets no telemetry frames. */
+    public boolean wantsTelemetry(UUID operatorId, String sessionId) {
+        Selection s = selection(operatorId, sessionId);
+        if (s == null) return true;
+        synchronized (s) {
+            return !s.isEmpty();
+        }
+    }
+
+    /**
+     * What a session is subscribed to, by spacecraft id and {@code "*"} for
+     * every other spacecraft, with the field names of the frame.
+     */
+    public Map<String, List<String>> describe(UUID operatorId, String sessionId) {
+        Map<String, List<String>> out = new LinkedHashMap<>();
+        Selection s = selection(operatorId, sessionId);
+        if (s == null) return out;
+        synchronized (s) {
+            out.put("*", fieldNames(s.everyCraft));
+            s.crafts.forEach((id, f) -> out.put(Long.toString(id), fieldNames(f)));
+        }
+        return out;
+    }
+
+    /** The union of all of the operator's sessions; {@link Interest#NONE} when it has none. */
+    public Interest interest(UUID operatorId) {
+        Map<String, Selection> sessions = operators.get(operatorId);
+        if (sessions == null) return Interest.NONE;
+
+        int everyCraft = 0;
+        Set<Long> named = new HashSet<>();
+        for (Selection s : sessions.values()) {
+            synchronized (s) {
+                everyCraft |= s.everyCraft;
+                named.addAll(s.crafts.keySet());
+            }
+        }
+        // a spacecraft one session names is still wanted by others through their "every spacecraft" fields
+        Map<Long, Integer> crafts = new HashMap<>();
+        for (Long id : named) {
+            int fields = 0;
+            for (Selection s : sessions.values()) {
+                synchronized (s) {
+                    fields |= s.fields(id);
+                }
+            }
+            crafts.put(id, fields);
+        }
+        return new Interest(everyCraft, crafts);
+    }
+
+    /** The wire formats the operator's sessions negotiated; empty when it has none. */
+    public Set<FrameFormat> formats(UUID operatorId) {
+        Map<String, Selection> sessions = operators.get(operatorId);
+        Set<FrameFormat> formats = EnumSet.noneOf(FrameFormat.class);
+        if (sessions != null) {
+            for (Selection s : sessions.values()) {
+                formats.add(s.format);
+            }
+        }
+        return formats;
+    }
+
+    private void changed(UUID operatorId) {
+        for (Consumer<UUID> l : listeners) {
+            l.accept(operatorId);
+        }
+    }
+
+    private Selection selection(UUID operatorId, String sessionId) {
+        Map<String, Selection> sessions = operators.get(operatorId);
+        return sessions != null ? sessions.get(sessionId) : null;
+    }
+
+    private static List<String> fieldNames(int mask) {
+        List<String> names = new ArrayList<>();
+        for (TelemetryField f : TelemetryField.values()) {
+            if (f.in(mask)) names.add(f.wireName());
+        }
+        return names;
+    }
+}
@@ -2,8 +2,14 @@ package com.telemetry.websocket;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.*;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
@@ -14,16 +20,143 @@ import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
+/**
+ * Live telemetry to browser sessions, grouped by operator.
+ *
+ * Every session has its own bounded {@link SessionSendQueue}; broadcasting
+ * only enqueues, and each queue is written by its own task on the writer
+ * executor, so a slow browser never holds up the Kafka listener or other
+ * sessions. A session whose write, or oldest queued frame, is older than
+ * telemetry.websocket.send-time-limit-ms is closed as unreliable.
+ *
+ * The producer publishes an operator's telemetry as deltas, with a
+ * keyframe every telemetry.websocket.delta.keyframe-interval frames. A
+ * session opened with {@code ?stream=delta} gets those as they are; any
+ * other session gets whole frames, rebuilt by the {@link KeyframeCache}.
+ * A delta session that lost a frame, or a rebuild that missed one, asks
+ * the producer for a keyframe. With {@code ?format=binary} telemetry
+ * frames arrive as binary messages in the BinaryTelemetryFrame layout, and
+ * only formats some session negotiated are published.
+ *
+ * Sessions pick what they watch with text messages, answered with the
+ * resulting SUBSCRIPTIONS:
+ * <pre>
+ * {"type":"SUBSCRIBE","spacecraft":[25544],"fields":["telemetry","shortPredictions"]}
+ * {"type":"UNSUBSCRIBE","spacecraft":[25544]}
+ * </pre>
+ * Without {@code spacecraft} a message applies to every spacecraft, and
+ * without {@code fields} SUBSCRIBE means all of them. Frames are encoded
+ * once per operator, so a session receives the union of what its
+ * operator's sessions subscribed to; see {@link TelemetrySubscriptions}.
+ *
+ * Telemetry frames are only published when something changed, so every
+ * telemetry.websocket.heartbeat-ms each session gets a HEARTBEAT instead.
+ */
 @Component
 public class TelemetryWebSocketHandler extends TextWebSocketHandler {
 
     private static final Logger log = LoggerFactory.getLogger(TelemetryWebSocketHandler.class);
 
+    /** A telemetry frame holds all of an operator's spacecraft, so a newer one supersedes it. */
+    public static final String TELEMETRY_FRAME_KEY = "telemetry";
+
+    /** Sent while nothing changes, so quiet sessions stay open and stalled ones are still found. */
+    private static final String HEARTBEAT_KEY = "heartbeat";
+    private static final TextMessage HEARTBEAT = new TextMessage("{\"type\":\"HEARTBEAT\"}");
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private final Map<UUID, CopyOnWriteArrayList<WebSocketSession>> operatorSessions = new ConcurrentHashMap<>();
     private final Map<String, UUID> sessionToOperator = new ConcurrentHashMap<>();
+    private final Map<String, SessionSendQueue> sendQueues = new ConcurrentHashMap<>();
+    private final Map<String, DeltaCursor> deltaCursors = new ConcurrentHashMap<>();
+    private final Set<String> binarySessions = ConcurrentHashMap.newKeySet();
+    private final KeyframeCache keyframes = new KeyframeCache();
+
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+    private final long sendTimeLimitNanos;
+    private final Set<FrameFormat> frameFormats;
+    private final ExecutorService writers;
+
+    private final TelemetrySubscriptions subscriptions;
+    private final MeterRegistry registry;
+    private final Counter sentCounter;
+    private final Counter slowCounter;
+    private final Counter failedCounter;
+    private final SessionSendQueue.Listener queueListener;
+
+    public TelemetryWebSocketHandler(
+            MeterRegistry registry,
+            TelemetrySubscriptions subscriptions,
+            @Value("${telemetry.websocket.send-queue.capacity:16}") int queueCapacity,
+            @Value("${telemetry.websocket.send-queue.overflow:drop-oldest}") OverflowPolicy overflowPolicy,
+            @Value("${telemetry.websocket.send-time-limit-ms:10000}") long sendTimeLimitMs,
+            @Value("${telemetry.websocket.frame-formats:json,binary}") Set<FrameFormat> frameFormats,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.registry           = registry;
+        this.subscriptions      = subscriptions;
+        this.queueCapacity      = queueCapacity;
+        this.overflowPolicy     = overflowPolicy;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMs);
+        this.frameFormats       = frameFormats;
+        // one writer per draining session; a blocked socket only holds its own thread
+        this.writers = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ws-send-vt-", 0).factory())
+                : Executors.newCachedThreadPool(Thread.ofPlatform().name("ws-send-", 0).daemon().factory());
+
+        this.sentCounter   = Counter.builder("telemetry.ws.frames.sent").register(registry);
+        this.slowCounter   = disconnected("slow");
+        this.failedCounter = disconnected("send-error");
+
+        Gauge.builder("telemetry.ws.sessions", sendQueues, Map::size)
+                .description("Open telemetry WebSocket sessions")
+                .register(registry);
+        Gauge.builder("telemetry.ws.send.queue.depth", this, h -> h.queueDepth(false))
+                .description("Frames queued across all sessions")
+                .register(registry);
+        Gauge.builder("telemetry.ws.send.queue.max.depth", this, h -> h.queueDepth(true))
+                .description("Frames queued for the most backed-up session")
+                .register(registry);
+
+        Map<String, Counter> dropped = new ConcurrentHashMap<>();
+        this.queueListener = new SessionSendQueue.Listener() {
+            @Override
+            public void sent() {
+                sentCounter.increment();
+            }
+
+            @Override
+            public void dropped(String reason) {
+                dropped.computeIfAbsent(reason, r -> Counter.builder("telemetry.ws.frames.dropped")
+                        .tag("reason", r)
+                        .register(registry)).increment();
+            }
+
+            @Override
+            public void failed(WebSocketSession session, Exception e) {
+                failedCounter.increment();
+                disconnect(session, CloseStatus.SESSION_NOT_RELIABLE);
+            }
+        };
+    }
+
+    private Counter disconnected(String reason) {
+        return Counter.builder("telemetry.ws.sessions.disconnected")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
@@ -34,16 +167,33 @@ public class TelemetryWebSocketHandler extends TextWebSocketHandler {
                 return;
             }
 
+            SessionSendQueue queue = new SessionSendQueue(
+                    session, queueCapacity, overflowPolicy, writers, queueListener);
+            sendQueues.put(session.getId(), queue);
             operatorSessions
                     .computeIfAbsent(operatorId, k -> new CopyOnWriteArrayList<>())
                     .add(session);
             sessionToOperator.put(session.getId(), operatorId);
+            boolean delta = "delta".equals(queryParam(session, "stream"));
+            if (delta) {
+                deltaCursors.put(session.getId(), new DeltaCursor());
+            }
+            // binary only when asked for and allowed; anything else gets JSON
+            boolean binary = "binary".equals(queryParam(session, "format"))
+                    && frameFormats.contains(FrameFormat.BINARY);
+            if (binary) {
+                binarySessions.add(session.getId());
+            }
+            // last, so the keyframe this asks for is published in the session's format
+            subscriptions.open(operatorId, session.getId(), binary ? FrameFormat.BINARY : FrameFormat.JSON);
 
             Map<String,Object> ok = Map.of(
                     "type", "CONNECTION_SUCCESS",
-                    "operatorId", operatorId.toString()
+                    "operatorId", operatorId.toString(),
+                    "stream", delta ? "delta" : "full",
+                    "format", binary ? "binary" : "json"
             );
-            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(ok)));
+            queue.offer(null, new TextMessage(objectMapper.writeValueAsString(ok)));
 
             log.info("WS {} connected to operator {}", session.getId(), operatorId);
 
@@ -55,44 +205,313 @@ public class TelemetryWebSocketHandler extends TextWebSocketHandler {
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        SessionSendQueue queue = sendQueues.remove(session.getId());
+        if (queue != null) queue.close();
+        deltaCursors.remove(session.getId());
+        binarySessions.remove(session.getId());
+
         UUID oid = sessionToOperator.remove(session.getId());
         if (oid != null) {
+            subscriptions.close(oid, session.getId());
             var list = operatorSessions.get(oid);
             if (list != null) {
                 list.remove(session);
-                if (list.isEmpty()) operatorSessions.remove(oid);
+                if (list.isEmpty()) {
+                    operatorSessions.remove(oid);
+                    keyframes.forget(oid);
+                }
             }
         }
     }
 
     @Override
     protected void handleTextMessage(WebSocketSession s, TextMessage m) {
+        SessionSendQueue queue = sendQueues.get(s.getId());
+        UUID operatorId = sessionToOperator.get(s.getId());
+        if (queue == null || operatorId == null) return;
         try {
             JsonNode n = objectMapper.readTree(m.getPayload());
-            if ("PING".equals(n.path("type").asText())) {
-                s.sendMessage(new TextMessage("{\"type\":\"PONG\"}"));
+            switch (n.path("type").asText()) {
+                case "PING" -> queue.offer("PONG", new TextMessage("{\"type\":\"PONG\"}"));
+                case "SUBSCRIBE" -> {
+                    subscriptions.subscribe(operatorId, s.getId(), spacecraftIds(n), fields(n));
+                    queue.offer("SUBSCRIPTIONS", subscriptionsMessage(operatorId, s.getId()));
+                }
+                case "UNSUBSCRIBE" -> {
+                    subscriptions.unsubscribe(operatorId, s.getId(), spacecraftIds(n));
+                    queue.offer("SUBSCRIPTIONS", subscriptionsMessage(operatorId, s.getId()));
+                }
+                default -> { }
             }
+        } catch (IllegalArgumentException e) {
+            queue.offer(null, errorMessage(e.getMessage()));
         } catch (Exception ignore) {}
     }
 
+    /** The {@code spacecraft} ids of a subscription message, or null for every spacecraft. */
+    private static List<Long> spacecraftIds(JsonNode n) {
+        JsonNode ids = n.get("spacecraft");
+        if (ids == null || ids.isNull()) return null;
+        if (!ids.isArray()) throw new IllegalArgumentException("spacecraft must be an array of ids");
+        List<Long> out = new ArrayList<>(ids.size());
+        for (JsonNode id : ids) {
+            try {
+                out.add(Long.parseLong(id.asText()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid spacecraft id: " + id.asText());
+            }
+        }
+        return out;
+    }
+
+    /** The {@code fields} of a SUBSCRIBE as a {@link TelemetryField} mask; all of them when absent. */
+    private static int fields(JsonNode n) {
+        JsonNode names = n.get("fields");
+        if (names == null || names.isNull()) return TelemetryField.ALL;
+        if (!names.isArray()) throw new IllegalArgumentException("fields must be an array of names");
+        int mask = 0;
+        for (JsonNode name : names) {
+            mask |= TelemetryField.fromWireName(name.asText()).bit();
+        }
+        return mask;
+    }
+
+    private TextMessage subscriptionsMessage(UUID operatorId, String sessionId) throws IOException {
+        return new TextMessage(objectMapper.writeValueAsString(Map.of(
+                "type", "SUBSCRIPTIONS",
+                "spacecraft", subscriptions.describe(operatorId, sessionId))));
+    }
+
+    private TextMessage errorMessage(String msg) {
+        try {
+            return new TextMessage(objectMapper.writeValueAsString(Map.of("type", "ERROR", "message", msg)));
+        } catch (IOException e) {
+            return new TextMessage("{\"type\":\"ERROR\"}");
+        }
+    }
+
     public void sendMessageToOperator(UUID operatorId, TextMessage msg) {
+        sendMessageToOperator(operatorId, null, msg);
+    }
+
+    /**
+     * Queue a frame for every session of the operator; returns without
+     * waiting for any socket. Frames with the same {@code coalesceKey}
+     * supersede each other under the coalescing overflow policy.
+     */
+    public void sendMessageToOperator(UUID operatorId, String coalesceKey, WebSocketMessage<?> msg) {
+        forEachSession(operatorId, (ws, queue) -> queue.offer(coalesceKey, msg));
+    }
+
+    /** Several uncoalesced text messages, in order, visiting the operator's sessions once. */
+    public void sendMessagesToOperator(UUID operatorId, List<TextMessage> msgs) {
+        if (msgs.isEmpty()) return;
+        forEachSession(operatorId, (ws, queue) -> msgs.forEach(m -> queue.offer(null, m)));
+    }
+
+    /** Keep idle sessions alive; sending also closes the ones that fell behind. */
+    @Scheduled(fixedRateString = "${telemetry.websocket.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (UUID operatorId : operatorSessions.keySet()) {
+            sendMessageToOperator(operatorId, HEARTBEAT_KEY, HEARTBEAT);
+        }
+    }
+
+    /**
+     * Telemetry keyframe {@code seq} of an operator in one wire format, for
+     * every session of that format. Sessions subscribed to nothing get none.
+     */
+    public void sendTelemetryFrame(UUID operatorId, FrameFormat format, long seq, byte[] keyframe) {
+        sendTelemetryFrames(operatorId, List.of(TelemetryRecord.keyframe(format, seq, keyframe)));
+    }
+
+    /**
+     * Telemetry delta {@code seq} of an operator, going from frame
+     * {@code baseSeq}; sent to delta sessions of that format whose last
+     * frame is that base, and applied to the frame of full-stream ones.
+     */
+    public void sendTelemetryDelta(UUID operatorId, FrameFormat format, long seq, long baseSeq, byte[] delta) {
+        sendTelemetryFrames(operatorId, List.of(TelemetryRecord.delta(format, seq, baseSeq, delta)));
+    }
+
+    /** A serialized telemetry keyframe ({@code baseSeq} -1) or delta, as read from Kafka. */
+    public record TelemetryRecord(FrameFormat format, long seq, long baseSeq, byte[] payload) {
+
+        public static TelemetryRecord keyframe(FrameFormat format, long seq, byte[] payload) {
+            return new TelemetryRecord(format, seq, -1, payload);
+        }
+
+        public static TelemetryRecord delta(FrameFormat format, long seq, long baseSeq, byte[] payload) {
+            return new TelemetryRecord(format, seq, baseSeq, payload);
+        }
+
+        boolean isDelta() {
+            return baseSeq >= 0;
+        }
+    }
+
+    /**
+     * An operator's telemetry frames in publish order, visiting each of its
+     * sessions once. A full-stream session only gets the newest whole frame
+     * of its format, which would replace the others in its queue anyway; a
+     * delta session goes through them in order as with single frames.
+     */
+    public void sendTelemetryFrames(UUID operatorId, List<TelemetryRecord> records) {
+        if (records.isEmpty()) return;
+        // one shared TextMessage per JSON frame; see message()
+        TextMessage[] texts = new TextMessage[records.size()];
+        for (int i = 0; i < texts.length; i++) {
+            TelemetryRecord r = records.get(i);
+            if (r.format() == FrameFormat.JSON) texts[i] = new TextMessage(r.payload());
+        }
+        // whole frames per format, rebuilt once for all full-stream sessions in it
+        Map<FrameFormat, byte[]> wholeFrames = new EnumMap<>(FrameFormat.class);
+        Map<FrameFormat, TextMessage> wholeTexts = new EnumMap<>(FrameFormat.class);
+
+        forEachSession(operatorId, (ws, queue) -> {
+            if (!subscriptions.wantsTelemetry(operatorId, ws.getId())) return;
+            FrameFormat format = formatOf(ws);
+            DeltaCursor cursor = deltaCursors.get(ws.getId());
+            if (cursor == null) {
+                if (!wholeFrames.containsKey(format)) {
+                    byte[] frame = keyframes.advance(operatorId, format, records,
+                            () -> subscriptions.requestKeyframe(operatorId));
+                    wholeFrames.put(format, frame);
+                    if (frame != null && format == FrameFormat.JSON) wholeTexts.put(format, new TextMessage(frame));
+                }
+                byte[] frame = wholeFrames.get(format);
+                if (frame != null) {
+                    queue.offer(TELEMETRY_FRAME_KEY, message(wholeTexts.get(format), frame));
+                }
+                return;
+            }
+            synchronized (cursor) {
+                for (int i = 0; i < records.size(); i++) {
+                    TelemetryRecord r = records.get(i);
+                    if (r.format() != format) continue;
+                    if (r.isDelta()) {
+                        offerDelta(operatorId, queue, cursor, r, texts[i]);
+                    } else {
+                        offerKeyframe(queue, cursor, r, texts[i]);
+                    }
+                }
+            }
+        });
+
+        // nobody needs the rebuilt frame of the other formats
+        for (FrameFormat format : FrameFormat.values()) {
+            if (!wholeFrames.containsKey(format)) keyframes.forget(operatorId, format);
+        }
+    }
+
+    /** Caller holds the cursor. */
+    private void offerKeyframe(SessionSendQueue queue, DeltaCursor cursor, TelemetryRecord r, TextMessage text) {
+        queue.takeDropped();
+        // never coalesced: a later delta may already be built on this one
+        queue.offer(null, message(text, r.payload()));
+        cursor.lastSeq = r.seq();
+    }
+
+    /** Caller holds the cursor. */
+    private void offerDelta(UUID operatorId, SessionSendQueue queue, DeltaCursor cursor,
+                            TelemetryRecord r, TextMessage text) {
+        if (queue.takeDropped()) {
+            resync(operatorId, cursor);
+        } else if (cursor.lastSeq == r.baseSeq()) {
+            queue.offer(null, message(text, r.payload()));
+            cursor.lastSeq = r.seq();
+        } else if (cursor.lastSeq != r.seq()) {
+            resync(operatorId, cursor);
+        }
+    }
+
+    /**
+     * A delta session lost a frame: ask for a keyframe rather than wait for
+     * the next periodic one. Caller holds the cursor.
+     */
+    private void resync(UUID operatorId, DeltaCursor cursor) {
+        // a session still waiting for its first keyframe has one coming already
+        if (cursor.lastSeq == DeltaCursor.NONE) return;
+        cursor.lastSeq = DeltaCursor.NONE;
+        subscriptions.requestKeyframe(operatorId);
+    }
+
+    /**
+     * Text messages are immutable and shared; a binary message is read
+     * through its ByteBuffer, so every session gets its own wrapper.
+     */
+    private static WebSocketMessage<?> message(TextMessage text, byte[] payload) {
+        return text != null ? text : new BinaryMessage(payload);
+    }
+
+    /** Every open session of the operator that is keeping up. */
+    private void forEachSession(UUID operatorId, BiConsumer<WebSocketSession, SessionSendQueue> send) {
         var sessions = operatorSessions.get(operatorId);
         if (sessions == null) return;
-        sessions.forEach(ws -> {
-            try { if (ws.isOpen()) ws.sendMessage(msg); }
-            catch (IOException ignored) {}
-        });
+        for (WebSocketSession ws : sessions) {
+            SessionSendQueue queue = sendQueues.get(ws.getId());
+            if (queue == null) continue;
+            if (queue.isStalled(sendTimeLimitNanos)) {
+                log.warn("WS {} of operator {} fell behind by more than {} ms, disconnecting",
+                        ws.getId(), operatorId, TimeUnit.NANOSECONDS.toMillis(sendTimeLimitNanos));
+                slowCounter.increment();
+                disconnect(ws, CloseStatus.SESSION_NOT_RELIABLE);
+                continue;
+            }
+            send.accept(ws, queue);
+        }
+    }
+
+    private FrameFormat formatOf(WebSocketSession ws) {
+        return binarySessions.contains(ws.getId()) ? FrameFormat.BINARY : FrameFormat.JSON;
+    }
+
+    /**
+     * Stop sending to a session and close it off the caller's thread; a
+     * close can block behind the write that is stuck.
+     */
+    private void disconnect(WebSocketSession session, CloseStatus status) {
+        SessionSendQueue queue = sendQueues.get(session.getId());
+        if (queue != null) queue.close();
+        afterConnectionClosed(session, status);
+        try {
+            writers.execute(() -> {
+                try {
+                    session.close(status);
+                } catch (IOException e) {
+                    log.debug("WS {} close failed: {}", session.getId(), e.getMessage());
+                }
+            });
+        } catch (Exception e) {
+            log.debug("WS {} close not scheduled: {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private int queueDepth(boolean max) {
+        int total = 0, deepest = 0;
+        for (SessionSendQueue q : sendQueues.values()) {
+            int d = q.depth();
+            total += d;
+            deepest = Math.max(deepest, d);
+        }
+        return max ? deepest : total;
     }
 
     // helpers
     private UUID extractOperatorId(WebSocketSession s) {
+        // Support both new operatorId and legacy enterpriseId parameter names
+        String id = queryParam(s, "operatorId");
+        if (id == null) id = queryParam(s, "enterpriseId");
+        return id != null ? UUID.fromString(id) : null;
+    }
+
+    private String queryParam(WebSocketSession s, String name) {
         String q = s.getUri() != null ? s.getUri().getQuery() : null;
         if (q == null) return null;
         for (String p : q.split("&")) {
             String[] kv = p.split("=",2);
-            if (kv.length==2 && (kv[0].equals("operatorId") || kv[0].equals("enterpriseId"))) {
-                // Support both new operatorId and legacy enterpriseId parameter names
-                return UUID.fromString(URLDecoder.decode(kv[1], StandardCharsets.UTF_8));
+            if (kv.length==2 && kv[0].equals(name)) {
+                return URLDecoder.decode(kv[1], StandardCharsets.UTF_8);
             }
         }
         return null;
@@ -104,4 +523,11 @@ public class TelemetryWebSocketHandler extends TextWebSocketHandler {
             s.close(CloseStatus.POLICY_VIOLATION);
         } catch (IOException ignored) {}
     }
-}
\ No newline at end of file
+
+    /** Last telemetry frame queued to a delta session. */
+    private static final class DeltaCursor {
+        static final long NONE = Long.MIN_VALUE;
+
+        long lastSeq = NONE;
+    }
+}
@@ -0,0 +1,8 @@
+-- leases on scheduled work shared by the telemetry replicas (see ShardLeaseCoordinator)
+CREATE TABLE IF NOT EXISTS shard_lease
+(
+    name       VARCHAR(64)                 NOT NULL,
+    owner      VARCHAR(128),
+    expires_at TIMESTAMP WITH TIME ZONE    NOT NULL,
+    CONSTRAINT pk_shard_lease PRIMARY KEY (name)
+);
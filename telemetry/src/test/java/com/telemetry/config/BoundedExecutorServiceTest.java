@@ -0,0 +1,84 @@
+package com.telemetry.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BoundedExecutorServiceTest {
+
+    private final ExecutorService executor =
+            new BoundedExecutorService(Executors.newVirtualThreadPerTaskExecutor(), 3);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldRunNoMoreThanMaxConcurrencyTasksAtOnce() throws Exception {
+        // Given
+        AtomicInteger running = new AtomicInteger();
+        CountDownLatch threeStarted = new CountDownLatch(3);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            executor.execute(() -> {
+                running.incrementAndGet();
+                threeStarted.countDown();
+                await(release);
+            });
+        }
+
+        // Then
+        assertThat(threeStarted.await(2, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(50);
+        assertThat(running.get()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldQueueTasksBeyondTheBoundWithoutBlockingOrRejectingTheSubmitter() throws Exception {
+        // Given
+        CountDownLatch blocked = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            executor.execute(() -> {
+                blocked.countDown();
+                await(release);
+            });
+        }
+        assertThat(blocked.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // When: submitted while every permit is taken
+        List<Future<Integer>> queued = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int value = i;
+            queued.add(executor.submit(() -> value));
+        }
+        boolean anyDone = queued.stream().anyMatch(Future::isDone);
+        release.countDown();
+
+        // Then
+        assertThat(anyDone).isFalse();
+        for (int i = 0; i < queued.size(); i++) {
+            assertThat(queued.get(i).get(2, TimeUnit.SECONDS)).isEqualTo(i);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.telemetry.config;
+
+import org.apache.kafka.clients.producer.internals.BuiltInPartitioner;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OperatorPartitionsTest {
+
+    @Test
+    void shouldPickThePartitionKafkaPicksForTheKey() {
+        // Given
+        OperatorPartitions partitions = new OperatorPartitions(12, 0, 1);
+
+        for (int i = 0; i < 100; i++) {
+            // When
+            UUID operatorId = UUID.randomUUID();
+            byte[] key = operatorId.toString().getBytes(StandardCharsets.UTF_8);
+
+            // Then
+            assertThat(partitions.partitionOf(operatorId))
+                    .isEqualTo(BuiltInPartitioner.partitionForKey(key, 12));
+        }
+    }
+
+    @Test
+    void shouldSplitPartitionsAcrossReplicas() {
+        // Given: the operator's Kafka partition decides which replica owns it
+        Set<Integer> all = new HashSet<>();
+        UUID operatorId = UUID.fromString("3f2504e0-4f89-11d3-9a0c-0305e82c3301");
+        int partition = BuiltInPartitioner.partitionForKey(
+                operatorId.toString().getBytes(StandardCharsets.UTF_8), 12);
+        Set<Integer> owners = new HashSet<>();
+
+        // When
+        for (int replica = 0; replica < 5; replica++) {
+            OperatorPartitions partitions = new OperatorPartitions(12, replica, 5);
+            all.addAll(partitions.ownedPartitions());
+            if (partitions.owns(operatorId)) {
+                owners.add(replica);
+                assertThat(partitions.ownedPartitions()).contains(partition);
+            }
+        }
+
+        // Then: exactly one replica, the one whose partitions include the operator's
+        assertThat(owners).containsExactly(partition % 5);
+        assertThat(all).hasSize(12);
+        assertThat(new OperatorPartitions(12, 1, 5).ownedPartitions()).containsExactly(1, 6, 11);
+    }
+
+    @Test
+    void shouldRejectMoreReplicasThanPartitions() {
+        assertThatThrownBy(() -> new OperatorPartitions(2, 0, 3))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new OperatorPartitions(12, 3, 3))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
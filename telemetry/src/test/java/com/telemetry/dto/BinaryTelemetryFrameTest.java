@@ -0,0 +1,144 @@
+package com.telemetry.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+class BinaryTelemetryFrameTest {
+
+    @Test
+    void shouldEncodeKeyframeInDocumentedLayout() {
+        // Given
+        OrbitSeries shortTerm = new OrbitSeries(2, false);
+        shortTerm.add(10.5, -20.25, 420.0, 1_700_000_000_000L);
+        shortTerm.add(11.0, -19.5, 421.0, 1_700_000_060_000L);
+        OrbitSeries fullOrbit = new OrbitSeries(1, true);
+        fullOrbit.add(-5.0, 30.0, 419.0, 1_700_000_120_000L);
+        TelemetryFrame frame = new TelemetryFrame("op-1", 42L, Map.of("25544",
+                new TelemetryFrame.Spacecraft(snapshot(new TelemetryFrame.Geo(1f, 2f, 3f)), shortTerm, fullOrbit)));
+
+        // When
+        ByteBuffer buf = ByteBuffer.wrap(BinaryTelemetryFrame.encode(frame)).order(ByteOrder.LITTLE_ENDIAN);
+
+        // Then
+        assertThat(buf.get()).isEqualTo((byte) BinaryTelemetryFrame.VERSION);
+        assertThat(buf.get()).isEqualTo((byte) BinaryTelemetryFrame.KIND_KEYFRAME);
+        buf.getShort();
+        assertThat(buf.getLong()).isEqualTo(42L);
+        assertThat(buf.getLong()).isEqualTo(-1L);
+        byte[] operator = new byte[buf.getShort()];
+        buf.get(operator);
+        assertThat(new String(operator, StandardCharsets.UTF_8)).isEqualTo("op-1");
+
+        assertThat(buf.getInt()).isEqualTo(1);
+        assertThat(buf.getLong()).isEqualTo(25544L);
+        assertThat(buf.get()).isEqualTo((byte) 0b1111);
+        assertThat(buf.getLong()).isEqualTo(1_700_000_000_000L);
+        buf.position(buf.position() + 9 * 4);
+        assertThat(buf.getFloat()).isEqualTo(1f);
+        buf.position(buf.position() + 2 * 4);
+
+        assertThat(buf.getInt()).isEqualTo(2);
+        assertThat(buf.getLong()).isEqualTo(1_700_000_000_000L);
+        assertThat(buf.getInt()).isZero();
+        assertThat(buf.getInt()).isEqualTo(60_000);
+        assertThat(buf.getFloat()).isEqualTo(10.5f);
+        assertThat(buf.getFloat()).isEqualTo(11.0f);
+        assertThat(buf.getFloat()).isEqualTo(-20.25f);
+        assertThat(buf.getFloat()).isEqualTo(-19.5f);
+        assertThat(buf.getFloat()).isEqualTo(420f);
+        assertThat(buf.getFloat()).isEqualTo(421f);
+
+        assertThat(buf.getInt()).isEqualTo(1);
+        assertThat(buf.getLong()).isEqualTo(1_700_000_120_000L);
+        buf.position(buf.position() + 4 + 3 * 4);
+        assertThat(buf.getInt()).isZero();
+        assertThat(buf.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void shouldEncodeOnlyDeltaPartsAndRemovedSpacecraft() {
+        // Given
+        TelemetryDelta delta = new TelemetryDelta("op-1", 43L, 42L,
+                Map.of("7", new TelemetryFrame.Spacecraft(snapshot(null), null, null)),
+                List.of("8", "9"));
+
+        // When
+        ByteBuffer buf = ByteBuffer.wrap(BinaryTelemetryFrame.encode(delta)).order(ByteOrder.LITTLE_ENDIAN);
+
+        // Then
+        assertThat(buf.get(1)).isEqualTo((byte) BinaryTelemetryFrame.KIND_DELTA);
+        assertThat(buf.getLong(12)).isEqualTo(42L);
+        buf.position(20 + 2 + 4);
+        assertThat(buf.getInt()).isEqualTo(1);
+        assertThat(buf.getLong()).isEqualTo(7L);
+        assertThat(buf.get()).isEqualTo((byte) 1);
+        buf.position(buf.position() + 8 + 9 * 4);
+        assertThat(buf.getInt()).isEqualTo(2);
+        assertThat(buf.getLong()).isEqualTo(8L);
+        assertThat(buf.getLong()).isEqualTo(9L);
+        assertThat(buf.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void shouldDecodeWhatItEncodes() {
+        // Given
+        OrbitSeries shortTerm = new OrbitSeries(2, false);
+        shortTerm.add(10.5, -20.25, 420.0, 1_700_000_000_000L);
+        shortTerm.add(11.0, -19.5, 421.0, 1_700_000_060_000L);
+        TelemetryFrame frame = new TelemetryFrame("op-1", 42L, Map.of(
+                "25544", new TelemetryFrame.Spacecraft(snapshot(new TelemetryFrame.Geo(1f, null, 3f)), shortTerm, null),
+                "7", new TelemetryFrame.Spacecraft(null, null, shortTerm)));
+        TelemetryDelta delta = new TelemetryDelta("op-1", 43L, 42L,
+                Map.of("7", new TelemetryFrame.Spacecraft(snapshot(null), null, null)), List.of("25544"));
+
+        // When
+        TelemetryFrame decodedFrame = BinaryTelemetryFrame.decodeFrame(BinaryTelemetryFrame.encode(frame));
+        TelemetryDelta decodedDelta = BinaryTelemetryFrame.decodeDelta(BinaryTelemetryFrame.encode(delta));
+
+        // Then
+        assertThat(decodedFrame.seq()).isEqualTo(42L);
+        assertThat(decodedFrame.operatorId()).isEqualTo("op-1");
+        TelemetryFrame.Spacecraft craft = decodedFrame.telemetry().get("25544");
+        assertThat(craft.telemetry()).isEqualTo(snapshot(new TelemetryFrame.Geo(1f, null, 3f)));
+        assertThat(craft.shortPredictions().contentHash()).isEqualTo(shortTerm.contentHash());
+        assertThat(craft.fullOrbitPredictions()).isNull();
+        assertThat(decodedFrame.telemetry().get("7").fullOrbitPredictions().isFullOrbit()).isTrue();
+        assertThat(decodedDelta.baseSeq()).isEqualTo(42L);
+        assertThat(decodedDelta.telemetry().get("7").telemetry()).isEqualTo(snapshot(null));
+        assertThat(decodedDelta.removed()).containsExactly("25544");
+    }
+
+    @Test
+    void shouldBeAFractionOfTheJsonFrame() throws Exception {
+        // Given
+        OrbitSeries shortTerm = new OrbitSeries(61, false);
+        OrbitSeries fullOrbit = new OrbitSeries(121, true);
+        for (int i = 0; i < 121; i++) {
+            if (i < 61) shortTerm.add(51.6 * Math.sin(i / 10.0), i * 1.5 - 90, 420 + i * 0.01, 1_700_000_000_000L + i * 60_000L);
+            fullOrbit.add(51.6 * Math.cos(i / 20.0), i * 2.9 - 170, 420 - i * 0.01, 1_700_000_000_000L + i * 46_000L);
+        }
+        TelemetryFrame frame = new TelemetryFrame("op-1", 1L, Map.of("25544",
+                new TelemetryFrame.Spacecraft(snapshot(new TelemetryFrame.Geo(1f, 2f, 3f)), shortTerm, fullOrbit)));
+
+        // When
+        int binary = BinaryTelemetryFrame.encode(frame).length;
+        int json = new ObjectMapper().writeValueAsBytes(frame).length;
+
+        // Then
+        assertThat(binary * 5).isLessThan(json);
+    }
+
+    private static TelemetryFrame.Snapshot snapshot(TelemetryFrame.Geo geo) {
+        return new TelemetryFrame.Snapshot(1_700_000_000_000L,
+                new TelemetryFrame.Vector(1f, 2f, 3f), new TelemetryFrame.Velocity(4f, 5f, 6f, 7f),
+                0.5f, 6790f, geo);
+    }
+}
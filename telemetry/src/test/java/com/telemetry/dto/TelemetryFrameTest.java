@@ -0,0 +1,97 @@
+package com.telemetry.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+class TelemetryFrameTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldSerializeToTheFrontendSchema() throws Exception {
+        // Given
+        OrbitSeries shortTerm = new OrbitSeries(2, false);
+        shortTerm.add(10.5, -20.25, 420.0, 1_700_000_000_000L);
+        shortTerm.add(11.0, -19.5, 421.0, 1_700_000_060_000L);
+        OrbitSeries fullOrbit = new OrbitSeries(1, true);
+        fullOrbit.add(-5.0, 30.0, 419.0, 1_700_000_120_000L);
+        TelemetryFrame.Snapshot snapshot = new TelemetryFrame.Snapshot(
+                1_700_000_000_000L,
+                new TelemetryFrame.Vector(1f, 2f, 3f),
+                new TelemetryFrame.Velocity(4f, 5f, 6f, 7f),
+                0.5f, 6790f,
+                new TelemetryFrame.Geo(10.5f, -20.25f, 420f));
+        TelemetryFrame frame = new TelemetryFrame("op-1", 7L,
+                Map.of("25544", new TelemetryFrame.Spacecraft(snapshot, shortTerm, fullOrbit)));
+
+        // When
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(frame));
+
+        // Then
+        assertThat(json.path("type").asText()).isEqualTo(TelemetryFrame.TYPE);
+        assertThat(json.path("operatorId").asText()).isEqualTo("op-1");
+        assertThat(json.path("seq").asLong()).isEqualTo(7L);
+        JsonNode craft = json.path("telemetry").path("25544");
+        assertThat(craft.path("telemetry").path("timestamp").asLong()).isEqualTo(1_700_000_000_000L);
+        assertThat(craft.path("telemetry").path("velocity").path("magnitude").asDouble()).isEqualTo(7.0);
+        assertThat(craft.path("telemetry").path("geo").path("longitude").asDouble()).isEqualTo(-20.25);
+
+        JsonNode points = craft.path("shortPredictions");
+        assertThat(points).hasSize(2);
+        assertThat(points.get(1).path("timestamp").asLong()).isEqualTo(1_700_000_060_000L);
+        assertThat(points.get(1).path("latitude").asDouble()).isEqualTo(11.0);
+        assertThat(points.get(1).path("isFullOrbit").asBoolean()).isFalse();
+        assertThat(craft.path("fullOrbitPredictions").get(0).path("isFullOrbit").asBoolean()).isTrue();
+    }
+
+    @Test
+    void shouldOmitGeoWhenUnknown() throws Exception {
+        // Given
+        TelemetryFrame.Snapshot snapshot = new TelemetryFrame.Snapshot(
+                1L, new TelemetryFrame.Vector(0f, 0f, 0f), new TelemetryFrame.Velocity(0f, 0f, 0f, 0f),
+                0f, 0f, null);
+
+        // When
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(snapshot));
+
+        // Then
+        assertThat(json.has("geo")).isFalse();
+        assertThat(json.has("orbitRadius")).isTrue();
+    }
+
+    @Test
+    void shouldRebuildTheNextFrameFromItsJsonAndADelta() throws Exception {
+        // Given
+        OrbitSeries shortTerm = new OrbitSeries(1, false);
+        shortTerm.add(10.5, -20.25, 420.0, 1_700_000_000_000L);
+        TelemetryFrame frame = new TelemetryFrame("op-1", 7L, Map.of(
+                "1", new TelemetryFrame.Spacecraft(snapshot(1L), shortTerm, null),
+                "2", new TelemetryFrame.Spacecraft(snapshot(1L), null, null)));
+        TelemetryDelta delta = new TelemetryDelta("op-1", 8L, 7L, Map.of(
+                "1", new TelemetryFrame.Spacecraft(snapshot(2L), null, null),
+                "3", new TelemetryFrame.Spacecraft(snapshot(2L), null, null)), List.of("2"));
+
+        // When
+        TelemetryFrame base = objectMapper.readValue(objectMapper.writeValueAsBytes(frame), TelemetryFrame.class);
+        TelemetryFrame next = base.apply(
+                objectMapper.readValue(objectMapper.writeValueAsBytes(delta), TelemetryDelta.class));
+
+        // Then
+        assertThat(next.seq()).isEqualTo(8L);
+        assertThat(next.telemetry()).containsOnlyKeys("1", "3");
+        assertThat(next.telemetry().get("1").telemetry().timestamp()).isEqualTo(2L);
+        assertThat(next.telemetry().get("1").shortPredictions().contentHash()).isEqualTo(shortTerm.contentHash());
+        assertThat(next.telemetry().get("3").shortPredictions()).isNull();
+    }
+
+    private static TelemetryFrame.Snapshot snapshot(long time) {
+        return new TelemetryFrame.Snapshot(time, new TelemetryFrame.Vector(1f, 2f, 3f),
+                new TelemetryFrame.Velocity(4f, 5f, 6f, 7f), 0.5f, 6790f, null);
+    }
+}
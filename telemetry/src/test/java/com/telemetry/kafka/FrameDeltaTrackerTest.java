@@ -0,0 +1,109 @@
+package com.telemetry.kafka;
+
+import com.telemetry.dto.OrbitSeries;
+import com.telemetry.dto.TelemetryDelta;
+import com.telemetry.dto.TelemetryFrame;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrameDeltaTrackerTest {
+
+    private static final UUID OPERATOR = UUID.randomUUID();
+    private static final int INTERVAL = 12;
+
+    private final FrameDeltaTracker tracker = new FrameDeltaTracker();
+
+    @Test
+    void shouldSendNoDeltaForFirstFrame() {
+        // When
+        FrameDeltaTracker.Tick tick = tracker.next(OPERATOR, frame(craft(1_000L, 1.0, 2.0)), INTERVAL, false);
+
+        // Then
+        assertThat(tick.delta()).isNull();
+    }
+
+    @Test
+    void shouldCarryOnlyChangedParts() {
+        // Given
+        Map<String, TelemetryFrame.Spacecraft> first = frame(craft(1_000L, 1.0, 2.0));
+        first.put("2", craft(1_000L, 5.0, 6.0));
+        FrameDeltaTracker.Tick base = tracker.next(OPERATOR, first, INTERVAL, false);
+
+        // When
+        Map<String, TelemetryFrame.Spacecraft> second = frame(craft(2_000L, 1.0, 2.0));
+        second.put("2", craft(1_000L, 5.0, 6.0));
+        FrameDeltaTracker.Tick tick = tracker.next(OPERATOR, second, INTERVAL, false);
+
+        // Then
+        TelemetryDelta delta = tick.delta();
+        assertThat(delta.baseSeq()).isEqualTo(base.seq());
+        assertThat(delta.seq()).isEqualTo(base.seq() + 1);
+        assertThat(delta.telemetry()).containsOnlyKeys("1");
+        TelemetryFrame.Spacecraft changed = delta.telemetry().get("1");
+        assertThat(changed.telemetry().timestamp()).isEqualTo(2_000L);
+        assertThat(changed.shortPredictions()).isNull();
+        assertThat(changed.fullOrbitPredictions()).isNull();
+        assertThat(delta.removed()).isEmpty();
+    }
+
+    @Test
+    void shouldResendPredictionsWhenTheyChangeAndListRemovedSpacecraft() {
+        // Given
+        Map<String, TelemetryFrame.Spacecraft> first = frame(craft(1_000L, 1.0, 2.0));
+        first.put("2", craft(1_000L, 5.0, 6.0));
+        tracker.next(OPERATOR, first, INTERVAL, false);
+
+        // When
+        TelemetryDelta delta = tracker.next(OPERATOR, frame(craft(1_000L, 1.5, 2.0)), INTERVAL, false).delta();
+
+        // Then
+        TelemetryFrame.Spacecraft changed = delta.telemetry().get("1");
+        assertThat(changed.telemetry()).isNull();
+        assertThat(changed.shortPredictions()).isNotNull();
+        assertThat(changed.fullOrbitPredictions()).isNull();
+        assertThat(delta.removed()).containsExactly("2");
+    }
+
+    @Test
+    void shouldSendKeyframeAfterTheIntervalOrWhenAsked() {
+        // Given
+        long base = tracker.next(OPERATOR, frame(craft(1_000L, 1.0, 2.0)), 2, false).seq();
+
+        // When
+        TelemetryDelta first = tracker.next(OPERATOR, frame(craft(2_000L, 1.0, 2.0)), 2, false).delta();
+        TelemetryDelta second = tracker.next(OPERATOR, frame(craft(3_000L, 1.0, 2.0)), 2, false).delta();
+        FrameDeltaTracker.Tick due = tracker.next(OPERATOR, frame(craft(4_000L, 1.0, 2.0)), 2, false);
+        TelemetryDelta after = tracker.next(OPERATOR, frame(craft(5_000L, 1.0, 2.0)), 2, false).delta();
+        FrameDeltaTracker.Tick asked = tracker.next(OPERATOR, frame(craft(6_000L, 1.0, 2.0)), 2, true);
+
+        // Then
+        assertThat(first.baseSeq()).isEqualTo(base);
+        assertThat(second).isNotNull();
+        assertThat(due.delta()).isNull();
+        assertThat(after.baseSeq()).isEqualTo(due.seq());
+        assertThat(asked.delta()).isNull();
+        assertThat(asked.seq()).isEqualTo(base + 5);
+    }
+
+    private static Map<String, TelemetryFrame.Spacecraft> frame(TelemetryFrame.Spacecraft craft) {
+        Map<String, TelemetryFrame.Spacecraft> frame = new LinkedHashMap<>();
+        frame.put("1", craft);
+        return frame;
+    }
+
+    private static TelemetryFrame.Spacecraft craft(long time, double shortLat, double fullLat) {
+        OrbitSeries shortTerm = new OrbitSeries(1, false);
+        shortTerm.add(shortLat, 0.0, 420.0, 60_000L);
+        OrbitSeries fullOrbit = new OrbitSeries(1, true);
+        fullOrbit.add(fullLat, 0.0, 420.0, 60_000L);
+        TelemetryFrame.Snapshot snapshot = new TelemetryFrame.Snapshot(time,
+                new TelemetryFrame.Vector(0f, 0f, 0f), new TelemetryFrame.Velocity(0f, 0f, 0f, 0f),
+                0f, 0f, null);
+        return new TelemetryFrame.Spacecraft(snapshot, shortTerm, fullOrbit);
+    }
+}
@@ -0,0 +1,308 @@
+package com.telemetry.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telemetry.config.KafkaConfig;
+import com.telemetry.dto.TelemetryPosition;
+import com.telemetry.dto.TrajectoryDataKey;
+import com.telemetry.model.SatelliteReference;
+import com.telemetry.model.TrajectoryData;
+import com.telemetry.repository.SatelliteReferenceRepository;
+import com.telemetry.service.BatchOrbitPropagator;
+import com.telemetry.service.CommandAdjustmentCache;
+import com.telemetry.service.OrbitBatch;
+import com.telemetry.service.PredictionService;
+import com.telemetry.service.SatelliteTelemetryService;
+import com.telemetry.service.SpacecraftUpdatedEvent;
+import com.telemetry.websocket.FrameFormat;
+import com.telemetry.websocket.TelemetrySubscriptions;
+
+@ExtendWith(MockitoExtension.class)
+class TelemetryKafkaProducerTest {
+
+    private static final UUID OPERATOR = UUID.randomUUID();
+
+    @Mock
+    private KafkaTemplate<String, byte[]> frameKafkaTemplate;
+
+    @Mock
+    private SatelliteTelemetryService satelliteTelemetryService;
+
+    @Mock
+    private SatelliteReferenceRepository referenceRepo;
+
+    @Mock
+    private CommandAdjustmentCache commandCache;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private TelemetrySubscriptions subscriptions = new TelemetrySubscriptions();
+
+    @InjectMocks
+    private TelemetryKafkaProducer producer;
+
+    private BatchOrbitPropagator batchPropagator;
+    private final List<ProducerRecord<String, byte[]>> sent = new ArrayList<>();
+    private final Map<Long, TrajectoryData> latest = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        PredictionService predictionService = new PredictionService();
+        ReflectionTestUtils.setField(predictionService, "commandCache", commandCache);
+        batchPropagator = spy(new BatchOrbitPropagator(predictionService, false));
+        ReflectionTestUtils.setField(producer, "batchPropagator", batchPropagator);
+        ReflectionTestUtils.setField(producer, "keyframeInterval", 12);
+        ReflectionTestUtils.setField(producer, "minIntervalMs", 60_000L);
+        producer.listenForSubscriptions();
+
+        lenient().when(frameKafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(inv -> {
+            sent.add(inv.getArgument(0));
+            return new CompletableFuture<>();
+        });
+        latest.put(1L, trajectory(1L));
+        latest.put(2L, trajectory(2L));
+        lenient().when(satelliteTelemetryService.getLatestForEnterprise(OPERATOR)).thenReturn(latest);
+        lenient().when(satelliteTelemetryService.getLatestPositionPair(anyLong()))
+                .thenAnswer(inv -> pair(10 + (long) inv.getArgument(0)));
+        lenient().when(referenceRepo.findByExternalIdIn(anyCollection())).thenAnswer(inv -> {
+            List<SatelliteReference> refs = new ArrayList<>();
+            for (Object id : (Collection<?>) inv.getArgument(0)) {
+                refs.add(new SatelliteReference(UUID.randomUUID(), (Long) id, OPERATOR, "sc-" + id));
+            }
+            return refs;
+        });
+    }
+
+    @Test
+    void shouldPublishSubscriptionsAtOnceAndHoldChangesForTheMinimumInterval() {
+        // Given: a session opened and got its first frame
+        subscriptions.open(OPERATOR, "a");
+        producer.publishPending();
+
+        // When: a position change within the minimum interval
+        producer.onSpacecraftUpdated(new SpacecraftUpdatedEvent(Set.of(1L)));
+        producer.publishPending();
+        int afterChange = keyframes();
+
+        // and a second session arriving
+        subscriptions.open(OPERATOR, "b");
+        producer.publishPending();
+        int afterSubscription = keyframes();
+
+        // and another change once the interval has passed
+        ReflectionTestUtils.setField(producer, "minIntervalMs", 0L);
+        producer.onSpacecraftUpdated(new SpacecraftUpdatedEvent(Set.of(2L)));
+        producer.publishPending();
+
+        // Then: the change after the interval goes out as a delta only
+        assertThat(afterChange).isEqualTo(1);
+        assertThat(afterSubscription).isEqualTo(2);
+        assertThat(frameTypes()).containsExactly(
+                KafkaConfig.FRAME_KEYFRAME, KafkaConfig.FRAME_KEYFRAME, KafkaConfig.FRAME_DELTA);
+    }
+
+    @Test
+    void shouldMergeChangesMarkedBetweenRunsIntoOneFrame() {
+        // Given
+        subscriptions.open(OPERATOR, "a");
+        producer.publishPending();
+        ReflectionTestUtils.setField(producer, "minIntervalMs", 0L);
+        clearInvocations(batchPropagator);
+
+        // When
+        producer.onSpacecraftUpdated(new SpacecraftUpdatedEvent(Set.of(1L)));
+        producer.onSpacecraftUpdated(new SpacecraftUpdatedEvent(Set.of(2L)));
+        producer.publishPending();
+
+        // Then: one delta, both spacecraft recomputed together
+        assertThat(frameTypes()).containsExactly(KafkaConfig.FRAME_KEYFRAME, KafkaConfig.FRAME_DELTA);
+        assertThat(propagatedSpacecraft()).containsExactly(Set.of(1L, 2L));
+    }
+
+    @Test
+    void shouldKeepAChangeMarkedWhileTheRunTakesTheEntryForTheNextRun() {
+        // Given: a change lands between reading the pending entry and removing it
+        subscriptions.open(OPERATOR, "a");
+        Map<UUID, Object> racing = new ConcurrentHashMap<>(pendingMap()) {
+            private boolean raced;
+
+            @Override
+            public boolean remove(Object key, Object value) {
+                if (!raced) {
+                    raced = true;
+                    producer.onSpacecraftUpdated(new SpacecraftUpdatedEvent(Set.of(2L)));
+                }
+                return super.remove(key, value);
+            }
+        };
+        ReflectionTestUtils.setField(producer, "pending", racing);
+
+        // When
+        producer.publishPending();
+        int firstRun = keyframes();
+        producer.publishPending();
+
+        // Then: the merged entry survived the first run and went out on the second
+        assertThat(firstRun).isZero();
+        assertThat(keyframes()).isEqualTo(1);
+        assertThat(racing).isEmpty();
+    }
+
+    @Test
+    void shouldReusePredictionsAndRecomputeOnlyChangedOrMissingSpacecraft() {
+        // Given
+        subscriptions.open(OPERATOR, "a");
+        producer.publishPending();
+
+        // When: another session opens, with nothing changed
+        subscriptions.open(OPERATOR, "b");
+        producer.publishPending();
+        // a change to one spacecraft
+        ReflectionTestUtils.setField(producer, "minIntervalMs", 0L);
+        producer.onSpacecraftUpdated(new SpacecraftUpdatedEvent(Set.of(1L)));
+        producer.publishPending();
+        // a spacecraft with no cached predictions yet
+        latest.put(3L, trajectory(3L));
+        subscriptions.open(OPERATOR, "c");
+        producer.publishPending();
+
+        // Then: every new session got a keyframe, the change a delta
+        assertThat(keyframes()).isEqualTo(3);
+        assertThat(sent).hasSize(4);
+        assertThat(propagatedSpacecraft()).containsExactly(Set.of(1L, 2L), Set.of(1L), Set.of(3L));
+    }
+
+    @Test
+    void shouldPublishDeltasInNegotiatedFormatsWithKeyframesEveryIntervalOrOnRequest() {
+        // Given
+        ReflectionTestUtils.setField(producer, "keyframeInterval", 2);
+        ReflectionTestUtils.setField(producer, "minIntervalMs", 0L);
+        subscriptions.open(OPERATOR, "a", FrameFormat.BINARY);
+        producer.publishPending();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            producer.onSpacecraftUpdated(new SpacecraftUpdatedEvent(Set.of(1L)));
+            producer.publishPending();
+        }
+        subscriptions.requestKeyframe(OPERATOR);
+        producer.publishPending();
+
+        // Then
+        assertThat(frameTypes()).containsExactly(KafkaConfig.FRAME_KEYFRAME,
+                KafkaConfig.FRAME_DELTA, KafkaConfig.FRAME_DELTA, KafkaConfig.FRAME_KEYFRAME,
+                KafkaConfig.FRAME_KEYFRAME);
+        assertThat(sent).allMatch(r -> header(r, KafkaConfig.HEADER_FRAME_FORMAT).equals("BINARY"));
+    }
+
+    @Test
+    void shouldDropPredictionsAndPublishTimeOnceNobodyWatches() {
+        // Given
+        subscriptions.open(OPERATOR, "a");
+        producer.publishPending();
+
+        // When
+        subscriptions.close(OPERATOR, "a");
+        producer.publishPending();
+
+        // Then
+        assertThat(keyframes()).isEqualTo(1);
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(producer, "predictions")).isEmpty();
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(producer, "lastPublished")).isEmpty();
+        assertThat(pendingMap()).isEmpty();
+    }
+
+    @Test
+    void shouldNotMarkOperatorsWithoutSessions() {
+        // When
+        producer.onSpacecraftUpdated(new SpacecraftUpdatedEvent(Set.of(1L)));
+        producer.publishPending();
+
+        // Then
+        assertThat(pendingMap()).isEmpty();
+        verify(satelliteTelemetryService, never()).getLatestForEnterprise(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<UUID, Object> pendingMap() {
+        return (Map<UUID, Object>) ReflectionTestUtils.getField(producer, "pending");
+    }
+
+    private int keyframes() {
+        return (int) frameTypes().stream().filter(KafkaConfig.FRAME_KEYFRAME::equals).count();
+    }
+
+    private List<String> frameTypes() {
+        return sent.stream().map(r -> header(r, KafkaConfig.HEADER_FRAME_TYPE)).toList();
+    }
+
+    private static String header(ProducerRecord<String, byte[]> record, String name) {
+        Header h = record.headers().lastHeader(name);
+        return new String(h.value(), StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Set<Long>> propagatedSpacecraft() {
+        ArgumentCaptor<Map<Long, List<TelemetryPosition>>> observations = ArgumentCaptor.forClass(Map.class);
+        verify(batchPropagator, atLeast(0))
+                .propagate(observations.capture(), eq(OPERATOR), anyInt(), anyInt(), anyInt(), any(OrbitBatch.class));
+        return observations.getAllValues().stream().map(m -> Set.copyOf(m.keySet())).toList();
+    }
+
+    private static List<TelemetryPosition> pair(double lat) {
+        return List.of(
+                new TelemetryPosition(lat, 20, 420, new Timestamp(1_700_000_000_000L)),
+                new TelemetryPosition(lat + 0.04, 20.05, 420.1, new Timestamp(1_700_000_001_000L)));
+    }
+
+    private static TrajectoryData trajectory(long externalId) {
+        return new TrajectoryData(
+                new TrajectoryDataKey(externalId, new Timestamp(1_700_000_001_000L)),
+                1.0f, 2.0f, 3.0f,
+                0.1f, 0.2f, 0.3f,
+                0.5f,
+                0.01f,
+                7000.0f,
+                null, null, null,
+                null, null, null, null
+        );
+    }
+}
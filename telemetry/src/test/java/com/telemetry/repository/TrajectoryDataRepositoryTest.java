@@ -131,6 +131,26 @@ class TrajectoryDataRepositoryTest {
         assertThat(count).isEqualTo(2);
     }
 
+    @Test
+    void shouldFindLatestForEachExternalId() {
+        // Given
+        Timestamp older = Timestamp.valueOf("2023-01-01 09:00:00");
+        Timestamp newer = Timestamp.valueOf("2023-01-01 12:00:00");
+        repository.save(createTestData(new TrajectoryDataKey(300L, older)));
+        repository.save(createTestData(new TrajectoryDataKey(300L, newer)));
+        repository.save(createTestData(new TrajectoryDataKey(400L, older)));
+
+        // When
+        List<TrajectoryData> latest = repository.findLatestForEachExternalId();
+
+        // Then
+        assertThat(latest).hasSize(2);
+        assertThat(latest)
+                .filteredOn(d -> d.getExternalId() == 300L)
+                .extracting(TrajectoryData::getTimestamp)
+                .containsExactly(newer);
+    }
+
     private TrajectoryData createTestData(TrajectoryDataKey key) {
         return new TrajectoryData(
                 key,
@@ -0,0 +1,112 @@
+package com.telemetry.service;
+
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.telemetry.dto.OrbitPredictions;
+import com.telemetry.dto.OrbitSeries;
+import com.telemetry.dto.PredictiveOrbitPoint;
+import com.telemetry.dto.TelemetryPosition;
+import com.telemetry.repository.SatelliteReferenceRepository;
+import com.telemetry.repository.TrajectoryDataRepository;
+
+@ExtendWith(MockitoExtension.class)
+class BatchOrbitPropagatorTest {
+
+    private static final UUID ENTERPRISE = UUID.randomUUID();
+
+    @Mock
+    private SatelliteReferenceRepository satRefRepo;
+
+    @Mock
+    private TrajectoryDataRepository trajRepo;
+
+    @Mock
+    private CommandAdjustmentCache commandCache;
+
+    @InjectMocks
+    private PredictionService predictionService;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void shouldMatchPerSpacecraftPredictions(boolean vectorApi) {
+        // Given: more spacecraft than a vector register holds, so the scalar tail runs too
+        CommandAdjustments boost = new CommandAdjustments();
+        boost.speedMultiplier = 1.2;
+        boost.orbitRadiusAdjustment = 10.0;
+        lenient().when(commandCache.get(anyLong(), any())).thenReturn(null);
+        lenient().when(commandCache.get(3L, ENTERPRISE)).thenReturn(boost);
+        Map<Long, List<TelemetryPosition>> observations = new LinkedHashMap<>();
+        for (long id = 1; id <= 11; id++) {
+            observations.put(id, pair(-50 + 9 * id, -170 + 31 * id, 400 + 20 * id, 0.04, 0.05));
+        }
+        BatchOrbitPropagator propagator = new BatchOrbitPropagator(predictionService, vectorApi);
+        OrbitBatch batch = new OrbitBatch();
+
+        // When
+        propagator.propagate(observations, ENTERPRISE, 60, 60, 120, batch);
+
+        // Then
+        // the module is only added in the vector-api profile, which also compiles the kernel
+        boolean vectorBuild = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        assertThat(propagator.isVectorized()).isEqualTo(vectorApi && vectorBuild);
+        assertThat(batch.size()).isEqualTo(11);
+        for (int i = 0; i < batch.size(); i++) {
+            long id = batch.externalId(i);
+            OrbitPredictions expected = predictionService.predict(observations.get(id), 60, 60, 120, id, ENTERPRISE);
+            assertSameSeries(batch.shortTerm(i), expected.shortTerm());
+            assertSameSeries(batch.fullOrbit(i), expected.fullOrbit());
+        }
+    }
+
+    @Test
+    void shouldLeaveOutSpacecraftWithoutTwoObservations() {
+        // Given
+        Map<Long, List<TelemetryPosition>> observations = new LinkedHashMap<>();
+        observations.put(1L, pair(10, 20, 420, 0.04, 0.05));
+        observations.put(2L, pair(10, 20, 420, 0.04, 0.05).subList(1, 2));
+        OrbitBatch batch = new OrbitBatch();
+
+        // When
+        new BatchOrbitPropagator(predictionService, false)
+                .propagate(observations, ENTERPRISE, 60, 60, 120, batch);
+
+        // Then
+        assertThat(batch.size()).isEqualTo(1);
+        assertThat(batch.externalId(0)).isEqualTo(1L);
+    }
+
+    private static List<TelemetryPosition> pair(double lat, double lon, double alt, double dLat, double dLon) {
+        return List.of(
+                new TelemetryPosition(lat, lon, alt, new Timestamp(1_700_000_000_000L)),
+                new TelemetryPosition(lat + dLat, lon + dLon, alt + 0.1, new Timestamp(1_700_000_001_000L)));
+    }
+
+    private static void assertSameSeries(OrbitSeries actual, List<PredictiveOrbitPoint> expected) {
+        assertThat(actual.size()).isEqualTo(expected.size());
+        for (int j = 0; j < expected.size(); j++) {
+            PredictiveOrbitPoint p = expected.get(j);
+            assertThat(actual.latitude(j)).isCloseTo(p.getLatitude(), within(1e-6));
+            assertThat(actual.longitude(j)).isCloseTo(p.getLongitude(), within(1e-6));
+            assertThat(actual.altitude(j)).isCloseTo(p.getAltitude(), within(1e-6));
+            assertThat(actual.timestampMillis(j)).isEqualTo(p.getTimestamp().getTime());
+            assertThat(actual.isFullOrbit()).isEqualTo(p.isFullOrbit());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.telemetry.service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.telemetry.client.SpacecraftClient;
+import com.telemetry.client.SpacecraftClient.CommandDto;
+import com.telemetry.client.SpacecraftClient.CommandType;
+
+@ExtendWith(MockitoExtension.class)
+class CommandAdjustmentCacheTest {
+
+    private static final long EXTERNAL_ID = 25544L;
+    private static final UUID ENTERPRISE = UUID.randomUUID();
+
+    @Mock
+    private SpacecraftClient spacecraftClient;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldLoadInBackgroundAndServeFromCache() throws Exception {
+        // Given
+        when(spacecraftClient.findCommandsForSpacecraft(EXTERNAL_ID, ENTERPRISE))
+                .thenReturn(List.of(command("{\"speed\":1.5}", 1000L)));
+        CommandAdjustmentCache cache = new CommandAdjustmentCache(spacecraftClient, executor, 60_000);
+
+        // When: first read does not wait for the load
+        CommandAdjustments first = cache.get(EXTERNAL_ID, ENTERPRISE);
+        awaitLoaded(cache);
+        CommandAdjustments second = cache.get(EXTERNAL_ID, ENTERPRISE);
+        cache.get(EXTERNAL_ID, ENTERPRISE);
+
+        // Then
+        assertThat(first).isNull();
+        assertThat(second.speedMultiplier).isEqualTo(1.5);
+        verify(spacecraftClient, times(1)).findCommandsForSpacecraft(EXTERNAL_ID, ENTERPRISE);
+    }
+
+    @Test
+    void shouldReloadOnInvalidate() throws Exception {
+        // Given
+        when(spacecraftClient.findCommandsForSpacecraft(EXTERNAL_ID, ENTERPRISE))
+                .thenReturn(List.of(command("{\"speed\":1.5}", 1000L)))
+                .thenReturn(List.of(command("{\"speed\":1.5}", 1000L), command("{\"orbitRadius\":20}", 2000L)));
+        CommandAdjustmentCache cache = new CommandAdjustmentCache(spacecraftClient, executor, 60_000);
+        cache.get(EXTERNAL_ID, ENTERPRISE);
+        awaitLoaded(cache);
+
+        // When
+        cache.invalidate(EXTERNAL_ID);
+
+        // Then
+        verify(spacecraftClient, timeout(2000).times(2)).findCommandsForSpacecraft(EXTERNAL_ID, ENTERPRISE);
+        executor.submit(() -> { }).get();
+        assertThat(cache.get(EXTERNAL_ID, ENTERPRISE).orbitRadiusAdjustment).isEqualTo(20.0);
+    }
+
+    @Test
+    void shouldReloadAgainWhenInvalidatedDuringARunningReload() throws Exception {
+        // Given: the first fetch blocks until the command changes
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch commandChanged = new CountDownLatch(1);
+        when(spacecraftClient.findCommandsForSpacecraft(EXTERNAL_ID, ENTERPRISE))
+                .thenAnswer(inv -> {
+                    fetching.countDown();
+                    commandChanged.await();
+                    return List.of(command("{\"speed\":1.5}", 1000L));
+                })
+                .thenReturn(List.of(command("{\"orbitRadius\":20}", 2000L)));
+        CommandAdjustmentCache cache = new CommandAdjustmentCache(spacecraftClient, executor, 60_000);
+        cache.get(EXTERNAL_ID, ENTERPRISE);
+        fetching.await();
+
+        // When
+        cache.invalidate(EXTERNAL_ID, ENTERPRISE);
+        cache.get(EXTERNAL_ID, ENTERPRISE);
+        commandChanged.countDown();
+        awaitLoaded(cache);
+
+        // Then: one more fetch for the invalidation, none for the plain read
+        verify(spacecraftClient, times(2)).findCommandsForSpacecraft(EXTERNAL_ID, ENTERPRISE);
+        assertThat(cache.get(EXTERNAL_ID, ENTERPRISE).orbitRadiusAdjustment).isEqualTo(20.0);
+    }
+
+    @Test
+    void shouldIgnoreUnexecutedAndOtherCommands() throws Exception {
+        // Given
+        CommandDto pending = new CommandDto(UUID.randomUUID(), UUID.randomUUID(), CommandType.ADJUST_TRAJECTORY,
+                UUID.randomUUID(), "{\"speed\":3.0}", false, new Date(), null);
+        CommandDto shutdown = new CommandDto(UUID.randomUUID(), UUID.randomUUID(), CommandType.SHUTDOWN,
+                UUID.randomUUID(), "{\"speed\":2.0}", true, new Date(), new Date());
+        when(spacecraftClient.findCommandsForSpacecraft(EXTERNAL_ID, ENTERPRISE)).thenReturn(List.of(pending, shutdown));
+        CommandAdjustmentCache cache = new CommandAdjustmentCache(spacecraftClient, executor, 60_000);
+
+        // When
+        cache.get(EXTERNAL_ID, ENTERPRISE);
+        awaitLoaded(cache);
+
+        // Then
+        assertThat(cache.get(EXTERNAL_ID, ENTERPRISE)).isNull();
+    }
+
+    private void awaitLoaded(CommandAdjustmentCache cache) throws Exception {
+        // the single worker runs loads in order, so an empty task queued behind it marks completion
+        executor.submit(() -> { }).get();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    private static CommandDto command(String payload, long executedAt) {
+        return new CommandDto(UUID.randomUUID(), UUID.randomUUID(), CommandType.ADJUST_TRAJECTORY,
+                UUID.randomUUID(), payload, true, new Date(executedAt), new Date(executedAt));
+    }
+}
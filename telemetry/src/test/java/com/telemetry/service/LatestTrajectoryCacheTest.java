@@ -0,0 +1,157 @@
+package com.telemetry.service;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import com.telemetry.dto.TrajectoryDataKey;
+import com.telemetry.model.TrajectoryData;
+import com.telemetry.repository.TrajectoryDataRepository;
+
+@ExtendWith(MockitoExtension.class)
+class LatestTrajectoryCacheTest {
+
+    @Mock
+    private TrajectoryDataRepository repository;
+
+    @InjectMocks
+    private LatestTrajectoryCache cache;
+
+    @Test
+    void shouldServeWarmedEntriesWithoutQueryingPerSpacecraft() {
+        // Given
+        TrajectoryData a = createTestData(100L, "2024-01-01 10:00:00");
+        TrajectoryData b = createTestData(200L, "2024-01-01 10:00:00");
+        when(repository.findLatestForEachExternalId()).thenReturn(List.of(a, b));
+
+        // When
+        cache.warmUp();
+
+        // Then
+        assertThat(cache.getLatest(100L)).contains(a);
+        assertThat(cache.getLatest(200L)).contains(b);
+        assertThat(cache.getLatest(300L)).isEmpty();
+        verify(repository, never()).findTopByIdExternalIdOrderByIdTimestampDesc(anyLong());
+    }
+
+    @Test
+    void shouldKeepNewestPointWhenRecording() {
+        // Given
+        TrajectoryData older = createTestData(100L, "2024-01-01 10:00:00");
+        TrajectoryData newer = createTestData(100L, "2024-01-01 10:01:00");
+        when(repository.findLatestForEachExternalId()).thenReturn(List.of());
+        cache.warmUp();
+
+        // When
+        cache.record(newer);
+        cache.recordAll(List.of(older));
+
+        // Then
+        assertThat(cache.getLatest(100L)).contains(newer);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFallBackToRepositoryBeforeWarmUp() {
+        // Given
+        TrajectoryData fromDb = createTestData(100L, "2024-01-01 10:00:00");
+        when(repository.findTopByIdExternalIdOrderByIdTimestampDesc(100L)).thenReturn(Optional.of(fromDb));
+
+        // When
+        Optional<TrajectoryData> first = cache.getLatest(100L);
+        Optional<TrajectoryData> second = cache.getLatest(100L);
+
+        // Then
+        assertThat(first).contains(fromDb);
+        assertThat(second).contains(fromDb);
+        verify(repository).findTopByIdExternalIdOrderByIdTimestampDesc(100L);
+    }
+
+    @Test
+    void shouldTrackPreviousPointAndLoadItOnceAfterWarmUp() {
+        // Given: warm-up only knows the newest row
+        TrajectoryData first = createTestData(100L, "2024-01-01 10:00:00");
+        TrajectoryData second = createTestData(100L, "2024-01-01 10:00:01");
+        TrajectoryData third = createTestData(100L, "2024-01-01 10:00:02");
+        when(repository.findLatestForEachExternalId()).thenReturn(List.of(second));
+        when(repository.findByIdExternalIdOrderByIdTimestampDesc(eq(100L), any(Pageable.class)))
+                .thenReturn(List.of(second, first));
+        cache.warmUp();
+
+        // When
+        List<TrajectoryData> loaded = cache.getLatestTwo(100L);
+        cache.record(third);
+        List<TrajectoryData> advanced = cache.getLatestTwo(100L);
+
+        // Then
+        assertThat(loaded).containsExactly(first, second);
+        assertThat(advanced).containsExactly(second, third);
+        assertThat(cache.getLatest(100L)).contains(third);
+        verify(repository, times(1)).findByIdExternalIdOrderByIdTimestampDesc(eq(100L), any(Pageable.class));
+    }
+
+    @Test
+    void shouldRememberSpacecraftWithSingleRowAndNotQueryAgain() {
+        // Given
+        TrajectoryData only = createTestData(100L, "2024-01-01 10:00:00");
+        TrajectoryData next = createTestData(100L, "2024-01-01 10:00:01");
+        when(repository.findLatestForEachExternalId()).thenReturn(List.of(only));
+        when(repository.findByIdExternalIdOrderByIdTimestampDesc(eq(100L), any(Pageable.class)))
+                .thenReturn(List.of(only));
+        cache.warmUp();
+
+        // When
+        List<TrajectoryData> first = cache.getLatestTwo(100L);
+        List<TrajectoryData> second = cache.getLatestTwo(100L);
+        cache.record(next);
+        List<TrajectoryData> advanced = cache.getLatestTwo(100L);
+
+        // Then
+        assertThat(first).containsExactly(only);
+        assertThat(second).containsExactly(only);
+        assertThat(advanced).containsExactly(only, next);
+        verify(repository, times(1)).findByIdExternalIdOrderByIdTimestampDesc(eq(100L), any(Pageable.class));
+    }
+
+    @Test
+    void shouldNotQueryUnknownSpacecraftAfterWarmUp() {
+        // Given
+        when(repository.findLatestForEachExternalId()).thenReturn(List.of());
+        cache.warmUp();
+
+        // When
+        List<TrajectoryData> result = cache.getLatestTwo(404L);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(repository, never()).findByIdExternalIdOrderByIdTimestampDesc(anyLong(), any(Pageable.class));
+    }
+
+    private TrajectoryData createTestData(long externalId, String timestamp) {
+        return new TrajectoryData(
+                new TrajectoryDataKey(externalId, Timestamp.valueOf(timestamp)),
+                1.0f, 2.0f, 3.0f, // position
+                0.1f, 0.2f, 0.3f, // velocity vector
+                0.5f, // velocity scalar
+                0.01f, // acceleration
+                7000.0f, // orbit radius
+                null, null, null, // optional geospatial
+                null, null, null, null // optional angles
+        );
+    }
+}
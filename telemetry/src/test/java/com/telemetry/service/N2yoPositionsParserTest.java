@@ -0,0 +1,64 @@
+package com.telemetry.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import com.telemetry.dto.TelemetryPosition;
+import com.telemetry.dto.TelemetryResponse;
+
+class N2yoPositionsParserTest {
+
+    private static final String PAYLOAD = """
+            {"info":{"satname":"SPACE STATION","satid":25544,"transactionscount":5,"extra":{"a":[1,2]}},
+             "positions":[
+               {"satlatitude":-39.9,"satlongitude":158.3,"sataltitude":417.8,"azimuth":254.5,
+                "elevation":-69.1,"ra":44.7,"dec":-43.7,"timestamp":1521354418,"eclipsed":false},
+               {"satlatitude":-39.8,"satlongitude":158.4,"sataltitude":417.9,"azimuth":254.6,
+                "elevation":-69.0,"ra":44.8,"dec":-43.6,"timestamp":1521354419,"eclipsed":null}
+             ]}
+            """;
+
+    private final N2yoPositionsParser parser = new N2yoPositionsParser();
+
+    @Test
+    void shouldParsePositionsFromStream() throws IOException {
+        // When
+        TelemetryResponse resp = parser.parse(
+                new ByteArrayInputStream(PAYLOAD.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertThat(resp.getTelemetryInfo().getSatName()).isEqualTo("SPACE STATION");
+        assertThat(resp.getTelemetryInfo().getSatId()).isEqualTo("25544");
+        assertThat(resp.getTelemetryInfo().getTransactionsCount()).isEqualTo(5L);
+        assertThat(resp.getPositions()).hasSize(2);
+
+        TelemetryPosition first = resp.getPositions().get(0);
+        assertThat(first.getSatlatitude()).isEqualTo(-39.9f);
+        assertThat(first.getSatlongitude()).isEqualTo(158.3f);
+        assertThat(first.getSataltitude()).isEqualTo(417.8f);
+        assertThat(first.getRightAscension()).isEqualTo(44.7f);
+        assertThat(first.getDeclination()).isEqualTo(-43.7f);
+        assertThat(first.getTimestamp()).isEqualTo(new Timestamp(1521354418000L));
+    }
+
+    @Test
+    void shouldRaiseApiError() {
+        assertThatThrownBy(() -> parser.parse("{\"error\":\"Invalid API Key!\"}"))
+                .isInstanceOf(IOException.class)
+                .hasMessage("API Error: Invalid API Key!");
+    }
+
+    @Test
+    void shouldRejectFewerThanTwoPositions() {
+        assertThatThrownBy(() -> parser.parse(
+                "{\"positions\":[{\"satlatitude\":1.0,\"timestamp\":1}]}"))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Not enough positions in response");
+    }
+}
@@ -0,0 +1,137 @@
+package com.telemetry.service;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sun.management.ThreadMXBean;
+import com.telemetry.dto.OrbitPredictions;
+import com.telemetry.dto.OrbitSeries;
+import com.telemetry.dto.PredictiveOrbitPoint;
+import com.telemetry.dto.TelemetryPosition;
+import com.telemetry.repository.SatelliteReferenceRepository;
+import com.telemetry.repository.TrajectoryDataRepository;
+
+@ExtendWith(MockitoExtension.class)
+class PredictionServiceTest {
+
+    private static final long EXTERNAL_ID = 25544L;
+    private static final UUID ENTERPRISE = UUID.randomUUID();
+
+    @Mock
+    private SatelliteReferenceRepository satRefRepo;
+
+    @Mock
+    private TrajectoryDataRepository trajRepo;
+
+    @Mock
+    private CommandAdjustmentCache commandCache;
+
+    @InjectMocks
+    private PredictionService predictionService;
+
+    private final List<TelemetryPosition> positions = List.of(
+            new TelemetryPosition(-39.90f, 158.30f, 417.8f, new Timestamp(1_700_000_000_000L)),
+            new TelemetryPosition(-39.86f, 158.35f, 417.9f, new Timestamp(1_700_000_001_000L)));
+
+    @Test
+    void shouldMatchSeparatePredictionsFromOnePropagation() {
+        // Given
+        CommandAdjustments adjustments = new CommandAdjustments();
+        adjustments.speedMultiplier = 1.1;
+        when(commandCache.get(EXTERNAL_ID, ENTERPRISE)).thenReturn(adjustments);
+
+        // When
+        OrbitPredictions combined = predictionService.predict(positions, 60, 60, 120, EXTERNAL_ID, ENTERPRISE);
+        List<PredictiveOrbitPoint> shortTerm = predictionService.predictOrbit(positions, 60, 60, EXTERNAL_ID, ENTERPRISE);
+        List<PredictiveOrbitPoint> fullOrbit = predictionService.predictFullOrbit(positions, 120, EXTERNAL_ID, ENTERPRISE);
+
+        // Then
+        assertThat(combined.shortTerm()).hasSize(61).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(shortTerm);
+        assertThat(combined.fullOrbit()).hasSize(121).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(fullOrbit);
+        // one lookup for the combined call, one each for the separate calls
+        verify(commandCache, times(3)).get(EXTERNAL_ID, ENTERPRISE);
+    }
+
+    @Test
+    void shouldReuseFitUntilNewerObservationOrCommand() {
+        // Given
+        when(commandCache.get(EXTERNAL_ID, ENTERPRISE)).thenReturn(null);
+        OrbitPredictions first = predictionService.predict(positions, 60, 60, 120, EXTERNAL_ID, ENTERPRISE);
+        // same timestamps, different coordinates: only a cached fit gives the old orbit
+        List<TelemetryPosition> sameEpoch = List.of(
+                positions.get(0),
+                new TelemetryPosition(-20.0f, 100.0f, 500.0f, positions.get(1).getTimestamp()));
+
+        // When
+        OrbitPredictions cached = predictionService.predict(sameEpoch, 60, 60, 120, EXTERNAL_ID, ENTERPRISE);
+        CommandAdjustments command = new CommandAdjustments();
+        command.orbitRadiusAdjustment = 50.0;
+        when(commandCache.get(EXTERNAL_ID, ENTERPRISE)).thenReturn(command);
+        OrbitPredictions refitted = predictionService.predict(sameEpoch, 60, 60, 120, EXTERNAL_ID, ENTERPRISE);
+
+        // Then
+        assertThat(cached.fullOrbit()).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(first.fullOrbit());
+        assertThat(refitted.fullOrbit().get(0).getAltitude())
+                .isNotEqualTo(first.fullOrbit().get(0).getAltitude());
+    }
+
+    @Test
+    void shouldReturnEmptySeriesWithTooFewPositions() {
+        // When
+        OrbitPredictions result = predictionService.predict(positions.subList(0, 1), 60, 60, 120, EXTERNAL_ID, ENTERPRISE);
+
+        // Then
+        assertThat(result.shortTerm()).isEmpty();
+        assertThat(result.fullOrbit()).isEmpty();
+    }
+
+    @Test
+    void shouldPropagateIntoReusedBuffersWithoutAllocating() {
+        // Given: a plain stub, since Mockito records every invocation
+        PredictionService service = new PredictionService();
+        ReflectionTestUtils.setField(service, "commandCache", new CommandAdjustmentCache(null, null, 0) {
+            @Override
+            CommandAdjustments get(Long externalId, UUID enterpriseId) {
+                return null;
+            }
+        });
+        OrbitSeries shortTerm = new OrbitSeries(61, false);
+        OrbitSeries fullOrbit = new OrbitSeries(121, true);
+        Long externalId = EXTERNAL_ID;
+        for (int i = 0; i < 20_000; i++) {
+            service.propagate(positions, 60, 60, 120, externalId, ENTERPRISE, shortTerm, fullOrbit);
+        }
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        // When
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 1_000; i++) {
+            service.propagate(positions, 60, 60, 120, externalId, ENTERPRISE, shortTerm, fullOrbit);
+        }
+        long perCall = (threads.getCurrentThreadAllocatedBytes() - before) / 1_000;
+
+        // Then: at most the cache key, no per-point objects
+        assertThat(shortTerm.size()).isEqualTo(61);
+        assertThat(fullOrbit.size()).isEqualTo(121);
+        assertThat(perCall).isLessThan(256);
+        assertThat(fullOrbit.toPoints()).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(service.predictFullOrbit(positions, 120, externalId, ENTERPRISE));
+    }
+}
@@ -3,6 +3,7 @@ package com.telemetry.service;
 import java.util.List;
 import java.util.UUID;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,9 +27,17 @@ class SatelliteSyncServiceTest {
     @Mock
     private SatelliteReferenceRepository repository;
 
+    @Mock
+    private ShardLeaseCoordinator shards;
+
     @InjectMocks
     private SatelliteSyncService service;
 
+    @BeforeEach
+    void setUp() {
+        when(shards.isLeader()).thenReturn(true);
+    }
+
     @Test
     void shouldSyncNewSpacecraft() {
         // Given
@@ -85,4 +94,16 @@ class SatelliteSyncServiceTest {
         verify(repository, never()).existsByExternalId(any());
         verify(repository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldSkipSyncOnNonLeaderReplica() {
+        // Given
+        when(shards.isLeader()).thenReturn(false);
+
+        // When
+        service.syncSpacecraft();
+
+        // Then
+        verify(spacecraftClient, never()).findAllSummary();
+    }
+}
@@ -0,0 +1,125 @@
+package com.telemetry.service;
+
+import com.telemetry.config.OperatorPartitions;
+import com.telemetry.repository.ShardLeaseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ShardLeaseCoordinatorTest {
+
+    private static final long TTL_MS = 30_000;
+
+    @Autowired
+    private ShardLeaseRepository repository;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+
+    @Test
+    void shouldSplitShardsBetweenLiveReplicas() {
+        // Given
+        ShardLeaseCoordinator a = coordinator(0);
+        ShardLeaseCoordinator b = coordinator(1);
+
+        // When
+        round(a, b);
+
+        // Then
+        assertThat(a.ownedShards()).containsExactly(0, 2);
+        assertThat(b.ownedShards()).containsExactly(1, 3);
+        assertThat(a.isLeader()).isTrue();
+        assertThat(b.isLeader()).isFalse();
+    }
+
+    @Test
+    void shouldFailOverShardsOfADeadReplicaAndHandThemBack() {
+        // Given
+        ShardLeaseCoordinator a = coordinator(0);
+        ShardLeaseCoordinator b = coordinator(1);
+        round(a, b);
+
+        // When b stops renewing
+        clock.advance(TTL_MS / 3);
+        a.rebalance();
+        clock.advance(TTL_MS);
+        a.rebalance();
+
+        // Then
+        assertThat(b.ownedShards()).isEmpty();
+        assertThat(a.ownedShards()).containsExactly(0, 1, 2, 3);
+
+        // When b comes back
+        b.rebalance();
+        a.rebalance();
+        b.rebalance();
+
+        // Then
+        assertThat(a.ownedShards()).containsExactly(0, 2);
+        assertThat(b.ownedShards()).containsExactly(1, 3);
+    }
+
+    @Test
+    void shouldMoveLeaderOnCleanShutdown() {
+        // Given
+        ShardLeaseCoordinator a = coordinator(0);
+        ShardLeaseCoordinator b = coordinator(1);
+        round(a, b);
+
+        // When
+        a.releaseAll();
+        b.rebalance();
+
+        // Then
+        assertThat(b.isLeader()).isTrue();
+        assertThat(b.ownedShards()).containsExactly(0, 1, 2, 3);
+    }
+
+    private void round(ShardLeaseCoordinator... replicas) {
+        for (int i = 0; i < 2; i++) {
+            for (ShardLeaseCoordinator c : replicas) c.rebalance();
+        }
+    }
+
+    private ShardLeaseCoordinator coordinator(int index) {
+        return new ShardLeaseCoordinator(repository, new OperatorPartitions(4, index, 2),
+                new SimpleMeterRegistry(), true, TTL_MS, clock);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(long ms) {
+            now = now.plusMillis(ms);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
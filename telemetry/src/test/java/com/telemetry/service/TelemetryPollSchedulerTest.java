@@ -0,0 +1,87 @@
+package com.telemetry.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TelemetryPollSchedulerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService workers = Executors.newFixedThreadPool(2);
+    private TelemetryPollScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+        workers.shutdownNow();
+    }
+
+    @Test
+    void shouldPollEverySatelliteAndCompleteCycle() throws Exception {
+        // Given
+        scheduler = new TelemetryPollScheduler(registry, workers, 40, 0.5, 60_000, 600_000, 3_600_000, 10);
+        Set<Long> polled = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(1);
+
+        // When
+        scheduler.runCycle(List.of(1L, 2L, 3L), polled::add, done::countDown);
+
+        // Then
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(polled).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(registry.get("telemetry.poll.requests").tag("outcome", "success").counter().count())
+                .isEqualTo(3.0);
+        assertThat(registry.get("telemetry.poll.cycle.duration").timer().count()).isEqualTo(1);
+        assertThat(registry.get("telemetry.poll.queue.depth").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldBackOffFailingSatellite() throws Exception {
+        // Given
+        scheduler = new TelemetryPollScheduler(registry, workers, 10, 0.5, 60_000, 600_000, 3_600_000, 10);
+        CountDownLatch first = new CountDownLatch(1);
+        scheduler.runCycle(List.of(7L), id -> { throw new IllegalStateException("boom"); }, first::countDown);
+        assertThat(first.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        Set<Long> polled = ConcurrentHashMap.newKeySet();
+        CountDownLatch second = new CountDownLatch(1);
+        scheduler.runCycle(List.of(7L), polled::add, second::countDown);
+
+        // Then
+        assertThat(second.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(polled).isEmpty();
+        assertThat(registry.get("telemetry.poll.requests").tag("outcome", "failure").counter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("telemetry.poll.requests").tag("outcome", "backoff").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldThrottleBeyondQuotaBurst() throws Exception {
+        // Given: burst of 2, refill far slower than the test runs
+        scheduler = new TelemetryPollScheduler(registry, workers, 10, 0.5, 60_000, 600_000, 1, 2);
+        Set<Long> polled = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(1);
+
+        // When
+        scheduler.runCycle(List.of(1L, 2L, 3L, 4L), polled::add, done::countDown);
+
+        // Then
+        assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(polled).hasSize(2);
+        assertThat(registry.get("telemetry.poll.requests").tag("outcome", "throttled").counter().count())
+                .isEqualTo(2.0);
+        assertThat(registry.get("telemetry.poll.quota.headroom").gauge().value()).isLessThan(1.0);
+    }
+}
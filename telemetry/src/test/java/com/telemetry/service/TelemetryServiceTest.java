@@ -0,0 +1,115 @@
+package com.telemetry.service;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.telemetry.client.SpacecraftClient;
+import com.telemetry.dto.TelemetryPosition;
+import com.telemetry.dto.TelemetryResponse;
+import com.telemetry.model.TrajectoryData;
+import com.telemetry.repository.SatelliteReferenceRepository;
+import com.telemetry.repository.TrajectoryDataRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TelemetryServiceTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    @Mock
+    private PredictionService predictionService;
+
+    @Mock
+    private SpacecraftClient spacecraftClient;
+
+    @Mock
+    private TrajectoryDataRepository trajectoryDataRepository;
+
+    @Mock
+    private SatelliteReferenceRepository satelliteReferenceRepository;
+
+    @Mock
+    private LatestTrajectoryCache latestCache;
+
+    @InjectMocks
+    private TelemetryService service;
+
+    @Test
+    void shouldEmitOneEntityPerPosition() {
+        // Given
+        TelemetryResponse resp = response(
+                position(0.00f, 0.0f, 400f, 0),
+                position(0.05f, 0.0f, 400f, 1),
+                position(0.10f, 0.0f, 400f, 2));
+
+        // When
+        List<TrajectoryData> rows = service.toTrajectoryEntities(25544L, resp);
+
+        // Then
+        assertThat(rows).hasSize(3);
+        assertThat(rows).extracting(TrajectoryData::getTimestamp)
+                .containsExactly(new Timestamp(T0), new Timestamp(T0 + 1000), new Timestamp(T0 + 2000));
+        assertThat(rows).allSatisfy(r -> assertThat(r.getExternalId()).isEqualTo(25544L));
+        // 0.05° of latitude per second at LEO radius is roughly 5.9 km/s
+        assertThat(rows.get(0).getVelocity()).isCloseTo(5_900f, within(100f));
+        // last point reuses the final segment's velocity
+        assertThat(rows.get(2).getVelocity()).isEqualTo(rows.get(1).getVelocity());
+        assertThat(rows.get(0).getSatLatitude()).isEqualTo(0.00f);
+        assertThat(rows.get(2).getSatLatitude()).isEqualTo(0.10f);
+    }
+
+    @Test
+    void shouldSkipPositionsWithNonIncreasingTimestamp() {
+        // Given
+        TelemetryResponse resp = response(
+                position(0.00f, 0.0f, 400f, 0),
+                position(0.00f, 0.0f, 400f, 0),
+                position(0.05f, 0.0f, 400f, 1));
+
+        // When
+        List<TrajectoryData> rows = service.toTrajectoryEntities(1L, resp);
+
+        // Then
+        assertThat(rows).hasSize(2);
+    }
+
+    @Test
+    void shouldContinueAccelerationAcrossPolls() {
+        // Given
+        service.toTrajectoryEntities(1L, response(
+                position(0.00f, 0.0f, 400f, 0),
+                position(0.05f, 0.0f, 400f, 1)));
+
+        // When
+        List<TrajectoryData> next = service.toTrajectoryEntities(1L, response(
+                position(0.10f, 0.0f, 400f, 2),
+                position(0.20f, 0.0f, 400f, 3)));
+
+        // Then
+        assertThat(next.get(0).getAcceleration()).isGreaterThan(0f);
+    }
+
+    @Test
+    void shouldReturnEmptyForSinglePosition() {
+        // When
+        List<TrajectoryData> rows = service.toTrajectoryEntities(1L, response(position(0f, 0f, 400f, 0)));
+
+        // Then
+        assertThat(rows).isEmpty();
+    }
+
+    private TelemetryResponse response(TelemetryPosition... positions) {
+        return new TelemetryResponse(List.of(positions), null);
+    }
+
+    private TelemetryPosition position(float lat, float lon, float alt, int second) {
+        return new TelemetryPosition(lat, lon, alt, 0f, 0f, 0f, 0f, new Timestamp(T0 + second * 1000L));
+    }
+}
@@ -0,0 +1,160 @@
+package com.telemetry.service;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.telemetry.dto.TrajectoryDataKey;
+import com.telemetry.model.TrajectoryData;
+
+@ExtendWith(MockitoExtension.class)
+class TrajectoryIngestWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private LatestTrajectoryCache latestCache;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    private TrajectoryIngestWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new TrajectoryIngestWriter(jdbcTemplate, latestCache, events);
+        ReflectionTestUtils.setField(writer, "batchSize", 3);
+        ReflectionTestUtils.setField(writer, "maxAttempts", 2);
+    }
+
+    @Test
+    void shouldBufferUntilBatchSizeIsReached() {
+        // When
+        writer.enqueue(rows(100L, 2));
+
+        // Then
+        verify(jdbcTemplate, never()).batchUpdate(any(String.class), anyCollection(), anyInt(), any());
+        verify(latestCache, never()).recordAll(anyCollection());
+        verify(events, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void shouldWriteOneStatementBatchPerBatchSizeRows() {
+        // Given
+        when(jdbcTemplate.batchUpdate(eq(TrajectoryIngestWriter.INSERT_SQL), anyCollection(), anyInt(), any()))
+                .thenReturn(new int[0][]);
+
+        // When
+        writer.enqueue(rows(100L, 2));
+        writer.enqueue(rows(200L, 5));
+
+        // Then
+        verify(jdbcTemplate, times(3))
+                .batchUpdate(eq(TrajectoryIngestWriter.INSERT_SQL), anyCollection(), anyInt(), any());
+        verify(latestCache, times(3)).recordAll(argThat(c -> c.size() <= 3));
+    }
+
+    @Test
+    void shouldFlushPartialBatchOnDemand() {
+        // Given
+        when(jdbcTemplate.batchUpdate(eq(TrajectoryIngestWriter.INSERT_SQL), anyCollection(), anyInt(), any()))
+                .thenReturn(new int[0][]);
+        writer.enqueue(rows(100L, 1));
+
+        // When
+        writer.flush();
+        writer.flush();
+
+        // Then
+        verify(jdbcTemplate, times(1))
+                .batchUpdate(eq(TrajectoryIngestWriter.INSERT_SQL), anyCollection(), eq(1), any());
+    }
+
+    @Test
+    void shouldAnnounceWrittenSpacecraftAfterFlush() {
+        // Given
+        when(jdbcTemplate.batchUpdate(eq(TrajectoryIngestWriter.INSERT_SQL), anyCollection(), anyInt(), any()))
+                .thenReturn(new int[0][]);
+        writer.enqueue(rows(100L, 1));
+        writer.enqueue(rows(200L, 1));
+
+        // When
+        writer.flush();
+
+        // Then
+        verify(events).publishEvent(new SpacecraftUpdatedEvent(Set.of(100L, 200L)));
+    }
+
+    @Test
+    void shouldRetryFailedChunkOnNextFlushUpToMaxAttempts() {
+        // Given
+        when(jdbcTemplate.batchUpdate(eq(TrajectoryIngestWriter.INSERT_SQL), anyCollection(), anyInt(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[0][]);
+        writer.enqueue(rows(100L, 1));
+
+        // When
+        writer.flush();
+        writer.flush();
+        writer.flush();
+
+        // Then
+        verify(jdbcTemplate, times(2))
+                .batchUpdate(eq(TrajectoryIngestWriter.INSERT_SQL), anyCollection(), anyInt(), any());
+        verify(latestCache, never()).recordAll(anyCollection());
+    }
+
+    @Test
+    void shouldWriteRetriedChunkOnceDatabaseRecovers() {
+        // Given
+        when(jdbcTemplate.batchUpdate(eq(TrajectoryIngestWriter.INSERT_SQL), anyCollection(), anyInt(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(new int[0][]);
+        writer.enqueue(rows(100L, 1));
+        writer.flush();
+
+        // When
+        writer.flushOnShutdown();
+
+        // Then
+        verify(latestCache).recordAll(argThat(c -> c.size() == 1));
+        verify(events).publishEvent(new SpacecraftUpdatedEvent(Set.of(100L)));
+    }
+
+    private List<TrajectoryData> rows(long externalId, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new TrajectoryData(
+                        new TrajectoryDataKey(externalId, new Timestamp(1_700_000_000_000L + i * 1000L)),
+                        1.0f, 2.0f, 3.0f, // position
+                        0.1f, 0.2f, 0.3f, // velocity vector
+                        0.5f, // velocity scalar
+                        0.01f, // acceleration
+                        7000.0f, // orbit radius
+                        null, null, null, // optional geospatial
+                        null, null, null, null // optional angles
+                ))
+                .toList();
+    }
+}
@@ -0,0 +1,83 @@
+package com.telemetry.websocket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TelemetrySubscriptionsTest {
+
+    private static final UUID OPERATOR = UUID.randomUUID();
+
+    private final TelemetrySubscriptions subscriptions = new TelemetrySubscriptions();
+
+    @Test
+    void shouldWatchEverythingUntilASessionNarrowsIt() {
+        // Given
+        subscriptions.open(OPERATOR, "a");
+
+        // When
+        TelemetrySubscriptions.Interest before = subscriptions.interest(OPERATOR);
+        subscriptions.subscribe(OPERATOR, "a", List.of(1L), TelemetryField.TELEMETRY.bit());
+        TelemetrySubscriptions.Interest after = subscriptions.interest(OPERATOR);
+
+        // Then
+        assertThat(before.fields(1L)).isEqualTo(TelemetryField.ALL);
+        assertThat(before.fields(2L)).isEqualTo(TelemetryField.ALL);
+        assertThat(after.fields(1L)).isEqualTo(TelemetryField.TELEMETRY.bit());
+        assertThat(after.fields(2L)).isZero();
+    }
+
+    @Test
+    void shouldUnionFieldsAcrossSessions() {
+        // Given
+        subscriptions.open(OPERATOR, "a");
+        subscriptions.open(OPERATOR, "b");
+        subscriptions.subscribe(OPERATOR, "a", null, TelemetryField.TELEMETRY.bit());
+        subscriptions.subscribe(OPERATOR, "b", List.of(1L), TelemetryField.SHORT_PREDICTIONS.bit());
+        subscriptions.unsubscribe(OPERATOR, "a", List.of(2L));
+
+        // When
+        TelemetrySubscriptions.Interest interest = subscriptions.interest(OPERATOR);
+
+        // Then
+        assertThat(interest.fields(1L))
+                .isEqualTo(TelemetryField.TELEMETRY.bit() | TelemetryField.SHORT_PREDICTIONS.bit());
+        assertThat(interest.fields(2L)).isZero();
+        assertThat(interest.fields(3L)).isEqualTo(TelemetryField.TELEMETRY.bit());
+        assertThat(TelemetryField.FULL_ORBIT_PREDICTIONS.in(interest.fields(1L))).isFalse();
+    }
+
+    @Test
+    void shouldNotWatchOperatorWithoutSubscribedSessions() {
+        // Given
+        subscriptions.open(OPERATOR, "a");
+        subscriptions.open(OPERATOR, "b");
+
+        // When
+        subscriptions.unsubscribe(OPERATOR, "a", null);
+        subscriptions.close(OPERATOR, "b");
+
+        // Then
+        assertThat(subscriptions.wantsTelemetry(OPERATOR, "a")).isFalse();
+        assertThat(subscriptions.interest(OPERATOR).isWatched()).isFalse();
+        assertThat(subscriptions.interest(UUID.randomUUID())).isSameAs(TelemetrySubscriptions.Interest.NONE);
+    }
+
+    @Test
+    void shouldListTheFormatsOfOpenSessions() {
+        // Given
+        subscriptions.open(OPERATOR, "a", FrameFormat.BINARY);
+        subscriptions.open(OPERATOR, "b", FrameFormat.BINARY);
+        subscriptions.open(OPERATOR, "c");
+
+        // When
+        subscriptions.close(OPERATOR, "c");
+
+        // Then
+        assertThat(subscriptions.formats(OPERATOR)).containsExactly(FrameFormat.BINARY);
+        assertThat(subscriptions.formats(UUID.randomUUID())).isEmpty();
+    }
+}
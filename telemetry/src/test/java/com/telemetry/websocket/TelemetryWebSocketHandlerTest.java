@@ -0,0 +1,391 @@
+package com.telemetry.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.telemetry.dto.BinaryTelemetryFrame;
+import com.telemetry.dto.TelemetryDelta;
+import com.telemetry.dto.TelemetryFrame;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TelemetryWebSocketHandlerTest {
+
+    private static final UUID OPERATOR = UUID.randomUUID();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TelemetrySubscriptions subscriptions = new TelemetrySubscriptions();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private TelemetryWebSocketHandler handler;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (handler != null) handler.shutdown();
+    }
+
+    @Test
+    void shouldNotHoldUpOtherSessionsBehindABlockedOne() throws Exception {
+        // Given
+        handler = handler(4, OverflowPolicy.DROP_OLDEST, 10_000);
+        CountDownLatch blocked = new CountDownLatch(1);
+        WebSocketSession slow = session("slow", m -> {
+            blocked.countDown();
+            release.await();
+        });
+        List<String> fastFrames = new CopyOnWriteArrayList<>();
+        WebSocketSession fast = session("fast", m -> fastFrames.add(((TextMessage) m).getPayload()));
+        handler.afterConnectionEstablished(slow);
+        handler.afterConnectionEstablished(fast);
+        assertThat(blocked.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            handler.sendMessageToOperator(OPERATOR, new TextMessage("frame-" + i));
+            int expected = i + 2;
+            awaitCondition(() -> fastFrames.size() == expected);
+        }
+
+        // Then
+        assertThat(fastFrames).endsWith("frame-9");
+        assertThat(registry.get("telemetry.ws.frames.dropped").tag("reason", "overflow").counter().count())
+                .isEqualTo(6.0);
+        assertThat(registry.get("telemetry.ws.send.queue.max.depth").gauge().value()).isEqualTo(4.0);
+    }
+
+    @Test
+    void shouldReplaceQueuedFrameWithSameKeyWhenCoalescing() throws Exception {
+        // Given
+        handler = handler(4, OverflowPolicy.COALESCE, 10_000);
+        CountDownLatch blocked = new CountDownLatch(1);
+        List<String> frames = new CopyOnWriteArrayList<>();
+        WebSocketSession ws = session("ws", m -> {
+            frames.add(((TextMessage) m).getPayload());
+            blocked.countDown();
+            release.await();
+        });
+        handler.afterConnectionEstablished(ws);
+        assertThat(blocked.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        handler.sendMessageToOperator(OPERATOR, "telemetry", new TextMessage("t1"));
+        handler.sendMessageToOperator(OPERATOR, null, new TextMessage("alert"));
+        handler.sendMessageToOperator(OPERATOR, "telemetry", new TextMessage("t2"));
+        handler.sendMessageToOperator(OPERATOR, "telemetry", new TextMessage("t3"));
+        release.countDown();
+
+        // Then
+        awaitCondition(() -> frames.size() == 3);
+        assertThat(frames.subList(1, 3)).containsExactly("t3", "alert");
+        assertThat(registry.get("telemetry.ws.frames.dropped").tag("reason", "coalesced").counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldDisconnectSessionThatFallsBehind() throws Exception {
+        // Given
+        handler = handler(4, OverflowPolicy.DROP_OLDEST, 50);
+        CountDownLatch blocked = new CountDownLatch(1);
+        WebSocketSession slow = session("slow", m -> {
+            blocked.countDown();
+            release.await();
+        });
+        handler.afterConnectionEstablished(slow);
+        assertThat(blocked.await(2, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+
+        // When
+        handler.sendMessageToOperator(OPERATOR, new TextMessage("late"));
+
+        // Then
+        verify(slow, timeout(2_000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(registry.get("telemetry.ws.sessions.disconnected").tag("reason", "slow").counter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("telemetry.ws.sessions").gauge().value()).isZero();
+    }
+
+    @Test
+    void shouldSendDeltaSessionsFramesAsPublishedAndFullSessionsWholeFrames() throws Exception {
+        // Given
+        handler = handler(16, OverflowPolicy.DROP_OLDEST, 10_000);
+        List<String> deltaFrames = new CopyOnWriteArrayList<>();
+        List<String> fullFrames = new CopyOnWriteArrayList<>();
+        handler.afterConnectionEstablished(session("delta", "&stream=delta",
+                m -> deltaFrames.add(((TextMessage) m).getPayload())));
+        handler.afterConnectionEstablished(session("full", "",
+                m -> fullFrames.add(((TextMessage) m).getPayload())));
+
+        // When
+        handler.sendTelemetryFrame(OPERATOR, FrameFormat.JSON, 1, json(keyframe(1, 1_000L)));
+        for (long seq = 2; seq <= 4; seq++) {
+            handler.sendTelemetryDelta(OPERATOR, FrameFormat.JSON, seq, seq - 1, json(delta(seq, 1_000L * seq)));
+        }
+        handler.sendTelemetryFrame(OPERATOR, FrameFormat.JSON, 5, json(keyframe(5, 5_000L)));
+
+        // Then
+        awaitCondition(() -> deltaFrames.size() == 6 && fullFrames.size() == 6);
+        assertThat(deltaFrames.get(0)).contains("\"stream\":\"delta\"");
+        assertThat(deltaFrames.subList(1, 6)).extracting(f -> objectMapper.readTree(f).path("type").asText())
+                .containsExactly(TelemetryFrame.TYPE, TelemetryDelta.TYPE, TelemetryDelta.TYPE,
+                        TelemetryDelta.TYPE, TelemetryFrame.TYPE);
+        for (int i = 1; i <= 5; i++) {
+            JsonNode frame = objectMapper.readTree(fullFrames.get(i));
+            assertThat(frame.path("type").asText()).isEqualTo(TelemetryFrame.TYPE);
+            assertThat(frame.path("seq").asLong()).isEqualTo(i);
+            assertThat(frame.path("telemetry").path("1").path("telemetry").path("timestamp").asLong())
+                    .isEqualTo(1_000L * i);
+        }
+    }
+
+    @Test
+    void shouldAskForKeyframeOnceWhenDeltaSessionMissesADelta() throws Exception {
+        // Given
+        handler = handler(16, OverflowPolicy.DROP_OLDEST, 10_000);
+        List<String> frames = new CopyOnWriteArrayList<>();
+        handler.afterConnectionEstablished(session("delta", "&stream=delta",
+                m -> frames.add(((TextMessage) m).getPayload())));
+        AtomicInteger requests = new AtomicInteger();
+        subscriptions.onChange(id -> requests.incrementAndGet());
+        handler.sendTelemetryFrame(OPERATOR, FrameFormat.JSON, 1, bytes("K1"));
+
+        // When
+        handler.sendTelemetryDelta(OPERATOR, FrameFormat.JSON, 3, 2, bytes("D3"));
+        handler.sendTelemetryDelta(OPERATOR, FrameFormat.JSON, 4, 3, bytes("D4"));
+        handler.sendTelemetryFrame(OPERATOR, FrameFormat.JSON, 5, bytes("K5"));
+        handler.sendTelemetryDelta(OPERATOR, FrameFormat.JSON, 6, 5, bytes("D6"));
+
+        // Then
+        awaitCondition(() -> frames.size() == 4);
+        assertThat(frames.subList(1, 4)).containsExactly("K1", "K5", "D6");
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void shouldRebuildBinaryFramesAndAskForKeyframeAfterAGap() throws Exception {
+        // Given
+        handler = handler(16, OverflowPolicy.DROP_OLDEST, 10_000);
+        List<BinaryMessage> frames = new CopyOnWriteArrayList<>();
+        handler.afterConnectionEstablished(session("bin", "&format=binary", m -> {
+            if (m instanceof BinaryMessage b) frames.add(b);
+        }));
+        AtomicInteger requests = new AtomicInteger();
+        subscriptions.onChange(id -> requests.incrementAndGet());
+
+        // When
+        handler.sendTelemetryFrames(OPERATOR, List.of(
+                TelemetryWebSocketHandler.TelemetryRecord.keyframe(FrameFormat.BINARY, 1,
+                        BinaryTelemetryFrame.encode(keyframe(1, 1_000L))),
+                TelemetryWebSocketHandler.TelemetryRecord.delta(FrameFormat.BINARY, 2, 1,
+                        BinaryTelemetryFrame.encode(delta(2, 2_000L)))));
+        handler.sendTelemetryDelta(OPERATOR, FrameFormat.BINARY, 4, 3,
+                BinaryTelemetryFrame.encode(delta(4, 4_000L)));
+
+        // Then: one whole frame for the batch, none for the delta without its base
+        awaitCondition(() -> frames.size() == 1);
+        ByteBuffer payload = frames.get(0).getPayload();
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        TelemetryFrame frame = BinaryTelemetryFrame.decodeFrame(bytes);
+        assertThat(frame.seq()).isEqualTo(2L);
+        assertThat(frame.telemetry().get("1").telemetry().timestamp()).isEqualTo(2_000L);
+        assertThat(requests).hasValue(1);
+    }
+
+    @Test
+    void shouldSendBatchAsNewestWholeFrameToFullSessionsAndInOrderToDeltaSessions() throws Exception {
+        // Given
+        handler = handler(16, OverflowPolicy.DROP_OLDEST, 10_000);
+        List<String> deltaFrames = new CopyOnWriteArrayList<>();
+        List<String> fullFrames = new CopyOnWriteArrayList<>();
+        handler.afterConnectionEstablished(session("delta", "&stream=delta",
+                m -> deltaFrames.add(((TextMessage) m).getPayload())));
+        handler.afterConnectionEstablished(session("full", "",
+                m -> fullFrames.add(((TextMessage) m).getPayload())));
+        byte[] k1 = json(keyframe(1, 1_000L));
+        byte[] d2 = json(delta(2, 2_000L));
+        byte[] d3 = json(delta(3, 3_000L));
+
+        // When
+        handler.sendTelemetryFrames(OPERATOR, List.of(
+                TelemetryWebSocketHandler.TelemetryRecord.keyframe(FrameFormat.JSON, 1, k1),
+                TelemetryWebSocketHandler.TelemetryRecord.delta(FrameFormat.JSON, 2, 1, d2),
+                TelemetryWebSocketHandler.TelemetryRecord.keyframe(FrameFormat.BINARY, 2, new byte[]{1}),
+                TelemetryWebSocketHandler.TelemetryRecord.delta(FrameFormat.JSON, 3, 2, d3)));
+
+        // Then
+        awaitCondition(() -> deltaFrames.size() == 4 && fullFrames.size() == 2);
+        assertThat(deltaFrames.subList(1, 4)).containsExactly(
+                new String(k1, StandardCharsets.UTF_8), new String(d2, StandardCharsets.UTF_8),
+                new String(d3, StandardCharsets.UTF_8));
+        assertThat(objectMapper.readTree(fullFrames.get(1)).path("seq").asLong()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldSendBinaryFramesOnlyToBinarySessions() throws Exception {
+        // Given
+        handler = handler(16, OverflowPolicy.DROP_OLDEST, 10_000);
+        List<WebSocketMessage<?>> binary = new CopyOnWriteArrayList<>();
+        List<WebSocketMessage<?>> text = new CopyOnWriteArrayList<>();
+        handler.afterConnectionEstablished(session("bin1", "&format=binary", binary::add));
+        handler.afterConnectionEstablished(session("bin2", "&format=binary", binary::add));
+        handler.afterConnectionEstablished(session("json", "", text::add));
+
+        // When
+        handler.sendTelemetryFrame(OPERATOR, FrameFormat.BINARY, 1, new byte[]{1, 2, 3});
+        handler.sendTelemetryFrame(OPERATOR, FrameFormat.JSON, 1, bytes("K1"));
+
+        // Then
+        awaitCondition(() -> binary.size() == 4 && text.size() == 2);
+        List<BinaryMessage> frames = binary.stream()
+                .filter(BinaryMessage.class::isInstance).map(BinaryMessage.class::cast).toList();
+        assertThat(frames).hasSize(2);
+        assertThat(frames.get(0)).isNotSameAs(frames.get(1));
+        assertThat(frames.get(0).getPayload().remaining()).isEqualTo(3);
+        assertThat(((TextMessage) text.get(1)).getPayload()).isEqualTo("K1");
+    }
+
+    @Test
+    void shouldAcknowledgeSubscriptionsAndStopFramesToSessionWatchingNothing() throws Exception {
+        // Given
+        handler = handler(16, OverflowPolicy.DROP_OLDEST, 10_000);
+        List<String> watching = new CopyOnWriteArrayList<>();
+        List<String> idle = new CopyOnWriteArrayList<>();
+        WebSocketSession a = session("a", m -> watching.add(((TextMessage) m).getPayload()));
+        WebSocketSession b = session("b", m -> idle.add(((TextMessage) m).getPayload()));
+        handler.afterConnectionEstablished(a);
+        handler.afterConnectionEstablished(b);
+
+        // When
+        handler.handleTextMessage(a, new TextMessage(
+                "{\"type\":\"SUBSCRIBE\",\"spacecraft\":[25544],\"fields\":[\"telemetry\"]}"));
+        handler.handleTextMessage(b, new TextMessage("{\"type\":\"UNSUBSCRIBE\"}"));
+        handler.sendTelemetryFrame(OPERATOR, FrameFormat.JSON, 1, bytes("K1"));
+
+        // Then
+        awaitCondition(() -> watching.size() == 3 && idle.size() == 2);
+        assertThat(watching.get(1)).contains("SUBSCRIPTIONS").contains("\"25544\":[\"telemetry\"]");
+        assertThat(watching.get(2)).isEqualTo("K1");
+        assertThat(idle.get(1)).contains("SUBSCRIPTIONS");
+        TelemetrySubscriptions.Interest interest = subscriptions.interest(OPERATOR);
+        assertThat(interest.fields(25544L)).isEqualTo(TelemetryField.TELEMETRY.bit());
+        assertThat(interest.fields(1L)).isZero();
+    }
+
+    @Test
+    void shouldAnswerInvalidSubscriptionWithError() throws Exception {
+        // Given
+        handler = handler(16, OverflowPolicy.DROP_OLDEST, 10_000);
+        List<String> frames = new CopyOnWriteArrayList<>();
+        WebSocketSession ws = session("ws", m -> frames.add(((TextMessage) m).getPayload()));
+        handler.afterConnectionEstablished(ws);
+
+        // When
+        handler.handleTextMessage(ws, new TextMessage("{\"type\":\"SUBSCRIBE\",\"fields\":[\"attitude\"]}"));
+
+        // Then
+        awaitCondition(() -> frames.size() == 2);
+        assertThat(frames.get(1)).contains("ERROR").contains("attitude");
+        assertThat(subscriptions.interest(OPERATOR).fields(1L)).isEqualTo(TelemetryField.ALL);
+    }
+
+    @Test
+    void shouldSendHeartbeatToEverySessionIncludingThoseWatchingNothing() throws Exception {
+        // Given
+        handler = handler(16, OverflowPolicy.DROP_OLDEST, 10_000);
+        List<String> watching = new CopyOnWriteArrayList<>();
+        List<String> idle = new CopyOnWriteArrayList<>();
+        WebSocketSession a = session("a", m -> watching.add(((TextMessage) m).getPayload()));
+        WebSocketSession b = session("b", m -> idle.add(((TextMessage) m).getPayload()));
+        handler.afterConnectionEstablished(a);
+        handler.afterConnectionEstablished(b);
+        handler.handleTextMessage(b, new TextMessage("{\"type\":\"UNSUBSCRIBE\"}"));
+        awaitCondition(() -> watching.size() == 1 && idle.size() == 2);
+
+        // When
+        handler.heartbeat();
+
+        // Then
+        awaitCondition(() -> watching.size() == 2 && idle.size() == 3);
+        assertThat(watching.get(1)).isEqualTo("{\"type\":\"HEARTBEAT\"}");
+        assertThat(idle.get(2)).isEqualTo("{\"type\":\"HEARTBEAT\"}");
+    }
+
+    private static byte[] bytes(String payload) {
+        return payload.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] json(Object frame) throws Exception {
+        return objectMapper.writeValueAsBytes(frame);
+    }
+
+    private static TelemetryFrame keyframe(long seq, long time) {
+        return new TelemetryFrame(OPERATOR.toString(), seq, Map.of("1", craft(time)));
+    }
+
+    private static TelemetryDelta delta(long seq, long time) {
+        return new TelemetryDelta(OPERATOR.toString(), seq, seq - 1, Map.of("1", craft(time)), List.of());
+    }
+
+    private static TelemetryFrame.Spacecraft craft(long time) {
+        return new TelemetryFrame.Spacecraft(new TelemetryFrame.Snapshot(time,
+                new TelemetryFrame.Vector(1f, 2f, 3f), new TelemetryFrame.Velocity(4f, 5f, 6f, 7f),
+                0.5f, 6790f, null), null, null);
+    }
+
+    private TelemetryWebSocketHandler handler(int capacity, OverflowPolicy policy, long limitMs) {
+        return new TelemetryWebSocketHandler(registry, subscriptions, capacity, policy, limitMs,
+                EnumSet.allOf(FrameFormat.class), false);
+    }
+
+    private static WebSocketSession session(String id, Send send) throws Exception {
+        return session(id, "", send);
+    }
+
+    private static WebSocketSession session(String id, String query, Send send) throws Exception {
+        WebSocketSession ws = mock(WebSocketSession.class);
+        when(ws.getId()).thenReturn(id);
+        when(ws.isOpen()).thenReturn(true);
+        when(ws.getUri()).thenReturn(URI.create("ws://localhost/ws/telemetry?operatorId=" + OPERATOR + query));
+        doAnswer(inv -> {
+            send.accept(inv.getArgument(0));
+            return null;
+        }).when(ws).sendMessage(any());
+        return ws;
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    @FunctionalInterface
+    private interface Send {
+        void accept(WebSocketMessage<?> message) throws Exception;
+    }
+}
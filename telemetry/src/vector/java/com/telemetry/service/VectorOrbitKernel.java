@@ -0,0 +1,65 @@
+// src/vector/java/com/telemetry/service/VectorOrbitKernel.java
+package com.telemetry.service;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static com.telemetry.service.PredictionService.EARTH_RADIUS;
+import static com.telemetry.service.PredictionService.MIN_ALTITUDE;
+import static com.telemetry.service.ScalarOrbitKernel.KEPLER_ITERATIONS;
+import static com.telemetry.service.ScalarOrbitKernel.KEPLER_TOLERANCE;
+
+/**
+ * {@code jdk.incubator.vector} kernel: the same math as
+ * {@link ScalarOrbitKernel}, a full register of spacecraft at a time,
+ * including the sin/cos/asin/atan2 the JIT will not vectorize on its own.
+ * Only compiled with the {@code vector-api} Maven profile and only loaded when
+ * the JVM runs with {@code --add-modules jdk.incubator.vector}; the tail that
+ * does not fill a register goes through the scalar kernel.
+ */
+final class VectorOrbitKernel implements OrbitKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final double DEGREES = 180.0 / Math.PI;
+
+    @Override
+    public void fullOrbitRow(OrbitBatch b, int j) {
+        double dM = 2 * Math.PI * ((double) j / b.numPoints);
+        int row = j * b.size;
+        int bound = SPECIES.loopBound(b.size);
+
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            DoubleVector ecc = DoubleVector.fromArray(SPECIES, b.e, i);
+            DoubleVector M = DoubleVector.fromArray(SPECIES, b.m0, i).add(dM);
+
+            DoubleVector E = M;
+            for (int iter = 0; iter < KEPLER_ITERATIONS; iter++) {
+                DoubleVector f = E.sub(ecc.mul(E.lanewise(VectorOperators.SIN))).sub(M);
+                DoubleVector fp = ecc.mul(E.lanewise(VectorOperators.COS)).neg().add(1.0);
+                DoubleVector d = f.div(fp);
+                E = E.sub(d);
+                if (d.abs().reduceLanes(VectorOperators.MAX) < KEPLER_TOLERANCE) break;
+            }
+
+            DoubleVector xOrb = DoubleVector.fromArray(SPECIES, b.a, i)
+                    .mul(E.lanewise(VectorOperators.COS).sub(ecc));
+            DoubleVector yOrb = DoubleVector.fromArray(SPECIES, b.b, i)
+                    .mul(E.lanewise(VectorOperators.SIN));
+
+            DoubleVector x = DoubleVector.fromArray(SPECIES, b.xx, i).mul(xOrb)
+                    .add(DoubleVector.fromArray(SPECIES, b.xy, i).mul(yOrb));
+            DoubleVector y = DoubleVector.fromArray(SPECIES, b.yx, i).mul(xOrb)
+                    .add(DoubleVector.fromArray(SPECIES, b.yy, i).mul(yOrb));
+            DoubleVector z = DoubleVector.fromArray(SPECIES, b.zx, i).mul(xOrb)
+                    .add(DoubleVector.fromArray(SPECIES, b.zy, i).mul(yOrb));
+            DoubleVector r = x.mul(x).add(y.mul(y)).add(z.mul(z)).sqrt();
+
+            z.div(r).lanewise(VectorOperators.ASIN).mul(DEGREES).intoArray(b.fullLat, row + i);
+            y.lanewise(VectorOperators.ATAN2, x).mul(DEGREES).intoArray(b.fullLon, row + i);
+            r.sub(EARTH_RADIUS).max(MIN_ALTITUDE).intoArray(b.fullAlt, row + i);
+        }
+
+        ScalarOrbitKernel.range(b, j, bound, b.size);
+    }
+}